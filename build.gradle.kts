@@ -3,6 +3,7 @@ plugins {
     signing
     `maven-publish`
     id("com.github.johnrengelman.shadow").version("6.1.0")
+    id("me.champeau.gradle.jmh").version("0.5.3")
 }
 
 group = "me.moros"
@@ -33,6 +34,14 @@ dependencies {
     compileOnly("com.sk89q.worldedit", "worldedit-core", "7.0.0-SNAPSHOT")
     compileOnly("com.sk89q.worldedit", "worldedit-bukkit", "7.0.0-SNAPSHOT")
     compileOnly("com.sk89q.worldguard", "worldguard-core", "7.0.0-SNAPSHOT")
+    testImplementation("org.junit.jupiter", "junit-jupiter", "5.7.0")
+    testImplementation("com.destroystokyo.paper", "paper-api", "1.16.4-R0.1-SNAPSHOT")
+    jmh("com.destroystokyo.paper", "paper-api", "1.16.4-R0.1-SNAPSHOT")
+}
+
+jmh {
+    jmhVersion = "1.26"
+    profilers = listOf("gc")
 }
 
 tasks {
@@ -62,6 +71,9 @@ tasks {
     build {
         dependsOn(shadowJar)
     }
+    test {
+        useJUnitPlatform()
+    }
     withType<AbstractArchiveTask> {
         isPreserveFileTimestamps = false
         isReproducibleFileOrder = true
@@ -0,0 +1,140 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.collision;
+
+import me.moros.bending.model.collision.geometry.AABB;
+import me.moros.bending.model.collision.geometry.Sphere;
+import me.moros.bending.model.math.Vector3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the old per registered collision nested loop against the BVH broadphase used by the collision manager.
+ * Instances are spread over a 200 block area with a mix of single and multi collider abilities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CollisionBenchmark {
+	private static final int TYPES = 20;
+
+	@Param({"50", "500", "5000"})
+	public int instances;
+
+	private List<Instance> abilities;
+	private List<int[]> registered;
+	private boolean[] table;
+	private BVH<Instance> tree;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(1);
+		abilities = new ArrayList<>(instances);
+		for (int i = 0; i < instances; i++) {
+			Vector3 center = new Vector3(200 * random.nextDouble(), 60 + 10 * random.nextDouble(), 200 * random.nextDouble());
+			int colliderCount = 1 + random.nextInt(4);
+			ColliderSet colliders = new ColliderSet(colliderCount);
+			for (int j = 0; j < colliderCount; j++) {
+				colliders.add(new Sphere(center.add(new Vector3(j, 0, 0)), 0.5 + random.nextDouble()));
+			}
+			abilities.add(new Instance(random.nextInt(TYPES), i % 10, colliders));
+		}
+		registered = new ArrayList<>();
+		table = new boolean[TYPES * TYPES];
+		for (int a = 0; a < TYPES; a++) {
+			for (int b = a; b < TYPES; b += 3) {
+				registered.add(new int[]{a, b});
+				table[a * TYPES + b] = true;
+				table[b * TYPES + a] = true;
+			}
+		}
+		tree = new BVH<>(instances);
+	}
+
+	@Benchmark
+	public void nestedLoop(Blackhole blackhole) {
+		for (int[] rc : registered) {
+			List<Instance> firstAbilities = abilities.stream().filter(i -> i.type == rc[0]).collect(Collectors.toList());
+			List<Instance> secondAbilities = abilities.stream().filter(i -> i.type == rc[1]).collect(Collectors.toList());
+			for (Instance first : firstAbilities) {
+				for (Instance second : secondAbilities) {
+					if (first.user == second.user) continue;
+					for (Collider firstCollider : first.colliders) {
+						for (Collider secondCollider : second.colliders) {
+							if (firstCollider.intersects(secondCollider)) blackhole.consume(secondCollider);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public void bvh(Blackhole blackhole) {
+		tree.clear();
+		for (Instance instance : abilities) {
+			tree.add(instance, instance.colliders.getBounds());
+		}
+		tree.build();
+		tree.forEachOverlappingPair((first, second) -> {
+			if (!table[first.type * TYPES + second.type] || first.user == second.user) return;
+			ColliderSet firstSet = first.colliders;
+			ColliderSet secondSet = second.colliders;
+			for (int i = 0; i < firstSet.size(); i++) {
+				AABB firstBox = firstSet.getBounds(i);
+				for (int j = 0; j < secondSet.size(); j++) {
+					if (!overlaps(firstBox, secondSet.getBounds(j))) continue;
+					if (firstSet.get(i).intersects(secondSet.get(j))) blackhole.consume(secondSet.get(j));
+				}
+			}
+		});
+	}
+
+	private static boolean overlaps(AABB a, AABB b) {
+		return a.min().getX() <= b.max().getX() && a.max().getX() >= b.min().getX() &&
+			a.min().getY() <= b.max().getY() && a.max().getY() >= b.min().getY() &&
+			a.min().getZ() <= b.max().getZ() && a.max().getZ() >= b.min().getZ();
+	}
+
+	private static final class Instance {
+		private final int type;
+		private final int user;
+		private final ColliderSet colliders;
+
+		private Instance(int type, int user, ColliderSet colliders) {
+			this.type = type;
+			this.user = user;
+			this.colliders = colliders;
+		}
+	}
+}
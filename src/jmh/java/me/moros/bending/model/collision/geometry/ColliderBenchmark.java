@@ -0,0 +1,160 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.collision.geometry;
+
+import me.moros.bending.model.collision.Collider;
+import me.moros.bending.model.math.Rotation;
+import me.moros.bending.model.math.RotationConvention;
+import me.moros.bending.model.math.Vector3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Intersection cost for every collider pair the collision manager and entity checks run into.
+ * Each invocation tests {@link #PAIRS} randomly placed pairs, roughly half of which intersect.
+ * Run with {@code -prof gc} to verify the kernels don't allocate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColliderBenchmark {
+	private static final int PAIRS = 256;
+
+	private AABB[] boxes;
+	private Sphere[] spheres;
+	private OBB[] obbs;
+	private Disk[] disks;
+	private Ray[] rays;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(3);
+		boxes = new AABB[2 * PAIRS];
+		spheres = new Sphere[2 * PAIRS];
+		obbs = new OBB[2 * PAIRS];
+		disks = new Disk[2 * PAIRS];
+		rays = new Ray[2 * PAIRS];
+		AABB bounds = new AABB(new Vector3(-0.5, -1, -0.5), new Vector3(0.5, 1, 0.5));
+		AABB diskBounds = new AABB(new Vector3(-0.15, -1, -1), new Vector3(0.15, 1, 1));
+		for (int i = 0; i < 2 * PAIRS; i++) {
+			Vector3 center = new Vector3(4 * random.nextDouble(), 4 * random.nextDouble(), 4 * random.nextDouble());
+			Vector3 axis = new Vector3(random.nextGaussian(), random.nextGaussian(), random.nextGaussian()).normalize();
+			Rotation rotation = new Rotation(axis, 2 * Math.PI * random.nextDouble(), RotationConvention.VECTOR_OPERATOR);
+			boxes[i] = bounds.at(center);
+			spheres[i] = new Sphere(center, 0.5 + random.nextDouble());
+			obbs[i] = new OBB(bounds, rotation).at(center);
+			disks[i] = new Disk(new OBB(diskBounds, rotation), new Sphere(Vector3.ZERO, 1)).at(center);
+			Vector3 direction = new Vector3(random.nextGaussian(), random.nextGaussian(), random.nextGaussian()).normalize();
+			rays[i] = new Ray(center.subtract(direction.scalarMultiply(3)), direction.scalarMultiply(6));
+		}
+	}
+
+	private static void run(Collider[] first, Collider[] second, Blackhole blackhole) {
+		for (int i = 0; i < PAIRS; i++) {
+			blackhole.consume(first[2 * i].intersects(second[2 * i + 1]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIRS)
+	public void aabbAabb(Blackhole blackhole) {
+		run(boxes, boxes, blackhole);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIRS)
+	public void aabbSphere(Blackhole blackhole) {
+		run(boxes, spheres, blackhole);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIRS)
+	public void aabbObb(Blackhole blackhole) {
+		run(boxes, obbs, blackhole);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIRS)
+	public void sphereSphere(Blackhole blackhole) {
+		run(spheres, spheres, blackhole);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIRS)
+	public void sphereObb(Blackhole blackhole) {
+		run(spheres, obbs, blackhole);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIRS)
+	public void obbObb(Blackhole blackhole) {
+		run(obbs, obbs, blackhole);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIRS)
+	public void diskAabb(Blackhole blackhole) {
+		run(disks, boxes, blackhole);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIRS)
+	public void diskSphere(Blackhole blackhole) {
+		run(disks, spheres, blackhole);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIRS)
+	public void diskObb(Blackhole blackhole) {
+		run(disks, obbs, blackhole);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIRS)
+	public void diskDisk(Blackhole blackhole) {
+		run(disks, disks, blackhole);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIRS)
+	public void rayAabb(Blackhole blackhole) {
+		for (int i = 0; i < PAIRS; i++) {
+			blackhole.consume(boxes[2 * i + 1].intersects(rays[2 * i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIRS)
+	public void raySphere(Blackhole blackhole) {
+		for (int i = 0; i < PAIRS; i++) {
+			blackhole.consume(spheres[2 * i + 1].intersects(rays[2 * i]));
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation cost of the stream stepping and rotation inner loops with immutable vectors and with a scratch
+ * {@link MutableVector3}. Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VectorBenchmark {
+	private static final int STEPS = 32;
+
+	private Vector3 origin;
+	private Vector3 direction;
+	private Rotation rotation;
+	private double maxRangeSq;
+
+	@Setup
+	public void setup() {
+		origin = new Vector3(12.5, 64.2, -30.7);
+		direction = new Vector3(0.3, -0.1, 0.8).normalize().scalarMultiply(0.6);
+		rotation = new Rotation(Vector3.PLUS_J, Math.PI / 18, RotationConvention.VECTOR_OPERATOR);
+		maxRangeSq = 30 * 30;
+	}
+
+	@Benchmark
+	public void stepImmutable(Blackhole blackhole) {
+		Vector3 location = origin;
+		for (int i = 0; i < STEPS; i++) {
+			location = location.add(direction);
+			if (location.distanceSq(origin) > maxRangeSq) break;
+			blackhole.consume(location.getX());
+		}
+	}
+
+	@Benchmark
+	public void stepMutable(Blackhole blackhole) {
+		MutableVector3 location = new MutableVector3(origin);
+		for (int i = 0; i < STEPS; i++) {
+			location.add(direction);
+			if (location.distanceSq(origin) > maxRangeSq) break;
+			blackhole.consume(location.getX());
+		}
+	}
+
+	@Benchmark
+	public void rotateImmutable(Blackhole blackhole) {
+		Vector3 v = direction;
+		for (int i = 0; i < STEPS; i++) {
+			v = rotation.applyTo(v);
+			blackhole.consume(v.getX());
+		}
+	}
+
+	@Benchmark
+	public void rotateMutable(Blackhole blackhole) {
+		MutableVector3 v = new MutableVector3(direction);
+		for (int i = 0; i < STEPS; i++) {
+			rotation.applyTo(v);
+			blackhole.consume(v.getX());
+		}
+	}
+}
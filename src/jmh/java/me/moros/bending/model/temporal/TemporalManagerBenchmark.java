@@ -0,0 +1,160 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.temporal;
+
+import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+import me.moros.atlas.cf.checker.nullness.qual.Nullable;
+import me.moros.bending.util.collection.BlockKey;
+import me.moros.bending.util.collection.Long2ObjectMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks 100k temporary blocks in a manager backed by a packed long store, like the one TempBlock uses.
+ * Keys and values are created once in setup, so {@code gc.alloc.rate.norm} from {@code -prof gc} divided per block
+ * is the heap the manager itself needs to track each temporary block.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TemporalManagerBenchmark {
+	private static final int BLOCKS = 100_000;
+	// Spread expiration over 10 seconds so every tick reverts a batch
+	private static final int SPREAD_TICKS = 200;
+
+	private BlockPos[] keys;
+	private TempValue[] values;
+	private TemporalManager<BlockPos, TempValue> manager;
+	private TemporalManager<BlockPos, TempValue> active;
+
+	@Setup
+	public void setup() {
+		keys = new BlockPos[BLOCKS];
+		values = new TempValue[BLOCKS];
+		for (int i = 0; i < BLOCKS; i++) {
+			keys[i] = new BlockPos(i % 64, 60 + (i / 4096), (i / 64) % 64);
+			values[i] = new TempValue(this, keys[i]);
+		}
+		active = new TemporalManager<>(new PackedStore());
+		for (int i = 0; i < BLOCKS; i++) {
+			active.addEntry(keys[i], values[i], Temporary.DEFAULT_REVERT);
+		}
+	}
+
+	/**
+	 * Schedules every block and ticks until all of them have reverted.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BLOCKS)
+	public int scheduleAndExpire() {
+		manager = new TemporalManager<>(new PackedStore());
+		for (int i = 0; i < BLOCKS; i++) {
+			long duration = (1 + i % SPREAD_TICKS) * TemporalManager.MILLIS_PER_TICK;
+			manager.addEntry(keys[i], values[i], duration);
+		}
+		int peak = manager.size();
+		while (manager.size() > 0) {
+			manager.tick();
+		}
+		return peak;
+	}
+
+	/**
+	 * Re-adds every block of a full manager, like abilities refreshing the blocks they keep alive.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BLOCKS)
+	public int refresh() {
+		for (int i = 0; i < BLOCKS; i++) {
+			active.addEntry(keys[i], values[i], Temporary.DEFAULT_REVERT);
+		}
+		return active.size();
+	}
+
+	/**
+	 * Same layout as CraftBlock minus the world reference.
+	 */
+	private static final class BlockPos {
+		private final int x, y, z;
+
+		private BlockPos(int x, int y, int z) {
+			this.x = x;
+			this.y = y;
+			this.z = z;
+		}
+	}
+
+	private static final class TempValue extends AbstractTemporary {
+		private final TemporalManagerBenchmark state;
+		private final BlockPos pos;
+
+		private TempValue(TemporalManagerBenchmark state, BlockPos pos) {
+			this.state = state;
+			this.pos = pos;
+		}
+
+		@Override
+		public void revert() {
+			state.manager.removeEntry(pos);
+		}
+
+		@Override
+		public void setRevertTask(RevertTask task) {
+		}
+	}
+
+	private static final class PackedStore implements TemporalManager.Store<BlockPos, TempValue> {
+		private final Long2ObjectMap<TempValue> map = new Long2ObjectMap<>(BLOCKS);
+
+		@Override
+		public @Nullable TempValue get(@NonNull BlockPos key) {
+			return map.get(BlockKey.pack(key.x, key.y, key.z));
+		}
+
+		@Override
+		public @Nullable TempValue put(@NonNull BlockPos key, @NonNull TempValue value) {
+			return map.put(BlockKey.pack(key.x, key.y, key.z), value);
+		}
+
+		@Override
+		public @Nullable TempValue remove(@NonNull BlockPos key) {
+			return map.remove(BlockKey.pack(key.x, key.y, key.z));
+		}
+
+		@Override
+		public @NonNull List<TempValue> values() {
+			return map.values();
+		}
+
+		@Override
+		public void clear() {
+			map.clear();
+		}
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.user;
+
+import me.moros.bending.model.math.Vector3;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.LivingEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocations for one user during one tick, with the state reads a removal policy and a couple of active abilities
+ * usually make. {@code live} repeats the entity lookups that the user getters made before snapshots were added.
+ * Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm}.
+ * <p> The entity is a proxy that allocates a new {@link Location} per call like CraftEntity does. Blocks are shared
+ * so the CraftBlock allocations of the live path aren't counted, which makes the comparison conservative.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserSnapshotBenchmark {
+	private LivingEntity entity;
+	private BukkitUser user;
+	private UserSnapshot snapshot;
+
+	@Setup
+	public void setup() {
+		Block block = proxy(Block.class, (p, m, a) -> null);
+		World world = proxy(World.class, (p, m, a) -> m.getName().equals("getBlockAt") ? block : null);
+		entity = proxy(LivingEntity.class, (p, m, a) -> {
+			switch (m.getName()) {
+				case "getLocation":
+					return new Location(world, 10.5, 64, -3.2, 45, 10);
+				case "getEyeLocation":
+					return new Location(world, 10.5, 65.62, -3.2, 45, 10);
+				default:
+					return null;
+			}
+		});
+		user = proxy(BukkitUser.class, (p, m, a) -> m.getName().equals("getEntity") ? entity : null);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, java.lang.reflect.InvocationHandler handler) {
+		return (T) Proxy.newProxyInstance(UserSnapshotBenchmark.class.getClassLoader(), new Class<?>[]{type}, handler);
+	}
+
+	// Same as BendingUser#getSnapshot
+	private UserSnapshot snapshot() {
+		snapshot = UserSnapshot.of(user, snapshot);
+		return snapshot;
+	}
+
+	@Benchmark
+	public void live(Blackhole blackhole) {
+		for (int i = 0; i < 4; i++) {
+			blackhole.consume(new Vector3(entity.getLocation()));
+		}
+		for (int i = 0; i < 3; i++) {
+			blackhole.consume(new Vector3(entity.getEyeLocation()));
+			blackhole.consume(new Vector3(entity.getLocation().getDirection()));
+		}
+		for (int i = 0; i < 2; i++) {
+			blackhole.consume(entity.getLocation().getBlock());
+			blackhole.consume(entity.getEyeLocation().getBlock());
+			blackhole.consume((int) entity.getLocation().getYaw());
+		}
+	}
+
+	@Benchmark
+	public void snapshot(Blackhole blackhole) {
+		UserSnapshot.beginTick();
+		for (int i = 0; i < 4; i++) {
+			blackhole.consume(snapshot().getLocation());
+		}
+		for (int i = 0; i < 3; i++) {
+			blackhole.consume(snapshot().getEyeLocation());
+			blackhole.consume(snapshot().getDirection());
+		}
+		for (int i = 0; i < 2; i++) {
+			blackhole.consume(snapshot().getLocBlock());
+			blackhole.consume(snapshot().getHeadBlock());
+			blackhole.consume(snapshot().getYaw());
+		}
+		UserSnapshot.endTick();
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.util.collection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds block keyed stores the size of the temporal and protection caches.
+ * Both sides are presized so {@code gc.alloc.rate.norm} from {@code -prof gc} approximates the retained heap of
+ * each store, including the block keys it keeps alive. Values are shared and not counted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockKeyBenchmark {
+	private static final Object VALUE = new Object();
+
+	@Param({"10000"})
+	public int blocks;
+
+	private Object world;
+	private int[] coords;
+
+	@Setup
+	public void setup() {
+		world = new Object();
+		coords = new int[3 * blocks];
+		// A compact blob of blocks, like the ones abilities place
+		for (int i = 0; i < blocks; i++) {
+			coords[3 * i] = i % 32;
+			coords[3 * i + 1] = 60 + (i / 1024);
+			coords[3 * i + 2] = (i / 32) % 32;
+		}
+	}
+
+	@Benchmark
+	public Map<BlockRef, Object> blockHashMap() {
+		Map<BlockRef, Object> map = new HashMap<>((int) (blocks / 0.75F) + 1);
+		for (int i = 0; i < blocks; i++) {
+			map.put(new BlockRef(world, coords[3 * i], coords[3 * i + 1], coords[3 * i + 2]), VALUE);
+		}
+		return map;
+	}
+
+	@Benchmark
+	public Long2ObjectMap<Object> long2ObjectMap() {
+		Long2ObjectMap<Object> map = new Long2ObjectMap<>(blocks);
+		for (int i = 0; i < blocks; i++) {
+			map.put(BlockKey.pack(coords[3 * i], coords[3 * i + 1], coords[3 * i + 2]), VALUE);
+		}
+		return map;
+	}
+
+	@Benchmark
+	public Set<BlockRef> blockHashSet() {
+		Set<BlockRef> set = new HashSet<>((int) (blocks / 0.75F) + 1);
+		for (int i = 0; i < blocks; i++) {
+			set.add(new BlockRef(world, coords[3 * i], coords[3 * i + 1], coords[3 * i + 2]));
+		}
+		return set;
+	}
+
+	@Benchmark
+	public LongSet longSet() {
+		LongSet set = new LongSet(blocks);
+		for (int i = 0; i < blocks; i++) {
+			set.add(BlockKey.pack(coords[3 * i], coords[3 * i + 1], coords[3 * i + 2]));
+		}
+		return set;
+	}
+
+	/**
+	 * Same layout as CraftBlock, a world reference and a separate block position object.
+	 */
+	public static final class BlockRef {
+		private final Object world;
+		private final Position position;
+
+		private BlockRef(Object world, int x, int y, int z) {
+			this.world = world;
+			this.position = new Position(x, y, z);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (!(obj instanceof BlockRef)) return false;
+			BlockRef other = (BlockRef) obj;
+			return world == other.world && position.equals(other.position);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * world.hashCode() + position.hashCode();
+		}
+	}
+
+	private static final class Position {
+		private final int x, y, z;
+
+		private Position(int x, int y, int z) {
+			this.x = x;
+			this.y = y;
+			this.z = z;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Position)) return false;
+			Position other = (Position) obj;
+			return x == other.x && y == other.y && z == other.z;
+		}
+
+		@Override
+		public int hashCode() {
+			return (y + z * 31) * 31 + x;
+		}
+	}
+}
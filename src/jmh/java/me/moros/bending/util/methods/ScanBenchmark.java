@@ -0,0 +1,151 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.util.methods;
+
+import me.moros.bending.model.math.OffsetTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the main thread cost of a direct sphere scan with the chunk snapshots the async scan takes before it can
+ * hand the work off, which is what {@code properties.async-scan-radius} trades off.
+ * Chunks are modelled like the server stores them, 16 sections of 4096 palette indices. The direct scan allocates a
+ * block handle and resolves its chunk, section and palette entry for every position. The snapshot side only copies
+ * section data and palettes, Paper does more work per section than that, so the real crossover is even higher.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScanBenchmark {
+	private static final int SECTIONS = 16;
+	private static final int SECTION_SIZE = 4096;
+	private static final int WORLD_CHUNKS = 4;
+	private static final int CENTER_X = 29;
+	private static final int CENTER_Y = 62;
+	private static final int CENTER_Z = 27;
+
+	@Param({"4.5", "5", "8", "10", "12", "14", "16"})
+	public double radius;
+
+	private Map<Long, Section[]> chunks;
+	private OffsetTable table;
+	private int size;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(13);
+		chunks = new HashMap<>();
+		for (int chunkX = 0; chunkX < WORLD_CHUNKS; chunkX++) {
+			for (int chunkZ = 0; chunkZ < WORLD_CHUNKS; chunkZ++) {
+				Section[] sections = new Section[SECTIONS];
+				for (int i = 0; i < SECTIONS; i++) {
+					sections[i] = new Section(i, random);
+				}
+				chunks.put(chunkKey(chunkX, chunkZ), sections);
+			}
+		}
+		table = OffsetTable.sphere(radius);
+		size = table.size(radius);
+	}
+
+	/**
+	 * The main thread scan below the threshold.
+	 */
+	@Benchmark
+	public int direct() {
+		int found = 0;
+		for (int i = 0; i < size; i++) {
+			BlockRef block = new BlockRef(this, CENTER_X + table.getX(i), CENTER_Y + table.getY(i), CENTER_Z + table.getZ(i));
+			if (block.getType() == Type.EARTH) found++;
+		}
+		return found;
+	}
+
+	/**
+	 * The main thread part of the async scan above the threshold, the scan itself runs on a worker.
+	 */
+	@Benchmark
+	public Map<Long, short[][]> snapshot() {
+		int r = (int) Math.ceil(radius);
+		Map<Long, short[][]> snapshots = new HashMap<>();
+		for (int chunkX = (CENTER_X - r) >> 4; chunkX <= (CENTER_X + r) >> 4; chunkX++) {
+			for (int chunkZ = (CENTER_Z - r) >> 4; chunkZ <= (CENTER_Z + r) >> 4; chunkZ++) {
+				Section[] sections = chunks.get(chunkKey(chunkX, chunkZ));
+				short[][] copy = new short[SECTIONS][];
+				for (int i = 0; i < SECTIONS; i++) {
+					copy[i] = sections[i].ids.clone();
+				}
+				snapshots.put(chunkKey(chunkX, chunkZ), copy);
+			}
+		}
+		return snapshots;
+	}
+
+	private static long chunkKey(int chunkX, int chunkZ) {
+		return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+	}
+
+	private enum Type {
+		AIR, EARTH, WATER
+	}
+
+	private static final class Section {
+		private final Type[] palette = Type.values();
+		private final short[] ids = new short[SECTION_SIZE];
+
+		private Section(int index, Random random) {
+			for (int i = 0; i < SECTION_SIZE; i++) {
+				int y = (index << 4) + (i >> 8);
+				ids[i] = (short) (y < CENTER_Y ? (random.nextInt(8) == 0 ? 2 : 1) : 0);
+			}
+		}
+	}
+
+	/**
+	 * Same layout as CraftBlock, a world reference and a position.
+	 */
+	private static final class BlockRef {
+		private final ScanBenchmark world;
+		private final int x, y, z;
+
+		private BlockRef(ScanBenchmark world, int x, int y, int z) {
+			this.world = world;
+			this.x = x;
+			this.y = y;
+			this.z = z;
+		}
+
+		private Type getType() {
+			Section section = world.chunks.get(chunkKey(x >> 4, z >> 4))[y >> 4];
+			return section.palette[section.ids[((y & 15) << 8) | ((z & 15) << 4) | (x & 15)]];
+		}
+	}
+}
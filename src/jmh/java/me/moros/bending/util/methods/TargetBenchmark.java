@@ -0,0 +1,186 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.util.methods;
+
+import me.moros.bending.model.collision.geometry.AABB;
+import me.moros.bending.model.collision.geometry.Ray;
+import me.moros.bending.model.math.Vector3;
+import org.bukkit.util.NumberConversions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the old getTarget, which stepped one block at a time and ray tested the block and its 6 neighbours,
+ * with the voxel traversal and {@link WorldMethods#intersectBox} slab test it was replaced with.
+ * Material classification needs a running server, so both sides read block shapes from a synthetic grid:
+ * a solid floor with scattered slabs and posts above it. Run with {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TargetBenchmark {
+	private static final int SIZE = 48;
+	private static final int HEIGHT = 24;
+	private static final int RAYS = 128;
+	private static final double[] FULL = {0, 0, 0, 1, 1, 1};
+	private static final double[] BOTTOM_SLAB = {0, 0, 0, 1, 0.5, 1};
+	private static final double[] TOP_SLAB = {0, 0.5, 0, 1, 1, 1};
+	private static final double[] POST = {0.375, 0, 0.375, 0.625, 1, 0.625};
+
+	private double[][] shapes;
+	private Ray[] rays;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(11);
+		shapes = new double[SIZE * HEIGHT * SIZE][];
+		for (int x = 0; x < SIZE; x++) {
+			for (int z = 0; z < SIZE; z++) {
+				for (int y = 0; y < 4; y++) {
+					shapes[index(x, y, z)] = FULL;
+				}
+				for (int y = 4; y < 10; y++) {
+					double roll = random.nextDouble();
+					if (roll < 0.04) {
+						shapes[index(x, y, z)] = BOTTOM_SLAB;
+					} else if (roll < 0.06) {
+						shapes[index(x, y, z)] = TOP_SLAB;
+					} else if (roll < 0.08) {
+						shapes[index(x, y, z)] = POST;
+					}
+				}
+			}
+		}
+		rays = new Ray[RAYS];
+		for (int i = 0; i < RAYS; i++) {
+			Vector3 origin = new Vector3(16 + 16 * random.nextDouble(), 11 + 4 * random.nextDouble(), 16 + 16 * random.nextDouble());
+			Vector3 dir = new Vector3(random.nextGaussian(), -0.3 - random.nextDouble(), random.nextGaussian()).normalize();
+			rays[i] = new Ray(origin, dir.scalarMultiply(20));
+		}
+	}
+
+	private static int index(int x, int y, int z) {
+		return (y * SIZE + z) * SIZE + x;
+	}
+
+	private double[] shape(int x, int y, int z) {
+		if (x < 0 || y < 0 || z < 0 || x >= SIZE || y >= HEIGHT || z >= SIZE) return null;
+		return shapes[index(x, y, z)];
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RAYS)
+	public void legacy(Blackhole blackhole) {
+		for (Ray ray : rays) {
+			blackhole.consume(legacyTarget(ray));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RAYS)
+	public void voxel(Blackhole blackhole) {
+		for (Ray ray : rays) {
+			blackhole.consume(voxelTarget(ray));
+		}
+	}
+
+	// WorldMethods#getTarget before the voxel traversal, the neighbours came from BlockMethods#combineFaces
+	private Vector3 legacyTarget(Ray ray) {
+		Vector3 dir = ray.direction.normalize();
+		for (int i = 0; i <= ray.direction.getNorm(); i++) {
+			Vector3 current = ray.origin.add(dir.scalarMultiply(i));
+			int x = NumberConversions.floor(current.getX());
+			int y = NumberConversions.floor(current.getY());
+			int z = NumberConversions.floor(current.getZ());
+			int[][] cells = {{x, y, z}, {x + 1, y, z}, {x - 1, y, z}, {x, y + 1, z}, {x, y - 1, z}, {x, y, z + 1}, {x, y, z - 1}};
+			for (int[] cell : cells) {
+				double[] shape = shape(cell[0], cell[1], cell[2]);
+				if (shape == null) continue;
+				Vector3 min = new Vector3(cell[0] + shape[0], cell[1] + shape[1], cell[2] + shape[2]);
+				Vector3 max = new Vector3(cell[0] + shape[3], cell[1] + shape[4], cell[2] + shape[5]);
+				if (new AABB(min, max).intersects(ray)) {
+					return current;
+				}
+			}
+		}
+		return ray.origin.add(ray.direction);
+	}
+
+	// Same traversal as WorldMethods#getTarget
+	private Vector3 voxelTarget(Ray ray) {
+		double range = ray.direction.getNorm();
+		double ox = ray.origin.getX(), oy = ray.origin.getY(), oz = ray.origin.getZ();
+		double dx = ray.direction.getX() / range, dy = ray.direction.getY() / range, dz = ray.direction.getZ() / range;
+		int x = NumberConversions.floor(ox), y = NumberConversions.floor(oy), z = NumberConversions.floor(oz);
+		int stepX = dx > 0 ? 1 : (dx < 0 ? -1 : 0);
+		int stepY = dy > 0 ? 1 : (dy < 0 ? -1 : 0);
+		int stepZ = dz > 0 ? 1 : (dz < 0 ? -1 : 0);
+		double tDeltaX = stepX == 0 ? Double.MAX_VALUE : Math.abs(1 / dx);
+		double tDeltaY = stepY == 0 ? Double.MAX_VALUE : Math.abs(1 / dy);
+		double tDeltaZ = stepZ == 0 ? Double.MAX_VALUE : Math.abs(1 / dz);
+		double tMaxX = stepX == 0 ? Double.MAX_VALUE : (stepX > 0 ? x + 1 - ox : ox - x) * tDeltaX;
+		double tMaxY = stepY == 0 ? Double.MAX_VALUE : (stepY > 0 ? y + 1 - oy : oy - y) * tDeltaY;
+		double tMaxZ = stepZ == 0 ? Double.MAX_VALUE : (stepZ > 0 ? z + 1 - oz : oz - z) * tDeltaZ;
+		double t = 0;
+		while (t <= range) {
+			double[] shape = shape(x, y, z);
+			if (shape != null) {
+				double hit = shape == FULL ? t : WorldMethods.intersectBox(x + shape[0], y + shape[1], z + shape[2],
+					x + shape[3], y + shape[4], z + shape[5], ox, oy, oz, dx, dy, dz, range);
+				if (hit >= 0) {
+					double offset = Math.max(0, hit - 0.01);
+					return new Vector3(ox + dx * offset, oy + dy * offset, oz + dz * offset);
+				}
+			}
+			if (tMaxX < tMaxY) {
+				if (tMaxX < tMaxZ) {
+					x += stepX;
+					t = tMaxX;
+					tMaxX += tDeltaX;
+				} else {
+					z += stepZ;
+					t = tMaxZ;
+					tMaxZ += tDeltaZ;
+				}
+			} else {
+				if (tMaxY < tMaxZ) {
+					y += stepY;
+					t = tMaxY;
+					tMaxY += tDeltaY;
+				} else {
+					z += stepZ;
+					t = tMaxZ;
+					tMaxZ += tDeltaZ;
+				}
+			}
+		}
+		return ray.origin.add(ray.direction);
+	}
+}
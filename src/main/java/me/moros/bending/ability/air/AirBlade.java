@@ -27,6 +27,7 @@ import me.moros.bending.ability.common.basic.AbstractWheel;
 import me.moros.bending.config.Configurable;
 import me.moros.bending.model.ability.Ability;
 import me.moros.bending.model.ability.AbilityInstance;
+import me.moros.bending.model.ability.Computable;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.ability.util.ActivationMethod;
 import me.moros.bending.model.ability.util.UpdateResult;
@@ -45,8 +46,6 @@ import me.moros.bending.util.ParticleUtil;
 import me.moros.bending.util.SoundUtil;
 import me.moros.bending.util.methods.BlockMethods;
 import me.moros.bending.util.methods.VectorMethods;
-import org.apache.commons.math3.geometry.euclidean.threed.Rotation;
-import org.apache.commons.math3.geometry.euclidean.threed.RotationConvention;
 import org.apache.commons.math3.util.FastMath;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
@@ -55,7 +54,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.concurrent.ThreadLocalRandom;
 
-public class AirBlade extends AbilityInstance implements Ability {
+public class AirBlade extends AbilityInstance implements Ability, Computable {
 	private static final Config config = new Config();
 
 	private User user;
@@ -120,6 +119,13 @@ public class AirBlade extends AbilityInstance implements Ability {
 		userConfig = Bending.getGame().getAttributeSystem().calculate(this, config);
 	}
 
+	@Override
+	public void compute() {
+		if (!charging) {
+			blade.compute();
+		}
+	}
+
 	@Override
 	public @NonNull UpdateResult update() {
 		if (removalPolicy.test(user, getDescription())) {
@@ -134,9 +140,8 @@ public class AirBlade extends AbilityInstance implements Ability {
 			if (user.isSneaking() && time > startTime + 100) {
 				double timeFactor = FastMath.min(0.9, (time - startTime) / (double) userConfig.maxChargeTime);
 				Vector3 rotateAxis = Vector3.PLUS_J.crossProduct(direction);
-				Rotation rotation = new Rotation(rotateAxis, FastMath.PI / 10, RotationConvention.VECTOR_OPERATOR);
 				double r = userConfig.radius * userConfig.chargeFactor * timeFactor * 0.5;
-				VectorMethods.rotate(direction.scalarMultiply(r), rotation, 20).forEach(v ->
+				VectorMethods.rotate(direction.scalarMultiply(r), rotateAxis, FastMath.PI / 10, 20).forEach(v ->
 					ParticleUtil.createAir(origin.add(v).toLocation(user.getWorld())).spawn()
 				);
 			} else if (!user.isSneaking()) {
@@ -190,8 +195,7 @@ public class AirBlade extends AbilityInstance implements Ability {
 		@Override
 		public void render() {
 			Vector3 rotateAxis = Vector3.PLUS_J.crossProduct(this.ray.direction);
-			Rotation rotation = new Rotation(rotateAxis, FastMath.PI / 20, RotationConvention.VECTOR_OPERATOR);
-			VectorMethods.rotate(this.ray.direction.scalarMultiply(this.radius), rotation, 40).forEach(v ->
+			VectorMethods.rotate(this.ray.direction.scalarMultiply(this.radius), rotateAxis, FastMath.PI / 20, 40).forEach(v ->
 				ParticleUtil.createAir(location.add(v).toLocation(user.getWorld())).spawn()
 			);
 		}
@@ -27,6 +27,7 @@ import me.moros.bending.config.Configurable;
 import me.moros.bending.model.ability.Ability;
 import me.moros.bending.model.ability.AbilityInstance;
 import me.moros.bending.model.ability.Burstable;
+import me.moros.bending.model.ability.Computable;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.ability.util.ActivationMethod;
 import me.moros.bending.model.ability.util.UpdateResult;
@@ -52,7 +53,7 @@ import java.util.Collections;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
-public class AirBlast extends AbilityInstance implements Ability, Burstable {
+public class AirBlast extends AbilityInstance implements Ability, Burstable, Computable {
 	private static final Config config = new Config();
 
 	private User user;
@@ -130,8 +131,13 @@ public class AirBlast extends AbilityInstance implements Ability, Burstable {
 		return (!launched || stream.update() == UpdateResult.CONTINUE) ? UpdateResult.CONTINUE : UpdateResult.REMOVE;
 	}
 
+	@Override
+	public void compute() {
+		if (launched && stream != null) stream.compute();
+	}
+
 	private boolean selectOrigin() {
-		origin = WorldMethods.getTarget(user.getWorld(), user.getRay(userConfig.selectRange))
+		origin = WorldMethods.getTarget(user, userConfig.selectRange)
 			.subtract(user.getDirection().scalarMultiply(0.5));
 		selectedOrigin = true;
 		return Bending.getGame().getProtectionSystem().canBuild(user, origin.toBlock(user.getWorld()));
@@ -139,10 +145,10 @@ public class AirBlast extends AbilityInstance implements Ability, Burstable {
 
 	private void launch() {
 		launched = true;
-		Vector3 target = WorldMethods.getTarget(user.getWorld(), user.getRay(userConfig.range));
+		Vector3 target = WorldMethods.getTarget(user, userConfig.range);
 		if (user.isSneaking()) {
-			Vector3 temp = new Vector3(origin.toArray());
-			origin = new Vector3(target.toArray());
+			Vector3 temp = origin;
+			origin = target;
 			target = temp;
 		}
 		direction = target.subtract(origin).normalize();
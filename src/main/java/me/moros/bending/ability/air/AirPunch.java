@@ -43,8 +43,6 @@ import me.moros.bending.util.material.MaterialUtil;
 import me.moros.bending.util.methods.BlockMethods;
 import me.moros.bending.util.methods.UserMethods;
 import me.moros.bending.util.methods.VectorMethods;
-import org.apache.commons.math3.geometry.euclidean.threed.Rotation;
-import org.apache.commons.math3.geometry.euclidean.threed.RotationConvention;
 import org.apache.commons.math3.util.FastMath;
 import org.bukkit.Particle;
 import org.bukkit.block.Block;
@@ -123,8 +121,7 @@ public class AirPunch extends AbilityInstance implements Ability {
 
 		@Override
 		public void render() {
-			Rotation rotation = new Rotation(user.getDirection(), FastMath.PI / 5, RotationConvention.VECTOR_OPERATOR);
-			VectorMethods.rotate(Vector3.ONE.scalarMultiply(0.75), rotation, 10).forEach(v ->
+			VectorMethods.rotate(Vector3.ONE.scalarMultiply(0.75), user.getDirection(), FastMath.PI / 5, 10).forEach(v ->
 				ParticleUtil.create(Particle.CLOUD, getBukkitLocation().add(v.toVector()))
 					.count(0).offset(v.getX(), v.getY(), v.getZ()).extra(-0.04).spawn()
 			);
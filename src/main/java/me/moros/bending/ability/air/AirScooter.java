@@ -42,7 +42,6 @@ import me.moros.bending.util.SoundUtil;
 import me.moros.bending.util.collision.AABBUtils;
 import me.moros.bending.util.material.MaterialUtil;
 import me.moros.bending.util.methods.BlockMethods;
-import me.moros.bending.util.methods.WorldMethods;
 import org.apache.commons.math3.util.FastMath;
 import org.bukkit.block.Block;
 
@@ -77,7 +76,7 @@ public class AirScooter extends AbilityInstance implements Ability {
 
 		heightSmoother = new HeightSmoother();
 
-		double dist = WorldMethods.distanceAboveGround(user.getEntity());
+		double dist = user.getDistanceAboveGround();
 		if ((dist < 0.5 || dist > 3)) {
 			return false;
 		}
@@ -144,7 +143,7 @@ public class AirScooter extends AbilityInstance implements Ability {
 	private boolean move() {
 		if (isColliding()) return false;
 		Vector3 direction = user.getDirection().setY(0).normalize();
-		double height = WorldMethods.distanceAboveGround(user.getEntity());
+		double height = user.getDistanceAboveGround();
 		double smoothedHeight = heightSmoother.add(height);
 		if (user.getLocBlock().isLiquid()) {
 			height = 0.5;
@@ -173,12 +172,9 @@ public class AirScooter extends AbilityInstance implements Ability {
 		double speed = FastMath.max(userConfig.speed, playerSpeed) * 3;
 		Vector3 location = user.getLocation().add(currentDirection.scalarMultiply(speed));
 		AABB userBounds = AABBUtils.getEntityBounds(user.getEntity());
-		for (Block block : BlockMethods.combineFaces(location.toBlock(user.getWorld()))) {
-			if (AABBUtils.getBlockBounds(block).intersects(userBounds)) {
-				return 2.25;
-			}
-		}
-		return 1.25;
+		Block center = location.toBlock(user.getWorld());
+		Predicate<Block> collides = b -> AABBUtils.getBlockBounds(b).intersects(userBounds);
+		return (collides.test(center) || BlockMethods.anyAdjacent(center, collides)) ? 2.25 : 1.25;
 	}
 
 	private static class HeightSmoother {
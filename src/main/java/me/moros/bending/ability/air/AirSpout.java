@@ -72,7 +72,7 @@ public class AirSpout extends AbilityInstance implements Ability {
 		recalculateConfig();
 
 		double h = userConfig.height + 2;
-		if (WorldMethods.distanceAboveGround(user.getEntity()) > h) {
+		if (user.getDistanceAboveGround() > h) {
 			return false;
 		}
 
@@ -46,8 +46,6 @@ import me.moros.bending.util.material.MaterialUtil;
 import me.moros.bending.util.methods.BlockMethods;
 import me.moros.bending.util.methods.UserMethods;
 import me.moros.bending.util.methods.VectorMethods;
-import org.apache.commons.math3.geometry.euclidean.threed.Rotation;
-import org.apache.commons.math3.geometry.euclidean.threed.RotationConvention;
 import org.apache.commons.math3.util.FastMath;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
@@ -136,9 +134,8 @@ public class AirSwipe extends AbilityInstance implements Ability {
 		Vector3 origin = UserMethods.getMainHandSide(user);
 		Vector3 dir = user.getDirection();
 		Vector3 rotateAxis = dir.crossProduct(Vector3.PLUS_J).normalize().crossProduct(dir);
-		Rotation rotation = new Rotation(rotateAxis, FastMath.PI / 36, RotationConvention.VECTOR_OPERATOR);
 		int steps = userConfig.arc / 5;
-		VectorMethods.createArc(dir, rotation, steps).forEach(
+		VectorMethods.createArc(dir, rotateAxis, FastMath.PI / 36, steps).forEach(
 			v -> streams.add(new AirStream(new Ray(origin, v.scalarMultiply(userConfig.range))))
 		);
 		removalPolicy = Policies.builder().build();
@@ -37,6 +37,8 @@ import me.moros.bending.model.collision.geometry.AABB;
 import me.moros.bending.model.collision.geometry.Disk;
 import me.moros.bending.model.collision.geometry.OBB;
 import me.moros.bending.model.collision.geometry.Sphere;
+import me.moros.bending.model.math.Rotation;
+import me.moros.bending.model.math.RotationConvention;
 import me.moros.bending.model.math.Vector3;
 import me.moros.bending.model.user.User;
 import me.moros.bending.util.DamageUtil;
@@ -44,8 +46,6 @@ import me.moros.bending.util.ParticleUtil;
 import me.moros.bending.util.collision.CollisionUtil;
 import me.moros.bending.util.methods.BlockMethods;
 import me.moros.bending.util.methods.VectorMethods;
-import org.apache.commons.math3.geometry.euclidean.threed.Rotation;
-import org.apache.commons.math3.geometry.euclidean.threed.RotationConvention;
 import org.apache.commons.math3.util.FastMath;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
@@ -137,8 +137,7 @@ public class AirWheel extends AbilityInstance implements Ability {
 
 	private void render() {
 		Vector3 rotateAxis = Vector3.PLUS_J.crossProduct(user.getDirection().setY(0));
-		Rotation rotation = new Rotation(rotateAxis, FastMath.PI / 20, RotationConvention.VECTOR_OPERATOR);
-		VectorMethods.rotate(user.getDirection().scalarMultiply(1.6), rotation, 40).forEach(v ->
+		VectorMethods.rotate(user.getDirection().scalarMultiply(1.6), rotateAxis, FastMath.PI / 20, 40).forEach(v ->
 			ParticleUtil.createAir(center.add(v).toLocation(user.getWorld())).spawn()
 		);
 	}
@@ -21,6 +21,7 @@ package me.moros.bending.ability.common.basic;
 
 import me.moros.atlas.cf.checker.nullness.qual.NonNull;
 import me.moros.bending.Bending;
+import me.moros.bending.model.ability.Computable;
 import me.moros.bending.model.ability.Updatable;
 import me.moros.bending.model.ability.util.UpdateResult;
 import me.moros.bending.model.collision.geometry.Ray;
@@ -30,15 +31,15 @@ import me.moros.bending.util.material.MaterialUtil;
 import me.moros.bending.util.methods.VectorMethods;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
-import org.bukkit.util.NumberConversions;
 
 import java.util.function.Predicate;
 
-public abstract class AbstractBlockLine implements Updatable {
+public abstract class AbstractBlockLine implements Updatable, Computable {
 	private final User user;
 	protected final Ray ray;
 
 	protected Predicate<Block> diagonalsPredicate = b -> !MaterialUtil.isTransparent(b);
+	private final int[] diagonals = new int[9];
 	protected Vector3 location;
 	protected Vector3 dir;
 
@@ -48,6 +49,13 @@ public abstract class AbstractBlockLine implements Updatable {
 
 	private long nextUpdate;
 
+	// Movement planned by compute(), only used if the line hasn't moved or turned since
+	private Vector3 plannedFrom;
+	private Vector3 plannedDir;
+	private Vector3 plannedTo;
+	private final int[] plannedDiagonals = new int[9];
+	private int plannedCount;
+
 	public AbstractBlockLine(@NonNull User user, @NonNull Ray ray) {
 		this.user = user;
 		this.ray = ray;
@@ -56,6 +64,14 @@ public abstract class AbstractBlockLine implements Updatable {
 		this.location = ray.origin.add(dir);
 	}
 
+	@Override
+	public void compute() {
+		plannedTo = location.add(dir);
+		plannedCount = VectorMethods.decomposeDiagonals(location, dir, plannedDiagonals, 0);
+		plannedDir = dir;
+		plannedFrom = location;
+	}
+
 	@Override
 	public @NonNull UpdateResult update() {
 		if (interval >= 50) {
@@ -64,8 +80,10 @@ public abstract class AbstractBlockLine implements Updatable {
 			nextUpdate = time + interval;
 		}
 
-		Vector3 originalVector = new Vector3(location.toArray());
-		location = location.add(dir);
+		Vector3 originalVector = location;
+		boolean planned = plannedFrom == location && plannedDir == dir;
+		plannedFrom = null;
+		location = planned ? plannedTo : location.add(dir);
 		Block block = location.toBlock(user.getWorld());
 
 		if (!isValidBlock(block)) {
@@ -85,11 +103,10 @@ public abstract class AbstractBlockLine implements Updatable {
 		}
 
 		Block originBlock = originalVector.toBlock(user.getWorld());
-		for (Vector3 v : VectorMethods.decomposeDiagonals(originalVector, dir)) {
-			int x = NumberConversions.floor(v.getX());
-			int y = NumberConversions.floor(v.getY());
-			int z = NumberConversions.floor(v.getZ());
-			if (diagonalsPredicate.test(originBlock.getRelative(x, y, z))) {
+		int[] offsets = planned ? plannedDiagonals : diagonals;
+		int count = planned ? plannedCount : VectorMethods.decomposeDiagonals(originalVector, dir, diagonals, 0);
+		for (int i = 0; i < 3 * count; i += 3) {
+			if (diagonalsPredicate.test(originBlock.getRelative(offsets[i], offsets[i + 1], offsets[i + 2]))) {
 				return UpdateResult.REMOVE;
 			}
 		}
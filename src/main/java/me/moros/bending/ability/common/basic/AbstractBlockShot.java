@@ -56,6 +56,7 @@ public abstract class AbstractBlockShot implements Updatable {
 	private Vector3 firstDestination;
 
 	protected Predicate<Block> diagonalsPredicate = b -> !MaterialUtil.isTransparentOrWater(b);
+	private final int[] diagonals = new int[9];
 	protected Vector3 target;
 	protected Vector3 direction;
 	protected Material material;
@@ -109,15 +110,13 @@ public abstract class AbstractBlockShot implements Updatable {
 		Vector3 dest = settingUp ? firstDestination : target;
 		Vector3 currentVector = getCurrent().add(Vector3.HALF);
 		direction = dest.subtract(currentVector).normalize();
-		Vector3 originalVector = new Vector3(currentVector.toArray());
+		Vector3 originalVector = currentVector;
 		currentVector = currentVector.add(direction).floor().add(Vector3.HALF);
 
 		Block originBlock = originalVector.toBlock(user.getWorld());
-		for (Vector3 v : VectorMethods.decomposeDiagonals(originalVector, direction)) {
-			int x = NumberConversions.floor(v.getX());
-			int y = NumberConversions.floor(v.getY());
-			int z = NumberConversions.floor(v.getZ());
-			if (diagonalsPredicate.test(originBlock.getRelative(x, y, z))) {
+		int count = VectorMethods.decomposeDiagonals(originalVector, direction, diagonals, 0);
+		for (int i = 0; i < 3 * count; i += 3) {
+			if (diagonalsPredicate.test(originBlock.getRelative(diagonals[i], diagonals[i + 1], diagonals[i + 2]))) {
 				return UpdateResult.REMOVE;
 			}
 		}
@@ -155,7 +154,7 @@ public abstract class AbstractBlockShot implements Updatable {
 	public void redirect() {
 		target = WorldMethods.getTargetEntity(user, range)
 			.map(VectorMethods::getEntityCenter)
-			.orElseGet(() -> WorldMethods.getTarget(user.getWorld(), user.getRay(range), Collections.singleton(material)))
+			.orElseGet(() -> WorldMethods.getTarget(user, range, Collections.singleton(material)))
 			.floor().add(Vector3.HALF);
 		settingUp = false;
 	}
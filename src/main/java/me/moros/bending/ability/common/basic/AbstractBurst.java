@@ -22,6 +22,7 @@ package me.moros.bending.ability.common.basic;
 import me.moros.atlas.cf.checker.nullness.qual.NonNull;
 import me.moros.bending.model.ability.AbilityInstance;
 import me.moros.bending.model.ability.Burstable;
+import me.moros.bending.model.ability.Computable;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.ability.util.UpdateResult;
 import me.moros.bending.model.math.Vector3;
@@ -33,9 +34,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.function.Supplier;
 
-public abstract class AbstractBurst extends AbilityInstance {
+public abstract class AbstractBurst extends AbilityInstance implements Computable {
 	private static final double ANGLE_STEP = FastMath.toRadians(10);
 	private static final double ANGLE = FastMath.toRadians(30);
+	private static final double COS_ANGLE = FastMath.cos(ANGLE);
+	private static final Vector3[] DIRECTIONS = createDirections();
 
 	protected final Collection<Burstable> blasts = new ArrayList<>();
 
@@ -52,20 +55,37 @@ public abstract class AbstractBurst extends AbilityInstance {
 	}
 
 	private <T extends Burstable> void createBurst(User user, Supplier<T> constructor, double range, boolean cone) {
+		Vector3 center = VectorMethods.getEntityCenter(user.getEntity());
+		Vector3 userDirection = user.getDirection();
+		for (Vector3 direction : DIRECTIONS) {
+			// Both vectors are normalized so the dot product is the cosine of the angle between them
+			if (cone && direction.dotProduct(userDirection) < COS_ANGLE) {
+				continue;
+			}
+			T blast = constructor.get();
+			blast.initialize(user, center.add(direction), direction.scalarMultiply(range));
+			blasts.add(blast);
+		}
+	}
+
+	private static Vector3[] createDirections() {
+		Collection<Vector3> directions = new ArrayList<>();
 		for (double theta = 0; theta < FastMath.PI; theta += ANGLE_STEP) {
 			for (double phi = 0; phi < FastMath.PI * 2; phi += ANGLE_STEP) {
 				double x = FastMath.cos(phi) * FastMath.sin(theta);
 				double y = FastMath.cos(phi) * FastMath.cos(theta);
 				double z = FastMath.sin(phi);
-				Vector3 direction = new Vector3(x, y, z);
-				if (cone && Vector3.angle(direction, user.getDirection()) > ANGLE) {
-					continue;
-				}
-				T blast = constructor.get();
-				blast.initialize(user, VectorMethods.getEntityCenter(user.getEntity()).add(direction), direction.scalarMultiply(range));
-				blasts.add(blast);
+				directions.add(new Vector3(x, y, z));
 			}
 		}
+		return directions.toArray(new Vector3[0]);
+	}
+
+	@Override
+	public void compute() {
+		for (Burstable blast : blasts) {
+			if (blast instanceof Computable) ((Computable) blast).compute();
+		}
 	}
 
 	protected @NonNull UpdateResult updateBurst() {
@@ -49,6 +49,7 @@ public abstract class AbstractLine implements Updatable, SimpleAbility {
 	protected final Vector3 origin;
 
 	protected Predicate<Block> diagonalsPredicate = b -> !MaterialUtil.isTransparent(b);
+	private final int[] diagonals = new int[9];
 	protected Vector3 location;
 	protected Vector3 targetLocation;
 	protected Vector3 direction;
@@ -74,7 +75,7 @@ public abstract class AbstractLine implements Updatable, SimpleAbility {
 			locked = true;
 		}
 		targetLocation = entity.map(VectorMethods::getEntityCenter).orElseGet(() ->
-			WorldMethods.getTarget(user.getWorld(), user.getRay(range), Collections.singleton(Material.WATER))
+			WorldMethods.getTarget(user, range, Collections.singleton(Material.WATER))
 		);
 		direction = targetLocation.subtract(location).setY(0).normalize();
 	}
@@ -91,7 +92,7 @@ public abstract class AbstractLine implements Updatable, SimpleAbility {
 		}
 
 		if (controllable) {
-			targetLocation = WorldMethods.getTarget(user.getWorld(), user.getRay(range));
+			targetLocation = WorldMethods.getTarget(user, range);
 			direction = targetLocation.subtract(origin).setY(0).normalize();
 		}
 
@@ -107,7 +108,7 @@ public abstract class AbstractLine implements Updatable, SimpleAbility {
 		render();
 		postRender();
 
-		Vector3 originalVector = new Vector3(location.toArray());
+		Vector3 originalVector = location;
 		location = location.add(direction.scalarMultiply(speed));
 		Block baseBlock = location.toBlock(user.getWorld()).getRelative(BlockFace.DOWN);
 
@@ -131,11 +132,9 @@ public abstract class AbstractLine implements Updatable, SimpleAbility {
 		}
 
 		Block originBlock = originalVector.toBlock(user.getWorld());
-		for (Vector3 v : VectorMethods.decomposeDiagonals(originalVector, direction.scalarMultiply(speed))) {
-			int x = NumberConversions.floor(v.getX());
-			int y = NumberConversions.floor(v.getY());
-			int z = NumberConversions.floor(v.getZ());
-			if (diagonalsPredicate.test(originBlock.getRelative(x, y, z))) {
+		int count = VectorMethods.decomposeDiagonals(originalVector, direction.scalarMultiply(speed), diagonals, 0);
+		for (int i = 0; i < 3 * count; i += 3) {
+			if (diagonalsPredicate.test(originBlock.getRelative(diagonals[i], diagonals[i + 1], diagonals[i + 2]))) {
 				return UpdateResult.REMOVE;
 			}
 		}
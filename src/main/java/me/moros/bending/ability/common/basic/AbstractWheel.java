@@ -21,6 +21,7 @@ package me.moros.bending.ability.common.basic;
 
 import me.moros.atlas.cf.checker.nullness.qual.NonNull;
 import me.moros.bending.Bending;
+import me.moros.bending.model.ability.Computable;
 import me.moros.bending.model.ability.SimpleAbility;
 import me.moros.bending.model.ability.Updatable;
 import me.moros.bending.model.ability.util.UpdateResult;
@@ -30,20 +31,20 @@ import me.moros.bending.model.collision.geometry.Disk;
 import me.moros.bending.model.collision.geometry.OBB;
 import me.moros.bending.model.collision.geometry.Ray;
 import me.moros.bending.model.collision.geometry.Sphere;
+import me.moros.bending.model.math.Rotation;
+import me.moros.bending.model.math.RotationConvention;
 import me.moros.bending.model.math.Vector3;
 import me.moros.bending.model.user.User;
 import me.moros.bending.util.collision.AABBUtils;
 import me.moros.bending.util.collision.CollisionUtil;
 import me.moros.bending.util.methods.WorldMethods;
-import org.apache.commons.math3.geometry.euclidean.threed.Rotation;
-import org.apache.commons.math3.geometry.euclidean.threed.RotationConvention;
 import org.apache.commons.math3.util.FastMath;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 
 import java.util.Collection;
 
-public abstract class AbstractWheel implements Updatable, SimpleAbility {
+public abstract class AbstractWheel implements Updatable, SimpleAbility, Computable {
 	private final User user;
 
 	private final Vector3 dir;
@@ -54,6 +55,14 @@ public abstract class AbstractWheel implements Updatable, SimpleAbility {
 
 	protected final double radius;
 
+	// Movement planned by compute(), only used if the wheel hasn't moved since
+	private Vector3 plannedFrom;
+	private Vector3 plannedTo;
+	private Disk plannedCollider;
+	// The positioned collider for the current location
+	private Vector3 colliderLocation;
+	private Disk currentCollider;
+
 	public AbstractWheel(@NonNull User user, @NonNull Ray ray, double radius, double speed) {
 		this.user = user;
 		this.ray = ray;
@@ -67,9 +76,24 @@ public abstract class AbstractWheel implements Updatable, SimpleAbility {
 		collider = new Disk(obb, new Sphere(location, radius));
 	}
 
+	@Override
+	public void compute() {
+		Vector3 next = location.add(dir);
+		plannedCollider = collider.addPosition(next);
+		plannedTo = next;
+		plannedFrom = location;
+	}
+
 	@Override
 	public @NonNull UpdateResult update() {
-		location = location.add(dir);
+		if (plannedFrom == location) {
+			location = plannedTo;
+			colliderLocation = location;
+			currentCollider = plannedCollider;
+		} else {
+			location = location.add(dir);
+		}
+		plannedFrom = null;
 		if (!Bending.getGame().getProtectionSystem().canBuild(user, location.toBlock(user.getWorld()))) {
 			return UpdateResult.REMOVE;
 		}
@@ -83,7 +107,7 @@ public abstract class AbstractWheel implements Updatable, SimpleAbility {
 		render();
 		postRender();
 		onBlockHit(base.getRelative(BlockFace.UP));
-		boolean hit = CollisionUtil.handleEntityCollisions(user, collider.addPosition(location), this::onEntityHit);
+		boolean hit = CollisionUtil.handleEntityCollisions(user, getCollider(), this::onEntityHit);
 		return hit ? UpdateResult.REMOVE : UpdateResult.CONTINUE;
 	}
 
@@ -94,7 +118,11 @@ public abstract class AbstractWheel implements Updatable, SimpleAbility {
 
 	@Override
 	public @NonNull Collider getCollider() {
-		return collider.addPosition(location);
+		if (colliderLocation != location) {
+			currentCollider = collider.addPosition(location);
+			colliderLocation = location;
+		}
+		return currentCollider;
 	}
 
 	public @NonNull Vector3 getLocation() {
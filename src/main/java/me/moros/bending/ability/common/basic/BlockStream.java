@@ -26,6 +26,7 @@ import me.moros.bending.model.ability.state.State;
 import me.moros.bending.model.ability.state.StateChain;
 import me.moros.bending.model.ability.util.UpdateResult;
 import me.moros.bending.model.collision.Collider;
+import me.moros.bending.model.collision.ColliderSet;
 import me.moros.bending.model.collision.geometry.AABB;
 import me.moros.bending.model.math.Vector3;
 import me.moros.bending.model.user.User;
@@ -39,10 +40,8 @@ import org.bukkit.Material;
 import org.bukkit.Particle;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
-import org.bukkit.util.NumberConversions;
 
 import java.util.ArrayDeque;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
@@ -53,10 +52,11 @@ public abstract class BlockStream implements State {
 
 	private StateChain chain;
 	private final User user;
-	private final Collection<Collider> colliders = new ArrayList<>();
+	private final ColliderSet colliders = new ColliderSet();
 	private final Material material;
 
 	protected Predicate<Block> diagonalsPredicate = b -> !MaterialUtil.isTransparentOrWater(b);
+	private final int[] diagonals = new int[9];
 	protected Deque<Block> stream;
 	protected Vector3 direction;
 
@@ -108,7 +108,7 @@ public abstract class BlockStream implements State {
 		Vector3 current = new Vector3(head).add(Vector3.HALF);
 		if (controllable || direction == null) {
 			Vector3 targetLoc = WorldMethods.getTargetEntity(user, range).map(VectorMethods::getEntityCenter)
-				.orElseGet(() -> WorldMethods.getTarget(user.getWorld(), user.getRay(range), Collections.singleton(material)));
+				.orElseGet(() -> WorldMethods.getTarget(user, range, Collections.singleton(material)));
 			// Improve targeting when near
 			if (new Vector3(head).distanceSq(targetLoc.floor()) < 1.1) {
 				targetLoc = targetLoc.add(user.getDirection());
@@ -118,7 +118,7 @@ public abstract class BlockStream implements State {
 
 		buffer -= 100; // Reduce buffer by one since we moved
 
-		Vector3 originalVector = new Vector3(current.toArray());
+		Vector3 originalVector = current;
 		Block originBlock = originalVector.toBlock(user.getWorld());
 
 		current = current.add(direction);
@@ -130,11 +130,9 @@ public abstract class BlockStream implements State {
 		clean(stream.removeLast());
 		if (current.distanceSq(user.getEyeLocation()) <= range * range) {
 			boolean canRender = true;
-			for (Vector3 v : VectorMethods.decomposeDiagonals(originalVector, direction)) {
-				int x = NumberConversions.floor(v.getX());
-				int y = NumberConversions.floor(v.getY());
-				int z = NumberConversions.floor(v.getZ());
-				Block b = originBlock.getRelative(x, y, z);
+			int count = VectorMethods.decomposeDiagonals(originalVector, direction, diagonals, 0);
+			for (int i = 0; i < 3 * count; i += 3) {
+				Block b = originBlock.getRelative(diagonals[i], diagonals[i + 1], diagonals[i + 2]);
 				if (diagonalsPredicate.test(b)) {
 					canRender = false;
 					onBlockHit(b);
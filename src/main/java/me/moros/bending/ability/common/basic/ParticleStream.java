@@ -21,12 +21,14 @@ package me.moros.bending.ability.common.basic;
 
 import me.moros.atlas.cf.checker.nullness.qual.NonNull;
 import me.moros.bending.Bending;
+import me.moros.bending.model.ability.Computable;
 import me.moros.bending.model.ability.SimpleAbility;
 import me.moros.bending.model.ability.Updatable;
 import me.moros.bending.model.ability.util.UpdateResult;
 import me.moros.bending.model.collision.Collider;
 import me.moros.bending.model.collision.geometry.Ray;
 import me.moros.bending.model.collision.geometry.Sphere;
+import me.moros.bending.model.math.MutableVector3;
 import me.moros.bending.model.math.Vector3;
 import me.moros.bending.model.user.User;
 import me.moros.bending.util.collision.AABBUtils;
@@ -39,7 +41,7 @@ import org.bukkit.util.NumberConversions;
 
 import java.util.function.Predicate;
 
-public abstract class ParticleStream implements Updatable, SimpleAbility {
+public abstract class ParticleStream implements Updatable, SimpleAbility, Computable {
 	private final User user;
 	protected final Ray ray;
 
@@ -58,6 +60,8 @@ public abstract class ParticleStream implements Updatable, SimpleAbility {
 	protected final double maxRange;
 	protected final double collisionRadius;
 
+	private StreamPlan plan;
+
 	public ParticleStream(@NonNull User user, @NonNull Ray ray, double speed, double collisionRadius) {
 		this.user = user;
 		this.ray = ray;
@@ -70,30 +74,41 @@ public abstract class ParticleStream implements Updatable, SimpleAbility {
 		render();
 	}
 
+	@Override
+	public void compute() {
+		// Controllable streams depend on the user's direction which can only be read on the main thread
+		plan = controllable ? null : new StreamPlan(location, dir, 0, steps, speed, ray.origin, maxRange);
+	}
+
 	@Override
 	public @NonNull UpdateResult update() {
 		Vector3 vector = controllable ? user.getDirection().scalarMultiply(speed) : dir;
+		StreamPlan current = plan;
+		plan = null;
 		for (int i = 0; i < steps; i++) {
-			Vector3 originalVector = new Vector3(location.toArray());
-			location = location.add(vector);
-			if (location.distanceSq(ray.origin) > maxRange || !Bending.getGame().getProtectionSystem().canBuild(user, location.toBlock(user.getWorld()))) {
+			if (current == null || !current.matches(location, vector, i, steps)) {
+				current = new StreamPlan(location, vector, i, steps, speed, ray.origin, maxRange);
+			}
+			Vector3 originalVector = location;
+			location = current.getPosition(i);
+			if (current.isOutOfRange(i) || !Bending.getGame().getProtectionSystem().canBuild(user, location.toBlock(user.getWorld()))) {
 				return UpdateResult.REMOVE;
 			}
 			render();
 			postRender();
 
-			if (i % NumberConversions.ceil(speed * steps) != 0) continue; // Avoid unnecessary collision checks
+			if (!current.shouldCheckCollisions(i)) continue; // Avoid unnecessary collision checks
 			// Use previous collider for entity checks for visual reasons
 			boolean hitEntity = CollisionUtil.handleEntityCollisions(user, collider, this::onEntityHit, livingOnly, hitSelf, singleCollision);
 			if (hitEntity) return UpdateResult.REMOVE;
 			collider = collider.at(location);
 
 			Block originBlock = originalVector.toBlock(user.getWorld());
-			for (Vector3 v : VectorMethods.decomposeDiagonals(originalVector, vector)) {
-				int x = NumberConversions.floor(v.getX());
-				int y = NumberConversions.floor(v.getY());
-				int z = NumberConversions.floor(v.getZ());
-				Block block = originBlock.getRelative(x, y, z);
+			int[] diagonals = current.getDiagonals();
+			int offset = current.getDiagonalOffset(i);
+			int end = offset + 3 * current.getDiagonalCount(i);
+			for (int j = offset; j < end; j += 3) {
+				Block block = originBlock.getRelative(diagonals[j], diagonals[j + 1], diagonals[j + 2]);
 				if (canCollide.test(block) && onBlockHit(block)) return UpdateResult.REMOVE;
 				if (!MaterialUtil.isTransparent(block)) {
 					if (AABBUtils.getBlockBounds(block).intersects(collider)) {
@@ -113,4 +128,81 @@ public abstract class ParticleStream implements Updatable, SimpleAbility {
 	public @NonNull Collider getCollider() {
 		return collider;
 	}
+
+	// Pure stepping results for steps [start, steps) starting from a given location
+	static final class StreamPlan {
+		private final Vector3 origin;
+		private final Vector3 vector;
+		private final int start;
+		// Positions are stepped in a scratch vector and only materialized when the stream actually moves there
+		private final double[] coords;
+		private final Vector3[] positions;
+		private final boolean[] outOfRange;
+		// Up to 3 block offset triplets per step, see VectorMethods#decomposeDiagonals
+		private final int[] diagonals;
+		// Amount of offset triplets per step, 0 if collisions shouldn't be checked for that step
+		private final int[] diagonalCounts;
+
+		StreamPlan(Vector3 origin, Vector3 vector, int start, int steps, double speed, Vector3 rayOrigin, double maxRange) {
+			this.origin = origin;
+			this.vector = vector;
+			this.start = start;
+			int size = Math.max(0, steps - start);
+			coords = new double[3 * size];
+			positions = new Vector3[size];
+			outOfRange = new boolean[size];
+			diagonals = new int[9 * size];
+			diagonalCounts = new int[size];
+			int interval = NumberConversions.ceil(speed * steps);
+			MutableVector3 current = new MutableVector3(origin);
+			for (int i = 0; i < size; i++) {
+				if ((start + i) % interval == 0) {
+					diagonalCounts[i] = VectorMethods.decomposeDiagonals(current.getX(), current.getY(), current.getZ(), vector, diagonals, 9 * i);
+				}
+				current.add(vector);
+				coords[3 * i] = current.getX();
+				coords[3 * i + 1] = current.getY();
+				coords[3 * i + 2] = current.getZ();
+				outOfRange[i] = current.distanceSq(rayOrigin) > maxRange;
+			}
+		}
+
+		// Locations are immutable and only ever reassigned so identity tells us whether anything moved the stream
+		boolean matches(Vector3 location, Vector3 vector, int step, int steps) {
+			if (this.vector != vector || step < start || step - start >= positions.length || start + positions.length != steps) {
+				return false;
+			}
+			return location == (step == start ? origin : positions[step - start - 1]);
+		}
+
+		Vector3 getPosition(int step) {
+			int index = step - start;
+			Vector3 position = positions[index];
+			if (position == null) {
+				position = new Vector3(coords[3 * index], coords[3 * index + 1], coords[3 * index + 2]);
+				positions[index] = position;
+			}
+			return position;
+		}
+
+		boolean isOutOfRange(int step) {
+			return outOfRange[step - start];
+		}
+
+		boolean shouldCheckCollisions(int step) {
+			return diagonalCounts[step - start] > 0;
+		}
+
+		int[] getDiagonals() {
+			return diagonals;
+		}
+
+		int getDiagonalOffset(int step) {
+			return 9 * (step - start);
+		}
+
+		int getDiagonalCount(int step) {
+			return diagonalCounts[step - start];
+		}
+	}
 }
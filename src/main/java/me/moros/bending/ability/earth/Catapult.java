@@ -38,7 +38,6 @@ import me.moros.bending.model.user.User;
 import me.moros.bending.util.SoundUtil;
 import me.moros.bending.util.collision.CollisionUtil;
 import me.moros.bending.util.material.EarthMaterials;
-import me.moros.bending.util.methods.WorldMethods;
 import org.apache.commons.math3.util.FastMath;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
@@ -63,7 +62,7 @@ public class Catapult extends AbilityInstance implements Ability {
 
 	@Override
 	public boolean activate(@NonNull User user, @NonNull ActivationMethod method) {
-		if (!WorldMethods.isOnGround(user.getEntity())) return false;
+		if (!user.isOnGround()) return false;
 
 		this.user = user;
 		recalculateConfig();
@@ -31,19 +31,26 @@ import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.ability.util.ActivationMethod;
 import me.moros.bending.model.ability.util.UpdateResult;
 import me.moros.bending.model.attribute.Attribute;
+import me.moros.bending.model.math.Vector3;
 import me.moros.bending.model.predicate.removal.Policies;
 import me.moros.bending.model.predicate.removal.RemovalPolicy;
 import me.moros.bending.model.user.User;
+import me.moros.bending.util.BendingProperties;
 import me.moros.bending.util.SourceUtil;
 import me.moros.bending.util.material.EarthMaterials;
+import me.moros.bending.util.material.MaterialFlags;
 import me.moros.bending.util.methods.WorldMethods;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.util.NumberConversions;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 
 public class Collapse extends AbilityInstance implements Ability {
@@ -56,6 +63,9 @@ public class Collapse extends AbilityInstance implements Ability {
 	private Predicate<Block> predicate;
 	private final Collection<Pillar> pillars = new ArrayList<>();
 
+	private Block origin;
+	private CompletableFuture<List<Vector3>> pending;
+	private double radius;
 	private int height;
 
 	public Collapse(@NonNull AbilityDescription desc) {
@@ -70,27 +80,28 @@ public class Collapse extends AbilityInstance implements Ability {
 		predicate = b -> EarthMaterials.isEarthNotLava(user, b);
 		Optional<Block> source = SourceUtil.getSource(user, userConfig.selectRange, predicate, true);
 		if (!source.isPresent()) return false;
-		Block origin = source.get();
+		origin = source.get();
 
 		height = userConfig.maxHeight;
 
 		boolean sneak = method == ActivationMethod.SNEAK;
 		if (sneak) {
-			int offset = NumberConversions.ceil(userConfig.radius);
-			int size = offset * 2 + 1;
-			// Micro optimization, construct 2d map of pillar locations to avoid instantiating pillars in the same x, z with different y
-			boolean[][] checked = new boolean[size][size];
-			for (Block block : WorldMethods.getNearbyBlocks(origin.getLocation(), userConfig.radius, predicate)) {
-				if (block.getY() < origin.getY()) continue;
-				int dx = offset + origin.getX() - block.getX();
-				int dz = offset + origin.getZ() - block.getZ();
-				if (checked[dx][dz]) continue;
-				Optional<Pillar> pillar = getBottomValid(block).flatMap(this::createPillar);
-				if (pillar.isPresent()) {
-					checked[dx][dz] = true;
-					pillars.add(pillar.get());
+			// Keep the scanned radius as attribute changes could modify the config before an async scan completes
+			radius = userConfig.radius;
+			if (radius > BendingProperties.getAsyncScanRadius()) {
+				if (Bending.getGame().getAbilityManager(user.getWorld()).getUserInstances(user, Collapse.class).anyMatch(c -> c.pending != null)) {
+					return false;
 				}
+				// Metal permissions can't be checked off the main thread, candidates are re-validated once the scan completes
+				Predicate<BlockData> dataPredicate = d -> {
+					long flags = MaterialFlags.get(d.getMaterial());
+					return (flags & MaterialFlags.LAVA) == 0 && (flags & MaterialFlags.EARTHBENDABLE) != 0;
+				};
+				pending = WorldMethods.getNearbyPositionsAsync(origin.getLocation(), radius, dataPredicate);
+				removalPolicy = Policies.builder().build();
+				return true;
 			}
+			createPillars(WorldMethods.getNearbyBlocks(origin.getLocation(), radius, predicate));
 		} else {
 			getBottomValid(origin).flatMap(this::createPillar).ifPresent(pillars::add);
 		}
@@ -127,10 +138,46 @@ public class Collapse extends AbilityInstance implements Ability {
 		if (removalPolicy.test(user, getDescription())) {
 			return UpdateResult.REMOVE;
 		}
+		if (pending != null) {
+			if (!pending.isDone()) return UpdateResult.CONTINUE;
+			collectPending();
+			if (pillars.isEmpty()) return UpdateResult.REMOVE;
+			user.setCooldown(getDescription(), userConfig.cooldown);
+		}
 		pillars.removeIf(pillar -> pillar.update() == UpdateResult.REMOVE);
 		return pillars.isEmpty() ? UpdateResult.REMOVE : UpdateResult.CONTINUE;
 	}
 
+	// Async results are re-validated here on the main thread before any pillar is created
+	private void collectPending() {
+		List<Vector3> positions = pending.isCompletedExceptionally() ? Collections.emptyList() : pending.join();
+		pending = null;
+		Collection<Block> blocks = new ArrayList<>(positions.size());
+		for (Vector3 position : positions) {
+			Block block = position.toBlock(user.getWorld());
+			if (predicate.test(block)) blocks.add(block);
+		}
+		createPillars(blocks);
+	}
+
+	private void createPillars(Collection<Block> blocks) {
+		int offset = NumberConversions.ceil(radius);
+		int size = offset * 2 + 1;
+		// Micro optimization, construct 2d map of pillar locations to avoid instantiating pillars in the same x, z with different y
+		boolean[][] checked = new boolean[size][size];
+		for (Block block : blocks) {
+			if (block.getY() < origin.getY()) continue;
+			int dx = offset + origin.getX() - block.getX();
+			int dz = offset + origin.getZ() - block.getZ();
+			if (checked[dx][dz]) continue;
+			Optional<Pillar> pillar = getBottomValid(block).flatMap(this::createPillar);
+			if (pillar.isPresent()) {
+				checked[dx][dz] = true;
+				pillars.add(pillar.get());
+			}
+		}
+	}
+
 	private Optional<Pillar> createPillar(Block block) {
 		if (!predicate.test(block) || !TempBlock.isBendable(block)) return Optional.empty();
 		return Pillar.builder(user, block)
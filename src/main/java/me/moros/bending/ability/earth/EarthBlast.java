@@ -33,6 +33,7 @@ import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.ability.state.State;
 import me.moros.bending.model.ability.state.StateChain;
 import me.moros.bending.model.ability.util.ActivationMethod;
+import me.moros.bending.model.ability.util.UpdatePriority;
 import me.moros.bending.model.ability.util.UpdateResult;
 import me.moros.bending.model.attribute.Attribute;
 import me.moros.bending.model.collision.Collider;
@@ -108,6 +109,11 @@ public class EarthBlast extends AbilityInstance implements Ability {
 		userConfig = Bending.getGame().getAttributeSystem().calculate(this, config);
 	}
 
+	@Override
+	public @NonNull UpdatePriority getUpdatePriority() {
+		return blast == null ? UpdatePriority.COSMETIC : UpdatePriority.COMBAT;
+	}
+
 	@Override
 	public @NonNull UpdateResult update() {
 		if (removalPolicy.test(user, getDescription())) {
@@ -224,7 +224,7 @@ public class EarthGlove extends AbilityInstance implements Ability {
 		lastUsedSide.put(user.getEntity().getUniqueId(), side);
 		Vector3 target = WorldMethods.getTargetEntity(user, userConfig.range)
 			.map(VectorMethods::getEntityCenter)
-			.orElseGet(() -> WorldMethods.getTarget(user.getWorld(), user.getRay(userConfig.range)));
+			.orElseGet(() -> WorldMethods.getTarget(user, userConfig.range));
 
 		glove = buildGlove(gloveSpawnLocation);
 
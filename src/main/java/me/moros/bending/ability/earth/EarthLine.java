@@ -40,6 +40,7 @@ import me.moros.bending.model.ability.state.StateChain;
 import me.moros.bending.model.ability.util.ActionType;
 import me.moros.bending.model.ability.util.ActivationMethod;
 import me.moros.bending.model.ability.util.FireTick;
+import me.moros.bending.model.ability.util.UpdatePriority;
 import me.moros.bending.model.ability.util.UpdateResult;
 import me.moros.bending.model.attribute.Attribute;
 import me.moros.bending.model.collision.Collider;
@@ -62,8 +63,6 @@ import me.moros.bending.util.material.MaterialUtil;
 import me.moros.bending.util.methods.BlockMethods;
 import me.moros.bending.util.methods.VectorMethods;
 import me.moros.bending.util.methods.WorldMethods;
-import org.apache.commons.math3.geometry.euclidean.threed.Rotation;
-import org.apache.commons.math3.geometry.euclidean.threed.RotationConvention;
 import org.apache.commons.math3.util.FastMath;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -135,6 +134,11 @@ public class EarthLine extends AbilityInstance implements Ability {
 		userConfig = Bending.getGame().getAttributeSystem().calculate(this, config);
 	}
 
+	@Override
+	public @NonNull UpdatePriority getUpdatePriority() {
+		return earthLine == null ? UpdatePriority.COSMETIC : UpdatePriority.COMBAT;
+	}
+
 	@Override
 	public @NonNull UpdateResult update() {
 		if (removalPolicy.test(user, getDescription())) {
@@ -324,8 +328,7 @@ public class EarthLine extends AbilityInstance implements Ability {
 			imprisoned = true;
 			entity.setVelocity(Vector3.MINUS_J.toVector());
 			Material mat = material;
-			Rotation rotation = new Rotation(Vector3.PLUS_J, FastMath.PI / 4, RotationConvention.VECTOR_OPERATOR);
-			VectorMethods.rotate(Vector3.PLUS_I.scalarMultiply(0.8), rotation, 8).forEach(v -> {
+			VectorMethods.rotate(Vector3.PLUS_I.scalarMultiply(0.8), Vector3.PLUS_J, FastMath.PI / 4, 8).forEach(v -> {
 				Location loc = entity.getLocation().add(0, -1.1, 0);
 				new TempArmorStand(loc.add(v.toVector()), mat, userConfig.prisonDuration);
 				new TempArmorStand(loc.add(0, -0.7, 0), mat, userConfig.prisonDuration);
@@ -308,7 +308,7 @@ public class EarthShot extends AbilityInstance implements Ability {
 		Set<Material> ignored = source == null ? Collections.emptySet() : Collections.singleton(source.getType());
 		return WorldMethods.getTargetEntity(user, userConfig.range)
 			.map(VectorMethods::getEntityCenter)
-			.orElseGet(() -> WorldMethods.getTarget(user.getWorld(), user.getRay(userConfig.range), ignored));
+			.orElseGet(() -> WorldMethods.getTarget(user, userConfig.range, ignored));
 	}
 
 	@Override
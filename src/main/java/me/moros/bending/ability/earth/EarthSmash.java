@@ -33,6 +33,7 @@ import me.moros.bending.model.ability.util.ActivationMethod;
 import me.moros.bending.model.ability.util.UpdateResult;
 import me.moros.bending.model.attribute.Attribute;
 import me.moros.bending.model.collision.Collider;
+import me.moros.bending.model.collision.ColliderSet;
 import me.moros.bending.model.collision.geometry.AABB;
 import me.moros.bending.model.math.Vector3;
 import me.moros.bending.model.predicate.removal.Policies;
@@ -81,6 +82,8 @@ public class EarthSmash extends AbilityInstance implements Ability {
 
 	private EarthSmashState state;
 	private Boulder boulder;
+	private final ColliderSet colliders = new ColliderSet(1);
+	private Vector3 colliderCenter;
 
 	public EarthSmash(@NonNull AbilityDescription desc) {
 		super(desc);
@@ -148,7 +151,7 @@ public class EarthSmash extends AbilityInstance implements Ability {
 
 	public static void attemptGrab(User user) {
 		if (user.getSelectedAbility().map(AbilityDescription::getName).orElse("").equals("EarthSmash")) {
-			Optional<Block> target = WorldMethods.rayTraceBlocks(user.getWorld(), user.getRay(config.grabRange));
+			Optional<Block> target = WorldMethods.rayTraceBlocks(user, config.grabRange, false);
 			if (!target.isPresent()) return;
 			AABB blockBounds = AABB.BLOCK_BOUNDS.at(new Vector3(target.get()));
 			EarthSmash earthSmash = Bending.getGame().getAbilityManager(user.getWorld()).getInstances(EarthSmash.class)
@@ -205,7 +208,11 @@ public class EarthSmash extends AbilityInstance implements Ability {
 	@Override
 	public @NonNull Collection<@NonNull Collider> getColliders() {
 		if (!state.canCollide()) return Collections.emptyList();
-		return Collections.singletonList(boulder.getCollider());
+		if (boulder.center != colliderCenter) { // Only rebuild when the boulder moves
+			colliderCenter = boulder.center;
+			colliders.set(boulder.getCollider());
+		}
+		return colliders;
 	}
 
 	interface EarthSmashState extends Updatable {
@@ -255,7 +262,7 @@ public class EarthSmash extends AbilityInstance implements Ability {
 		private int tick = 0;
 
 		private LiftState() {
-			this.origin = new Vector3(boulder.center.toArray());
+			this.origin = boulder.center;
 		}
 
 		@Override
@@ -336,7 +343,7 @@ public class EarthSmash extends AbilityInstance implements Ability {
 
 		private ShotState() {
 			affectedEntities = new HashSet<>();
-			origin = new Vector3(boulder.center.toArray());
+			origin = boulder.center;
 			direction = user.getDirection();
 			SoundUtil.EARTH_SOUND.play(boulder.center.toLocation(boulder.world));
 		}
@@ -208,7 +208,7 @@ public class MetalCable extends AbilityInstance implements Ability {
 
 		Vector3 targetLocation = WorldMethods.getTargetEntity(user, userConfig.range)
 			.map(VectorMethods::getEntityCenter)
-			.orElseGet(() -> WorldMethods.getTarget(user.getWorld(), user.getRay(userConfig.range)));
+			.orElseGet(() -> WorldMethods.getTarget(user, userConfig.range));
 
 		if (targetLocation.toBlock(user.getWorld()).isLiquid()) {
 			return false;
@@ -321,7 +321,7 @@ public class MetalCable extends AbilityInstance implements Ability {
 		launched = true;
 		Vector3 targetLocation = WorldMethods.getTargetEntity(user, userConfig.projectileRange)
 			.map(VectorMethods::getEntityCenter)
-			.orElseGet(() -> WorldMethods.getTarget(user.getWorld(), user.getRay(userConfig.projectileRange)));
+			.orElseGet(() -> WorldMethods.getTarget(user, userConfig.projectileRange));
 
 		Vector3 velocity = targetLocation.subtract(location).normalize().scalarMultiply(userConfig.launchSpeed);
 		target.getEntity().setVelocity(velocity.add(new Vector3(0, 0.2, 0)).clampVelocity());
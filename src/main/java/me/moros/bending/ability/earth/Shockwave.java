@@ -29,6 +29,7 @@ import me.moros.bending.config.Configurable;
 import me.moros.bending.game.temporal.BendingFallingBlock;
 import me.moros.bending.model.ability.Ability;
 import me.moros.bending.model.ability.AbilityInstance;
+import me.moros.bending.model.ability.Computable;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.ability.util.ActivationMethod;
 import me.moros.bending.model.ability.util.UpdateResult;
@@ -44,15 +45,14 @@ import me.moros.bending.model.user.User;
 import me.moros.bending.util.DamageUtil;
 import me.moros.bending.util.ParticleUtil;
 import me.moros.bending.util.SoundUtil;
+import me.moros.bending.util.collection.BlockKey;
+import me.moros.bending.util.collection.LongSet;
 import me.moros.bending.util.collision.AABBUtils;
 import me.moros.bending.util.collision.CollisionUtil;
 import me.moros.bending.util.material.EarthMaterials;
 import me.moros.bending.util.material.MaterialUtil;
 import me.moros.bending.util.methods.UserMethods;
 import me.moros.bending.util.methods.VectorMethods;
-import me.moros.bending.util.methods.WorldMethods;
-import org.apache.commons.math3.geometry.euclidean.threed.Rotation;
-import org.apache.commons.math3.geometry.euclidean.threed.RotationConvention;
 import org.apache.commons.math3.util.FastMath;
 import org.bukkit.Particle;
 import org.bukkit.block.Block;
@@ -70,7 +70,7 @@ import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
-public class Shockwave extends AbilityInstance implements Ability {
+public class Shockwave extends AbilityInstance implements Ability, Computable {
 	private static final Config config = new Config();
 
 	private User user;
@@ -79,11 +79,12 @@ public class Shockwave extends AbilityInstance implements Ability {
 
 	private final Collection<Ripple> streams = new ArrayList<>();
 	private final Set<Entity> affectedEntities = new HashSet<>();
-	private final Set<Block> affectedBlocks = new HashSet<>();
+	private final LongSet affectedBlocks = new LongSet();
 	private final Map<Block, Boolean> recentAffectedBlocks = ExpiringMap.builder()
 		.expirationPolicy(ExpirationPolicy.CREATED)
 		.expiration(1000, TimeUnit.MILLISECONDS).build();
 	private Vector3 origin;
+	private Sphere affectedArea;
 
 	private boolean released;
 	private double range;
@@ -118,6 +119,13 @@ public class Shockwave extends AbilityInstance implements Ability {
 		userConfig = Bending.getGame().getAttributeSystem().calculate(this, config);
 	}
 
+	@Override
+	public void compute() {
+		if (released) {
+			streams.forEach(Ripple::compute);
+		}
+	}
+
 	@Override
 	public UpdateResult update() {
 		if (removalPolicy.test(user, getDescription())) {
@@ -137,7 +145,7 @@ public class Shockwave extends AbilityInstance implements Ability {
 		}
 
 		if (!recentAffectedBlocks.isEmpty()) {
-			CollisionUtil.handleEntityCollisions(user, new Sphere(origin, range + 2), this::onEntityHit, false);
+			CollisionUtil.handleEntityCollisions(user, affectedArea, this::onEntityHit, false);
 		}
 
 		streams.removeIf(stream -> stream.update() == UpdateResult.REMOVE);
@@ -191,20 +199,20 @@ public class Shockwave extends AbilityInstance implements Ability {
 	}
 
 	private void release(boolean cone) {
-		if (released || !isCharged() || !WorldMethods.isOnGround(user.getEntity())) return;
+		if (released || !isCharged() || !user.isOnGround()) return;
 		released = true;
 		range = cone ? userConfig.coneRange : userConfig.ringRange;
 
 		double deltaAngle = FastMath.PI / (3 * range);
 		origin = user.getLocation().floor().add(Vector3.HALF);
+		affectedArea = new Sphere(origin, range + 2);
 		Vector3 dir = user.getDirection().setY(0).normalize();
-		Rotation rotation = new Rotation(Vector3.PLUS_J, deltaAngle, RotationConvention.VECTOR_OPERATOR);
 		if (cone) {
-			VectorMethods.createArc(dir, rotation, NumberConversions.ceil(range / 2)).forEach(v ->
+			VectorMethods.createArc(dir, Vector3.PLUS_J, deltaAngle, NumberConversions.ceil(range / 2)).forEach(v ->
 				streams.add(new Ripple(new Ray(origin, v.scalarMultiply(range)), 0))
 			);
 		} else {
-			VectorMethods.rotate(dir, rotation, NumberConversions.ceil(range * 6)).forEach(v ->
+			VectorMethods.rotate(dir, Vector3.PLUS_J, deltaAngle, NumberConversions.ceil(range * 6)).forEach(v ->
 				streams.add(new Ripple(new Ray(origin, v.scalarMultiply(range)), 75))
 			);
 		}
@@ -238,8 +246,7 @@ public class Shockwave extends AbilityInstance implements Ability {
 
 		@Override
 		public void render(@NonNull Block block) {
-			if (affectedBlocks.contains(block)) return;
-			affectedBlocks.add(block);
+			if (!affectedBlocks.add(BlockKey.pack(block))) return;
 			recentAffectedBlocks.put(block, false);
 			double deltaY = FastMath.min(0.35, 0.1 + location.distance(ray.origin) / (1.5 * range));
 			Vector3 velocity = new Vector3(0, deltaY, 0);
@@ -66,7 +66,7 @@ public class EarthCling extends AbilityInstance implements PassiveAbility {
 
 	@Override
 	public @NonNull UpdateResult update() {
-		if (!user.isValid() || !user.isSneaking() || WorldMethods.isOnGround(user.getEntity())) {
+		if (!user.isValid() || !user.isSneaking() || user.isOnGround()) {
 			return UpdateResult.CONTINUE;
 		}
 		if (!user.getSelectedAbility().map(AbilityDescription::getName).orElse("").equals("EarthGlove")) {
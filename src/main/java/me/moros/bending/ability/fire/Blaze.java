@@ -27,6 +27,7 @@ import me.moros.bending.config.Configurable;
 import me.moros.bending.game.temporal.TempBlock;
 import me.moros.bending.model.ability.Ability;
 import me.moros.bending.model.ability.AbilityInstance;
+import me.moros.bending.model.ability.Computable;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.ability.util.ActivationMethod;
 import me.moros.bending.model.ability.util.UpdateResult;
@@ -39,8 +40,6 @@ import me.moros.bending.model.user.User;
 import me.moros.bending.util.SoundUtil;
 import me.moros.bending.util.material.MaterialUtil;
 import me.moros.bending.util.methods.VectorMethods;
-import org.apache.commons.math3.geometry.euclidean.threed.Rotation;
-import org.apache.commons.math3.geometry.euclidean.threed.RotationConvention;
 import org.apache.commons.math3.util.FastMath;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
@@ -52,7 +51,7 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 
-public class Blaze extends AbilityInstance implements Ability {
+public class Blaze extends AbilityInstance implements Ability, Computable {
 	private static final Config config = new Config();
 
 	private User user;
@@ -85,13 +84,12 @@ public class Blaze extends AbilityInstance implements Ability {
 		double deltaAngle = FastMath.PI / (3 * range);
 		Vector3 origin = user.getLocation().floor().add(Vector3.HALF);
 		Vector3 dir = user.getDirection().setY(0).normalize();
-		Rotation rotation = new Rotation(Vector3.PLUS_J, deltaAngle, RotationConvention.VECTOR_OPERATOR);
 		if (cone) {
-			VectorMethods.createArc(dir, rotation, NumberConversions.ceil(range / 2)).forEach(v ->
+			VectorMethods.createArc(dir, Vector3.PLUS_J, deltaAngle, NumberConversions.ceil(range / 2)).forEach(v ->
 				streams.add(new FireStream(new Ray(origin, v.scalarMultiply(range))))
 			);
 		} else {
-			VectorMethods.rotate(dir, rotation, NumberConversions.ceil(range * 6)).forEach(v ->
+			VectorMethods.rotate(dir, Vector3.PLUS_J, deltaAngle, NumberConversions.ceil(range * 6)).forEach(v ->
 				streams.add(new FireStream(new Ray(origin, v.scalarMultiply(range))))
 			);
 		}
@@ -106,6 +104,11 @@ public class Blaze extends AbilityInstance implements Ability {
 		return true;
 	}
 
+	@Override
+	public void compute() {
+		streams.forEach(FireStream::compute);
+	}
+
 	@Override
 	public @NonNull UpdateResult update() {
 		if (removalPolicy.test(user, getDescription())) {
@@ -139,7 +139,7 @@ public class Bolt extends AbilityInstance implements Ability {
 
 	private void strike() {
 		targetLocation = WorldMethods.getTargetEntity(user, userConfig.range)
-			.map(VectorMethods::getEntityCenter).orElseGet(() -> WorldMethods.getTarget(user.getWorld(), user.getRay(userConfig.range)));
+			.map(VectorMethods::getEntityCenter).orElseGet(() -> WorldMethods.getTarget(user, userConfig.range));
 		if (!Bending.getGame().getProtectionSystem().canBuild(user, targetLocation.toBlock(user.getWorld()))) return;
 		user.getWorld().strikeLightningEffect(targetLocation.toLocation(user.getWorld()));
 		user.setCooldown(getDescription(), userConfig.cooldown);
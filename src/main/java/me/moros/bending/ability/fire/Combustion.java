@@ -51,8 +51,6 @@ import me.moros.bending.util.material.MaterialUtil;
 import me.moros.bending.util.material.WaterMaterials;
 import me.moros.bending.util.methods.VectorMethods;
 import me.moros.bending.util.methods.WorldMethods;
-import org.apache.commons.math3.geometry.euclidean.threed.Rotation;
-import org.apache.commons.math3.geometry.euclidean.threed.RotationConvention;
 import org.apache.commons.math3.util.FastMath;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -203,8 +201,7 @@ public class Combustion extends AbilityInstance implements Ability, Explosive {
 				SoundUtil.playSound(getBukkitLocation(), SoundUtil.COMBUSTION_SOUND.getSound(), 1.5F, 0);
 				randomBeamDistance = distanceTravelled + 7 + 3 * ThreadLocalRandom.current().nextGaussian();
 				double radius = ThreadLocalRandom.current().nextDouble(0.3, 0.6);
-				Rotation rotation = new Rotation(user.getDirection(), FastMath.PI / 10, RotationConvention.VECTOR_OPERATOR);
-				VectorMethods.rotate(Vector3.ONE, rotation, 20).forEach(v -> {
+				VectorMethods.rotate(Vector3.ONE, user.getDirection(), FastMath.PI / 10, 20).forEach(v -> {
 					Vector3 velocity = v.scalarMultiply(radius);
 					ParticleUtil.create(Particle.FIREWORKS_SPARK, location.add(v.scalarMultiply(0.2)).toLocation(user.getWorld()), userConfig.particleRange)
 						.count(0).offset(velocity.getX(), velocity.getY(), velocity.getZ()).extra(0.09).spawn();
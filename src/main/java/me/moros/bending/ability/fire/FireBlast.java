@@ -30,6 +30,7 @@ import me.moros.bending.game.temporal.TempBlock;
 import me.moros.bending.model.ability.Ability;
 import me.moros.bending.model.ability.AbilityInstance;
 import me.moros.bending.model.ability.Burstable;
+import me.moros.bending.model.ability.Computable;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.ability.util.ActivationMethod;
 import me.moros.bending.model.ability.util.FireTick;
@@ -66,7 +67,7 @@ import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
-public class FireBlast extends AbilityInstance implements Ability, Burstable {
+public class FireBlast extends AbilityInstance implements Ability, Burstable, Computable {
 	private static final Config config = new Config();
 
 	private User user;
@@ -135,6 +136,11 @@ public class FireBlast extends AbilityInstance implements Ability, Burstable {
 		return (charging || stream.update() == UpdateResult.CONTINUE) ? UpdateResult.CONTINUE : UpdateResult.REMOVE;
 	}
 
+	@Override
+	public void compute() {
+		if (!charging && stream != null) stream.compute();
+	}
+
 	private void launch() {
 		double timeFactor = (System.currentTimeMillis() - startTime) / (double) userConfig.maxChargeTime;
 		factor = FastMath.max(1, FastMath.min(userConfig.chargeFactor, timeFactor * userConfig.chargeFactor));
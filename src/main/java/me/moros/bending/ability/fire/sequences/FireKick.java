@@ -40,8 +40,6 @@ import me.moros.bending.util.DamageUtil;
 import me.moros.bending.util.ParticleUtil;
 import me.moros.bending.util.SoundUtil;
 import me.moros.bending.util.methods.VectorMethods;
-import org.apache.commons.math3.geometry.euclidean.threed.Rotation;
-import org.apache.commons.math3.geometry.euclidean.threed.RotationConvention;
 import org.apache.commons.math3.util.FastMath;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
@@ -78,8 +76,7 @@ public class FireKick extends AbilityInstance implements Ability {
 		Vector3 origin = user.getLocation();
 		Vector3 dir = user.getDirection();
 		Vector3 rotateAxis = dir.crossProduct(Vector3.PLUS_J).normalize().crossProduct(dir);
-		Rotation rotation = new Rotation(rotateAxis, FastMath.toRadians(6), RotationConvention.VECTOR_OPERATOR);
-		VectorMethods.createArc(direction, rotation, 11).forEach(
+		VectorMethods.createArc(direction, rotateAxis, FastMath.toRadians(6), 11).forEach(
 			v -> streams.add(new FireStream(new Ray(origin, v.scalarMultiply(userConfig.range))))
 		);
 
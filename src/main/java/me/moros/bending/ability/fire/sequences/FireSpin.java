@@ -40,8 +40,6 @@ import me.moros.bending.util.DamageUtil;
 import me.moros.bending.util.ParticleUtil;
 import me.moros.bending.util.SoundUtil;
 import me.moros.bending.util.methods.VectorMethods;
-import org.apache.commons.math3.geometry.euclidean.threed.Rotation;
-import org.apache.commons.math3.geometry.euclidean.threed.RotationConvention;
 import org.apache.commons.math3.util.FastMath;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
@@ -74,8 +72,7 @@ public class FireSpin extends AbilityInstance implements Ability {
 		recalculateConfig();
 
 		Vector3 origin = user.getLocation().add(Vector3.PLUS_J);
-		Rotation rotation = new Rotation(Vector3.PLUS_J, FastMath.PI / 20, RotationConvention.VECTOR_OPERATOR);
-		VectorMethods.rotate(Vector3.PLUS_I, rotation, 40).forEach(
+		VectorMethods.rotate(Vector3.PLUS_I, Vector3.PLUS_J, FastMath.PI / 20, 40).forEach(
 			v -> streams.add(new FireStream(new Ray(origin, v.scalarMultiply(userConfig.range))))
 		);
 
@@ -27,6 +27,7 @@ import me.moros.bending.config.Configurable;
 import me.moros.bending.game.temporal.TempBlock;
 import me.moros.bending.model.ability.Ability;
 import me.moros.bending.model.ability.AbilityInstance;
+import me.moros.bending.model.ability.Computable;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.ability.util.ActivationMethod;
 import me.moros.bending.model.ability.util.UpdateResult;
@@ -44,8 +45,6 @@ import me.moros.bending.util.ParticleUtil;
 import me.moros.bending.util.SoundUtil;
 import me.moros.bending.util.material.MaterialUtil;
 import me.moros.bending.util.methods.VectorMethods;
-import org.apache.commons.math3.geometry.euclidean.threed.Rotation;
-import org.apache.commons.math3.geometry.euclidean.threed.RotationConvention;
 import org.apache.commons.math3.util.FastMath;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
@@ -55,7 +54,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.concurrent.ThreadLocalRandom;
 
-public class FireWheel extends AbilityInstance implements Ability {
+public class FireWheel extends AbilityInstance implements Ability, Computable {
 	private static final Config config = new Config();
 
 	private User user;
@@ -93,6 +92,11 @@ public class FireWheel extends AbilityInstance implements Ability {
 		userConfig = Bending.getGame().getAttributeSystem().calculate(this, config);
 	}
 
+	@Override
+	public void compute() {
+		wheel.compute();
+	}
+
 	@Override
 	public @NonNull UpdateResult update() {
 		if (removalPolicy.test(user, getDescription())) {
@@ -119,8 +123,7 @@ public class FireWheel extends AbilityInstance implements Ability {
 		@Override
 		public void render() {
 			Vector3 rotateAxis = Vector3.PLUS_J.crossProduct(this.ray.direction);
-			Rotation rotation = new Rotation(rotateAxis, FastMath.PI / 18, RotationConvention.VECTOR_OPERATOR);
-			VectorMethods.rotate(this.ray.direction.scalarMultiply(this.radius), rotation, 36).forEach(v ->
+			VectorMethods.rotate(this.ray.direction.scalarMultiply(this.radius), rotateAxis, FastMath.PI / 18, 36).forEach(v ->
 				ParticleUtil.createFire(user, location.add(v).toLocation(user.getWorld())).extra(0.01).spawn()
 			);
 		}
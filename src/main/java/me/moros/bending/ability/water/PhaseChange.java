@@ -30,18 +30,27 @@ import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.ability.util.ActivationMethod;
 import me.moros.bending.model.ability.util.UpdateResult;
 import me.moros.bending.model.attribute.Attribute;
+import me.moros.bending.model.math.Vector3;
 import me.moros.bending.model.user.User;
+import me.moros.bending.util.BendingProperties;
 import me.moros.bending.util.SoundUtil;
+import me.moros.bending.util.material.MaterialFlags;
 import me.moros.bending.util.material.MaterialUtil;
 import me.moros.bending.util.material.WaterMaterials;
 import me.moros.bending.util.methods.WorldMethods;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Predicate;
 
@@ -51,8 +60,10 @@ public class PhaseChange extends AbilityInstance implements PassiveAbility {
 	private User user;
 	private Config userConfig;
 
-	private final PhaseTransformer freeze = new PhaseTransformer(MaterialUtil::isWater, Material.ICE);
-	private final PhaseTransformer melt = new PhaseTransformer(WaterMaterials::isIceBendable, Material.WATER);
+	private final PhaseTransformer freeze = new PhaseTransformer(MaterialUtil::isWater,
+		d -> d.getMaterial() == Material.WATER || MaterialUtil.isWaterLogged(d), Material.ICE);
+	private final PhaseTransformer melt = new PhaseTransformer(WaterMaterials::isIceBendable,
+		d -> MaterialFlags.has(d.getMaterial(), MaterialFlags.ICE), Material.WATER);
 
 	public PhaseChange(@NonNull AbilityDescription desc) {
 		super(desc);
@@ -109,21 +120,34 @@ public class PhaseChange extends AbilityInstance implements PassiveAbility {
 	private class PhaseTransformer {
 		private final Queue<Block> queue;
 		private final Predicate<Block> predicate;
+		private final Predicate<BlockData> dataPredicate;
 		private final Material material;
 
 		private final boolean isFreeze;
 
-		private PhaseTransformer(@NonNull Predicate<Block> predicate, @NonNull Material material) {
+		private CompletableFuture<List<Vector3>> pending;
+
+		private PhaseTransformer(@NonNull Predicate<Block> predicate, @NonNull Predicate<BlockData> dataPredicate, @NonNull Material material) {
 			queue = new ArrayDeque<>(32);
 			this.predicate = predicate;
+			this.dataPredicate = dataPredicate;
 			this.material = material;
 			isFreeze = material == Material.ICE;
 		}
 
 		private void fillQueue(double range, double radius) {
-			Location center = WorldMethods.getTarget(user.getWorld(), user.getRay(range), !isFreeze).toLocation(user.getWorld());
+			if (pending != null) return;
+			Location center = WorldMethods.getTarget(user, range, !isFreeze).toLocation(user.getWorld());
+			if (radius > BendingProperties.getAsyncScanRadius()) {
+				pending = WorldMethods.getNearbyPositionsAsync(center, radius, dataPredicate);
+				return;
+			}
+			enqueue(WorldMethods.getNearbyBlocks(center, radius, predicate));
+		}
+
+		private void enqueue(Collection<Block> blocks) {
 			boolean acted = false;
-			for (Block block : WorldMethods.getNearbyBlocks(center, radius, predicate)) {
+			for (Block block : blocks) {
 				if (!Bending.getGame().getProtectionSystem().canBuild(user, block)) continue;
 				queue.offer(block);
 				acted = true;
@@ -131,7 +155,21 @@ public class PhaseChange extends AbilityInstance implements PassiveAbility {
 			if (acted) user.setCooldown(getDescription(), userConfig.cooldown);
 		}
 
+		// Async results are re-validated here on the main thread before being queued
+		private void collectPending() {
+			if (pending == null || !pending.isDone()) return;
+			List<Vector3> positions = pending.isCompletedExceptionally() ? Collections.emptyList() : pending.join();
+			pending = null;
+			Collection<Block> blocks = new ArrayList<>(positions.size());
+			for (Vector3 position : positions) {
+				Block block = position.toBlock(user.getWorld());
+				if (predicate.test(block)) blocks.add(block);
+			}
+			enqueue(blocks);
+		}
+
 		private void processQueue() {
+			collectPending();
 			int counter = 0;
 			while (!queue.isEmpty() && counter <= userConfig.speed) {
 				Block block = queue.poll();
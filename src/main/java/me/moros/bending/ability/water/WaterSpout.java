@@ -78,7 +78,7 @@ public class WaterSpout extends AbilityInstance implements Ability {
 		recalculateConfig();
 
 		double h = userConfig.height + 2;
-		if (WorldMethods.distanceAboveGround(user.getEntity()) > h) {
+		if (user.getDistanceAboveGround() > h) {
 			return false;
 		}
 
@@ -32,6 +32,7 @@ import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.ability.state.State;
 import me.moros.bending.model.ability.state.StateChain;
 import me.moros.bending.model.ability.util.ActivationMethod;
+import me.moros.bending.model.ability.util.UpdatePriority;
 import me.moros.bending.model.ability.util.UpdateResult;
 import me.moros.bending.model.attribute.Attribute;
 import me.moros.bending.model.math.Vector3;
@@ -98,6 +99,11 @@ public class Iceberg extends AbilityInstance implements Ability {
 		userConfig = Bending.getGame().getAttributeSystem().calculate(this, config);
 	}
 
+	@Override
+	public @NonNull UpdatePriority getUpdatePriority() {
+		return !started ? UpdatePriority.COSMETIC : UpdatePriority.COMBAT;
+	}
+
 	@Override
 	public @NonNull UpdateResult update() {
 		if (removalPolicy.test(user, getDescription())) {
@@ -154,7 +160,7 @@ public class Iceberg extends AbilityInstance implements Ability {
 			Optional<Block> src = states.getChainStore().stream().findAny();
 			if (src.isPresent()) {
 				Vector3 origin = new Vector3(src.get()).add(Vector3.HALF);
-				Vector3 target = WorldMethods.getTarget(user.getWorld(), user.getRay(userConfig.selectRange + userConfig.length));
+				Vector3 target = WorldMethods.getTarget(user, userConfig.selectRange + userConfig.length);
 				Vector3 direction = target.subtract(origin).normalize();
 				tip = origin.add(direction.scalarMultiply(userConfig.length));
 				Vector3 targetLocation = origin.add(direction.scalarMultiply(userConfig.length - 1)).floor().add(Vector3.HALF);
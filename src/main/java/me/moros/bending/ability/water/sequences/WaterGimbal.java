@@ -219,7 +219,7 @@ public class WaterGimbal extends AbilityInstance implements Ability {
 				angle += 18;
 				if (angle >= 360) angle = 0;
 				Vector3 v1 = new Vector3(FastMath.cos(theta), FastMath.sin(theta), 0).scalarMultiply(3.4);
-				Vector3 v2 = new Vector3(v1.toArray());
+				Vector3 v2 = v1;
 				v1 = VectorMethods.rotateAroundAxisX(v1, 0.7, 0.7);
 				v1 = VectorMethods.rotateAroundAxisY(v1, cos, sin);
 				v2 = VectorMethods.rotateAroundAxisX(v2, 0.7, -0.7);
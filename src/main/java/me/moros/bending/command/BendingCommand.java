@@ -36,11 +36,13 @@ import me.moros.atlas.kyori.adventure.text.event.ClickEvent;
 import me.moros.atlas.kyori.adventure.text.event.HoverEvent;
 import me.moros.atlas.kyori.adventure.text.format.NamedTextColor;
 import me.moros.bending.Bending;
+import me.moros.bending.game.TickBudget;
 import me.moros.bending.locale.Message;
 import me.moros.bending.model.Element;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.ability.sequence.Sequence;
 import me.moros.bending.model.ability.util.ActivationMethod;
+import me.moros.bending.model.ability.util.UpdatePriority;
 import me.moros.bending.model.exception.command.UserException;
 import me.moros.bending.model.predicate.general.BendingConditions;
 import me.moros.bending.model.preset.Preset;
@@ -84,6 +86,31 @@ public class BendingCommand extends BaseCommand {
 		Message.CONFIG_RELOAD.send(user);
 	}
 
+	@Subcommand("profile|prof")
+	@CommandPermission("bending.command.profile")
+	@CommandCompletion("reset")
+	@Description("View bending tick timings, budget overruns and deferred ability updates")
+	public static void onProfile(CommandUser user, @Optional String reset) {
+		TickBudget budget = Bending.getGame().getTickBudget();
+		if ("reset".equalsIgnoreCase(reset)) {
+			budget.resetStatistics();
+			Message.PROFILE_RESET.send(user);
+			return;
+		}
+		Message.PROFILE_HEADER.send(user);
+		if (budget.getBudget() > 0) {
+			Message.PROFILE_BUDGET.send(user, formatNanos(budget.getBudget()));
+		} else {
+			Message.PROFILE_BUDGET_DISABLED.send(user);
+		}
+		Message.PROFILE_TICK_TIME.send(user, formatNanos(budget.getAverageTime()), formatNanos(budget.getPeakTime()));
+		Message.PROFILE_OVERRUNS.send(user, budget.getOverruns(), budget.getTicks());
+		for (UpdatePriority priority : UpdatePriority.VALUES) {
+			Message.PROFILE_DEFERRED.send(user, priority.name().toLowerCase(), budget.getDeferred(priority));
+		}
+		Bending.getGame().getWorldTickCosts().forEach((world, cost) -> Message.PROFILE_WORLD.send(user, world.getName(), formatNanos(cost)));
+	}
+
 	@Subcommand("choose|ch")
 	@CommandPermission("bending.command.choose")
 	@CommandCompletion("@elements @players")
@@ -261,6 +288,10 @@ public class BendingCommand extends BaseCommand {
 			.clickEvent(ClickEvent.openUrl(link));
 	}
 
+	private static String formatNanos(long nanos) {
+		return String.format("%.2f ms", nanos / 1_000_000.0);
+	}
+
 	private static Collection<Component> collectAbilities(CommandUser user, Element element) {
 		Collection<Component> abilities = Bending.getGame().getAbilityRegistry().getAbilities()
 			.filter(desc -> element == desc.getElement() && !desc.isHidden())
@@ -43,11 +43,28 @@ public class ConfigManager {
 		try {
 			Files.createDirectories(path.getParent());
 			configRoot = loader.load();
+			addDefaults();
 		} catch (IOException e) {
 			Bending.getLog().warn(e.getMessage());
 		}
 	}
 
+	// Core properties that are read with hardcoded defaults, they are written out so admins can find them
+	private void addDefaults() {
+		CommentedConfigurationNode properties = configRoot.node("properties");
+		addDefault(properties.node("tick-budget"), 20,
+			"Time budget in milliseconds for each bending tick, lower priority ability updates are deferred once it is used up. Set to 0 to disable.");
+		addDefault(properties.node("parallel-worlds"), false,
+			"Whether abilities in different worlds should be updated in parallel. Requires a restart to take effect.");
+		addDefault(properties.node("async-scan-radius"), 12.0,
+			"Area abilities that scan a sphere with a larger radius do it off the main thread and apply the results a tick or two later. Smaller scans are cheaper to do directly than to snapshot their chunks.");
+	}
+
+	private static void addDefault(CommentedConfigurationNode node, Object value, String comment) {
+		if (node.virtual()) node.raw(value);
+		node.commentIfAbsent(comment);
+	}
+
 	public void reload() {
 		try {
 			configRoot = loader.load();
@@ -72,14 +72,19 @@ public final class AbilityInitializer {
 
 		int abilityAmount = registry.registerAbilities(abilities);
 		int sequenceAmount = game.getSequenceManager().registerSequences(sequences);
-		int collisionAmount = CollisionManager.registerCollisions(buildCollisions());
+		int collisionAmount = CollisionManager.registerCollisions(buildCollisions(registry));
 
 		Bending.getLog().info("Registered " + abilityAmount + " abilities!");
 		Bending.getLog().info("Registered " + sequenceAmount + " sequences!");
 		Bending.getLog().info("Registered " + collisionAmount + " collisions!");
 	}
 
-	private Collection<RegisteredCollision> buildCollisions() {
+	/**
+	 * Builds all collisions for the abilities in the given registry.
+	 * @param registry the registry to use
+	 * @return the registered collisions
+	 */
+	public static @NonNull Collection<@NonNull RegisteredCollision> buildCollisions(@NonNull AbilityRegistry registry) {
 		return new CollisionBuilder(registry)
 			.addLayer(layer0)
 			.addSpecialLayer(spoutLayer)
@@ -51,7 +51,9 @@ public final class BenderRegistry {
 
 	public Optional<BendingUser> getBendingUser(@NonNull LivingEntity entity) {
 		if (entity instanceof Player) {
-			return Optional.of(Bending.getGame().getPlayerManager().getPlayer(entity.getUniqueId()));
+			PlayerManager manager = Bending.getGame().getPlayerManager();
+			// Players are only registered once their profile has loaded
+			return manager.playerExists(entity.getUniqueId()) ? Optional.of(manager.getPlayer(entity.getUniqueId())) : Optional.empty();
 		}
 		return Optional.ofNullable(entityToUser.apply(entity.getUniqueId()));
 	}
@@ -59,7 +61,7 @@ public final class BenderRegistry {
 	public Optional<BendingUser> getBendingUserByName(@NonNull String name) {
 		Player player = Bukkit.getPlayer(name);
 		if (player != null) {
-			return Optional.of(Bending.getGame().getPlayerManager().getPlayer(player.getUniqueId()));
+			return getBendingUser(player);
 		}
 		return Optional.ofNullable(nameToUser.apply(name));
 	}
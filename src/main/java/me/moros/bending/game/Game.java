@@ -21,9 +21,11 @@ package me.moros.bending.game;
 
 import me.moros.atlas.acf.lib.timings.MCTiming;
 import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+import me.moros.atlas.cf.checker.nullness.qual.Nullable;
 import me.moros.bending.Bending;
 import me.moros.bending.board.BoardManager;
 import me.moros.bending.game.manager.AbilityManager;
+import me.moros.bending.game.manager.CollisionManager;
 import me.moros.bending.game.manager.PlayerManager;
 import me.moros.bending.game.manager.SequenceManager;
 import me.moros.bending.game.manager.WorldManager;
@@ -32,13 +34,16 @@ import me.moros.bending.game.temporal.TempArmor;
 import me.moros.bending.game.temporal.TempArmorStand;
 import me.moros.bending.game.temporal.TempBlock;
 import me.moros.bending.model.Element;
+import me.moros.bending.model.user.UserSnapshot;
 import me.moros.bending.protection.ProtectionSystem;
 import me.moros.bending.storage.BendingStorage;
 import me.moros.bending.util.Flight;
 import me.moros.bending.util.MovementHandler;
 import me.moros.bending.util.Tasker;
+import me.moros.bending.util.collision.EntityGrid;
 import org.bukkit.World;
 
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -53,6 +58,7 @@ public final class Game {
 	private final AbilityRegistry abilityRegistry;
 	private final SequenceManager sequenceManager;
 	private final WorldManager worldManager;
+	private final TickBudget tickBudget;
 
 	private final AttributeSystem attributeSystem;
 	private final ActivationController activationController;
@@ -68,6 +74,7 @@ public final class Game {
 		abilityRegistry = new AbilityRegistry();
 		sequenceManager = new SequenceManager(this);
 		worldManager = new WorldManager();
+		tickBudget = new TickBudget();
 
 		attributeSystem = new AttributeSystem();
 		activationController = new ActivationController(this);
@@ -91,9 +98,14 @@ public final class Game {
 
 	private void update() {
 		MCTiming timing = Bending.getTimingManager().ofStart("Bending Update");
+		tickBudget.startTick();
+		UserSnapshot.beginTick();
 		activationController.clearSpoutCache();
 		worldManager.update();
 		Flight.updateAll();
+		tickTemporary();
+		UserSnapshot.endTick();
+		tickBudget.endTick();
 		timing.stopTiming();
 	}
 
@@ -107,22 +119,31 @@ public final class Game {
 		removeTemporary();
 		Bending.getConfigManager().reload();
 		Bending.getTranslationManager().reload();
+		CollisionManager.registerCollisions(AbilityInitializer.buildCollisions(abilityRegistry));
 		playerManager.getOnlinePlayers().forEach(worldManager::createPassives);
 	}
 
 	public void cleanup() {
 		worldManager.destroyAllInstances();
 		removeTemporary();
+		TempBlock.closeJournal();
 		Flight.removeAll();
 		MovementHandler.resetAll();
 		playerManager.getOnlinePlayers().forEach(storage::savePlayerAsync);
 		storage.close();
 	}
 
+	private void tickTemporary() {
+		TempArmor.MANAGER.tick();
+		TempBlock.MANAGER.tick();
+		TempArmorStand.MANAGER.tick();
+		BendingFallingBlock.MANAGER.tick();
+		TempBlock.syncJournal();
+	}
+
 	private void removeTemporary() {
 		TempArmor.MANAGER.removeAll();
-		TempBlock.clearAir();
-		TempBlock.MANAGER.removeAll();
+		TempBlock.revertAll();
 		TempArmorStand.MANAGER.removeAll();
 		BendingFallingBlock.MANAGER.removeAll();
 	}
@@ -152,6 +173,24 @@ public final class Game {
 		return worldManager.getInstanceForWorld(world);
 	}
 
+	/**
+	 * @return the shared entity grid for the given world or null if bending is disabled or not yet active in that world
+	 */
+	public @Nullable EntityGrid getEntityGrid(@NonNull World world) {
+		return worldManager.getEntityGrid(world);
+	}
+
+	/**
+	 * @return the smoothed tick cost in nanoseconds for each world where bending is enabled
+	 */
+	public @NonNull Map<World, Long> getWorldTickCosts() {
+		return worldManager.getTickCosts();
+	}
+
+	public @NonNull TickBudget getTickBudget() {
+		return tickBudget;
+	}
+
 	public void clearWorld(@NonNull World world) {
 		worldManager.remove(world);
 	}
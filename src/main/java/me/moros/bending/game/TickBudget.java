@@ -0,0 +1,134 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.game;
+
+import me.moros.atlas.acf.lib.timings.MCTiming;
+import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+import me.moros.bending.Bending;
+import me.moros.bending.config.Configurable;
+import me.moros.bending.model.ability.util.UpdatePriority;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the time spent in each bending tick and decides when ability updates should be deferred.
+ * A budget of 0 or less disables deferral, statistics are still collected.
+ * <p> Note: This is not thread-safe and should only be used from the main thread.
+ */
+public final class TickBudget extends Configurable {
+	private long budget;
+
+	private long tickStart;
+	private long ticks;
+	private long overruns;
+	private long lastTime;
+	private long peakTime;
+	private long totalTime;
+	private final long[] deferred = new long[UpdatePriority.VALUES.length];
+	private MCTiming overrunTiming;
+
+	@Override
+	public void onConfigReload() {
+		long millis = config.node("properties", "tick-budget").getLong(20);
+		budget = TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+	}
+
+	/**
+	 * Marks the start of a new bending tick.
+	 */
+	public void startTick() {
+		tickStart = System.nanoTime();
+	}
+
+	/**
+	 * Marks the end of the current bending tick and records its statistics.
+	 */
+	public void endTick() {
+		lastTime = System.nanoTime() - tickStart;
+		ticks++;
+		totalTime += lastTime;
+		peakTime = Math.max(peakTime, lastTime);
+		if (budget > 0 && lastTime > budget) overruns++;
+		if (overrunTiming != null) {
+			overrunTiming.stopTiming();
+			overrunTiming = null;
+		}
+	}
+
+	/**
+	 * Checks if the current tick has used up its budget.
+	 * The first time this happens in a tick, the remaining tick time is recorded under the "Bending Budget Overrun" timing.
+	 * @return true if the budget is enabled and the current tick has exceeded it
+	 */
+	public boolean isExhausted() {
+		if (budget <= 0 || System.nanoTime() - tickStart <= budget) return false;
+		if (overrunTiming == null) overrunTiming = Bending.getTimingManager().ofStart("Bending Budget Overrun");
+		return true;
+	}
+
+	/**
+	 * Records that an ability update was deferred to the next tick.
+	 * @param priority the priority of the deferred ability
+	 */
+	public void defer(@NonNull UpdatePriority priority) {
+		deferred[priority.ordinal()]++;
+	}
+
+	public void resetStatistics() {
+		ticks = 0;
+		overruns = 0;
+		lastTime = 0;
+		peakTime = 0;
+		totalTime = 0;
+		Arrays.fill(deferred, 0);
+	}
+
+	/**
+	 * @return the configured budget in nanoseconds or 0 if disabled
+	 */
+	public long getBudget() {
+		return budget;
+	}
+
+	public long getTicks() {
+		return ticks;
+	}
+
+	public long getOverruns() {
+		return overruns;
+	}
+
+	public long getLastTime() {
+		return lastTime;
+	}
+
+	public long getPeakTime() {
+		return peakTime;
+	}
+
+	public long getAverageTime() {
+		return ticks == 0 ? 0 : totalTime / ticks;
+	}
+
+	public long getDeferred(@NonNull UpdatePriority priority) {
+		return deferred[priority.ordinal()];
+	}
+}
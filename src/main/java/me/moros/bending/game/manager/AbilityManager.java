@@ -21,30 +21,59 @@ package me.moros.bending.game.manager;
 
 import com.google.common.collect.Multimap;
 import com.google.common.collect.MultimapBuilder;
+import com.google.common.collect.SetMultimap;
 import me.moros.atlas.acf.lib.timings.MCTiming;
 import me.moros.atlas.cf.checker.nullness.qual.NonNull;
 import me.moros.bending.Bending;
+import me.moros.bending.game.TickBudget;
 import me.moros.bending.model.ability.Ability;
+import me.moros.bending.model.ability.Computable;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.ability.util.ActivationMethod;
+import me.moros.bending.model.ability.util.UpdatePriority;
 import me.moros.bending.model.ability.util.UpdateResult;
 import me.moros.bending.model.user.User;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class AbilityManager {
+	private static final int PARALLEL_COMPUTE_THRESHOLD = 8;
+
 	private final Multimap<User, Ability> globalInstances;
+	// Secondary indices by ability type, values keep insertion order
+	private final SetMultimap<Class<? extends Ability>, Ability> typeInstances;
+	private final Map<User, SetMultimap<Class<? extends Ability>, Ability>> userTypeInstances;
 	private final Collection<UserInstance> addQueue;
+	// Scheduling buffers reused every tick
+	private final List<Ability> schedule;
+	private final List<List<Ability>> buckets;
+	private final Set<Ability> deferred;
+	private final List<Computable> computables;
+	private int forced;
 
 	@SuppressWarnings("UnstableApiUsage")
 	protected AbilityManager() {
 		globalInstances = MultimapBuilder.hashKeys(32).arrayListValues(16).build();
+		typeInstances = MultimapBuilder.hashKeys(32).linkedHashSetValues(8).build();
+		userTypeInstances = new HashMap<>(32);
 		addQueue = new ArrayList<>(32);
+		schedule = new ArrayList<>(64);
+		buckets = new ArrayList<>(UpdatePriority.VALUES.length);
+		for (int i = 0; i < UpdatePriority.VALUES.length; i++) {
+			buckets.add(new ArrayList<>(32));
+		}
+		deferred = new LinkedHashSet<>();
+		computables = new ArrayList<>(32);
 	}
 
 	private static class UserInstance {
@@ -70,10 +99,13 @@ public class AbilityManager {
 	}
 
 	public void changeOwner(@NonNull Ability ability, @NonNull User user) {
-		if (ability.getUser().equals(user) || !ability.getUser().getWorld().equals(user.getWorld())) return;
-		if (ability.setUser(user) && globalInstances.remove(ability.getUser(), ability)) {
+		User previous = ability.getUser();
+		if (previous.equals(user) || !previous.getWorld().equals(user.getWorld())) return;
+		if (ability.setUser(user) && globalInstances.remove(previous, ability)) {
+			unindex(previous, ability);
 			ability.recalculateConfig();
 			globalInstances.put(user, ability);
+			index(user, ability);
 		}
 	}
 
@@ -100,35 +132,37 @@ public class AbilityManager {
 	}
 
 	public <T extends Ability> boolean hasAbility(@NonNull User user, @NonNull Class<T> type) {
-		return getUserInstances(user, type).findAny().isPresent();
+		return !getUserTypeInstances(user, type).isEmpty();
 	}
 
 	public boolean hasAbility(@NonNull User user, @NonNull AbilityDescription desc) {
-		return hasAbility(user, desc.createAbility().getClass());
+		return hasAbility(user, desc.getType());
 	}
 
 	public void destroyInstance(@NonNull Ability ability) {
-		if (globalInstances.remove(ability.getUser(), ability)) {
+		User user = ability.getUser();
+		if (globalInstances.remove(user, ability)) {
+			unindex(user, ability);
 			destroyAbility(ability);
 		}
 	}
 
 	public boolean destroyInstanceType(@NonNull User user, @NonNull AbilityDescription desc) {
-		return destroyInstanceType(user, desc.createAbility().getClass());
+		return destroyInstanceType(user, desc.getType());
 	}
 
 	public <T extends Ability> boolean destroyInstanceType(@NonNull User user, @NonNull Class<T> type) {
-		boolean destroyed = false;
-		Iterator<Ability> iterator = globalInstances.get(user).iterator();
-		while (iterator.hasNext()) {
-			Ability ability = iterator.next();
-			if (ability.getClass() == type) {
-				iterator.remove();
-				destroyAbility(ability);
-				destroyed = true;
-			}
+		SetMultimap<Class<? extends Ability>, Ability> userIndex = userTypeInstances.get(user);
+		if (userIndex == null) return false;
+		Collection<Ability> toDestroy = userIndex.removeAll(type);
+		if (toDestroy.isEmpty()) return false;
+		if (userIndex.isEmpty()) userTypeInstances.remove(user);
+		for (Ability ability : toDestroy) {
+			globalInstances.remove(user, ability);
+			typeInstances.remove(type, ability);
 		}
-		return destroyed;
+		toDestroy.forEach(this::destroyAbility);
+		return true;
 	}
 
 	public @NonNull Stream<Ability> getUserInstances(@NonNull User user) {
@@ -136,7 +170,7 @@ public class AbilityManager {
 	}
 
 	public <T extends Ability> @NonNull Stream<T> getUserInstances(@NonNull User user, @NonNull Class<T> type) {
-		return getUserInstances(user).filter(a -> a.getClass() == type).map(type::cast);
+		return getUserTypeInstances(user, type).stream().map(type::cast);
 	}
 
 	public <T extends Ability> Optional<T> getFirstInstance(@NonNull User user, @NonNull Class<T> type) {
@@ -148,27 +182,72 @@ public class AbilityManager {
 	}
 
 	public <T extends Ability> @NonNull Stream<T> getInstances(@NonNull Class<T> type) {
-		return getInstances().filter(a -> a.getClass() == type).map(type::cast);
+		return typeInstances.get(type).stream().map(type::cast);
 	}
 
 	public void destroyUserInstances(@NonNull User user) {
-		globalInstances.removeAll(user).forEach(this::destroyAbility);
+		Collection<Ability> toDestroy = globalInstances.removeAll(user);
+		userTypeInstances.remove(user);
+		for (Ability ability : toDestroy) {
+			typeInstances.remove(ability.getClass(), ability);
+		}
+		toDestroy.forEach(this::destroyAbility);
 	}
 
 	public void destroyAllInstances() {
-		globalInstances.values().forEach(this::destroyAbility);
+		Collection<Ability> toDestroy = new ArrayList<>(globalInstances.values());
 		globalInstances.clear();
+		deferred.clear();
+		typeInstances.clear();
+		userTypeInstances.clear();
+		toDestroy.forEach(this::destroyAbility);
 	}
 
-	// Updates each ability every tick. Destroys the ability if ability.update() returns UpdateResult.Remove.
+	/**
+	 * Updates each ability every tick. Destroys the ability if ability.update() returns UpdateResult.Remove.
+	 * Abilities implementing {@link Computable} get their compute phase run first, in parallel when there's enough of them.
+	 * Abilities are updated in order of {@link UpdatePriority}. Once the tick runs over its {@link TickBudget},
+	 * remaining abilities are deferred and are guaranteed to be updated first on the next tick.
+	 */
 	public void update() {
+		prepareUpdate();
+		computeUpdate();
+		applyUpdate();
+	}
+
+	// Flushes queued instances and builds this tick's update order, must run on the main thread
+	void prepareUpdate() {
 		for (UserInstance i : addQueue) {
 			globalInstances.put(i.getUser(), i.getAbility());
+			index(i.getUser(), i.getAbility());
 		}
 		addQueue.clear();
-		Iterator<Ability> globalIterator = globalInstances.values().iterator();
-		while (globalIterator.hasNext()) {
-			Ability ability = globalIterator.next();
+		schedule.clear();
+		for (Ability ability : deferred) {
+			if (isActive(ability)) schedule.add(ability);
+		}
+		forced = schedule.size();
+		for (Ability ability : globalInstances.values()) {
+			if (!deferred.contains(ability)) buckets.get(ability.getUpdatePriority().ordinal()).add(ability);
+		}
+		deferred.clear();
+		for (List<Ability> bucket : buckets) {
+			schedule.addAll(bucket);
+			bucket.clear();
+		}
+	}
+
+	// Updates scheduled abilities, must run on the main thread
+	void applyUpdate() {
+		TickBudget budget = Bending.getGame().getTickBudget();
+		for (int i = 0; i < schedule.size(); i++) {
+			Ability ability = schedule.get(i);
+			if (!isActive(ability)) continue; // Destroyed earlier in this tick
+			if (i >= forced && budget.isExhausted()) {
+				deferred.add(ability);
+				budget.defer(ability.getUpdatePriority());
+				continue;
+			}
 			UpdateResult result = UpdateResult.REMOVE;
 			try (MCTiming timing = Bending.getTimingManager().of(ability.getDescription().getName()).startTiming()) {
 				result = ability.update();
@@ -176,10 +255,57 @@ public class AbilityManager {
 				e.printStackTrace();
 			}
 			if (result == UpdateResult.REMOVE) {
-				globalIterator.remove();
-				destroyAbility(ability);
+				destroyInstance(ability);
 			}
 		}
+		schedule.clear();
+	}
+
+	// Compute phase of the update, runs on the common ForkJoin pool when there's enough work to split.
+	// Only touches this manager's scheduling buffers, so different worlds can compute concurrently.
+	void computeUpdate() {
+		for (Ability ability : schedule) {
+			if (ability instanceof Computable) computables.add((Computable) ability);
+		}
+		if (computables.size() >= PARALLEL_COMPUTE_THRESHOLD) {
+			computables.parallelStream().forEach(AbilityManager::computeSafely);
+		} else {
+			computables.forEach(AbilityManager::computeSafely);
+		}
+		computables.clear();
+	}
+
+	// A failed compute only drops the precomputed state, update() will fall back to computing inline
+	private static void computeSafely(Computable computable) {
+		try {
+			computable.compute();
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+
+	private boolean isActive(Ability ability) {
+		return typeInstances.containsEntry(ability.getClass(), ability);
+	}
+
+	private Collection<Ability> getUserTypeInstances(User user, Class<? extends Ability> type) {
+		SetMultimap<Class<? extends Ability>, Ability> userIndex = userTypeInstances.get(user);
+		return userIndex == null ? Collections.emptySet() : userIndex.get(type);
+	}
+
+	@SuppressWarnings("UnstableApiUsage")
+	private void index(User user, Ability ability) {
+		typeInstances.put(ability.getClass(), ability);
+		userTypeInstances.computeIfAbsent(user, u -> MultimapBuilder.hashKeys(8).linkedHashSetValues(4).build())
+			.put(ability.getClass(), ability);
+	}
+
+	private void unindex(User user, Ability ability) {
+		typeInstances.remove(ability.getClass(), ability);
+		SetMultimap<Class<? extends Ability>, Ability> userIndex = userTypeInstances.get(user);
+		if (userIndex != null && userIndex.remove(ability.getClass(), ability) && userIndex.isEmpty()) {
+			userTypeInstances.remove(user);
+		}
 	}
 
 	private void destroyAbility(@NonNull Ability ability) {
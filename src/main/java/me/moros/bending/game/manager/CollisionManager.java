@@ -21,71 +21,177 @@ package me.moros.bending.game.manager;
 
 import me.moros.atlas.cf.checker.nullness.qual.NonNull;
 import me.moros.bending.model.ability.Ability;
+import me.moros.bending.model.collision.BVH;
 import me.moros.bending.model.collision.Collider;
+import me.moros.bending.model.collision.ColliderSet;
 import me.moros.bending.model.collision.Collision;
+import me.moros.bending.model.collision.CollisionMatrix;
 import me.moros.bending.model.collision.RegisteredCollision;
+import me.moros.bending.model.collision.geometry.AABB;
+import me.moros.bending.model.math.Vector3;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
-// TODO implement BVH and profile
+/**
+ * Handles ability collisions for a single world.
+ * Every tick all colliding instances are inserted in a {@link BVH} so that only abilities with
+ * overlapping bounds are tested against their {@link RegisteredCollision}.
+ * Registered collisions are compiled into a {@link CollisionMatrix} so each candidate pair is resolved in constant time.
+ * Every intersecting collider pair is handled, see {@link Ability#onCollision(Collision)} for the callback contract.
+ * Updates are split in collect, detect and resolve phases, only detection is safe to run off the main thread.
+ */
 public final class CollisionManager {
 	private static final Collection<RegisteredCollision> collisions = new ArrayList<>();
+	private static CollisionMatrix matrix = CollisionMatrix.EMPTY;
+
 	private final AbilityManager manager;
+	private final BVH<CollisionEntry> tree;
+	private final List<Candidate> candidates;
+	private CollisionMatrix currentMatrix;
 
 	protected CollisionManager(@NonNull AbilityManager manager) {
 		this.manager = manager;
+		this.tree = new BVH<>(64);
+		this.candidates = new ArrayList<>();
+		this.currentMatrix = matrix;
 	}
 
 	public void update() {
+		collect();
+		detect();
+		resolve();
+	}
+
+	// Gathers colliders from all instances, must run on the main thread as abilities may query their user
+	void collect() {
+		currentMatrix = matrix;
+		tree.clear();
 		if (manager.getInstancesCount() < 2) return;
-		Collection<Ability> instances = manager.getInstances().collect(Collectors.toList());
-		Map<Ability, Collection<Collider>> colliderCache = new HashMap<>();
-		for (RegisteredCollision registeredCollision : collisions) {
-			Collection<Ability> firstAbilities = instances.stream()
-				.filter(ability -> ability.getDescription().equals(registeredCollision.getFirst()))
-				.collect(Collectors.toList());
-			Collection<Ability> secondAbilities = instances.stream()
-				.filter(ability -> ability.getDescription().equals(registeredCollision.getSecond()))
-				.collect(Collectors.toList());
-
-			for (Ability first : firstAbilities) {
-				Collection<Collider> firstColliders = colliderCache.computeIfAbsent(first, Ability::getColliders);
-				if (firstColliders.isEmpty()) continue;
-				for (Ability second : secondAbilities) {
-					if (first.getUser().equals(second.getUser())) continue;
-					Collection<Collider> secondColliders = colliderCache.computeIfAbsent(second, Ability::getColliders);
-					if (secondColliders.isEmpty()) continue;
-					for (Collider firstCollider : firstColliders) {
-						for (Collider secondCollider : secondColliders) {
-							if (firstCollider.intersects(secondCollider)) {
-								handleCollision(first, second, firstCollider, secondCollider, registeredCollision);
-							}
-						}
-					}
+		manager.getInstances().forEach(ability -> insert(currentMatrix, ability));
+	}
+
+	// Pure geometry, safe to run off the main thread as long as collect and resolve are not running
+	void detect() {
+		candidates.clear();
+		if (tree.size() < 2) return;
+		tree.build();
+		tree.forEachOverlappingPair(this::checkPair);
+	}
+
+	// Applies collisions in detection order, must run on the main thread
+	void resolve() {
+		for (Candidate candidate : candidates) {
+			CollisionEntry first = candidate.first;
+			CollisionEntry second = candidate.second;
+			if (first.removed || second.removed) continue;
+			if (first.ability.getUser().equals(second.ability.getUser())) continue;
+			handleCollision(first, second, candidate.firstCollider, candidate.secondCollider);
+		}
+		candidates.clear();
+	}
+
+	private void insert(CollisionMatrix currentMatrix, Ability ability) {
+		int id = ability.getDescription().getId();
+		if (!currentMatrix.isCollidable(id)) return;
+		Collection<Collider> colliders = ability.getColliders();
+		if (colliders.isEmpty()) return;
+		// Abilities that cache their colliders keep their bounds across ticks
+		ColliderSet set = colliders instanceof ColliderSet ? (ColliderSet) colliders : ColliderSet.copyOf(colliders);
+		tree.add(new CollisionEntry(ability, id, set), set.getBounds());
+	}
+
+	private void checkPair(CollisionEntry first, CollisionEntry second) {
+		if (!currentMatrix.collides(first.id, second.id)) return;
+		ColliderSet firstSet = first.colliders;
+		ColliderSet secondSet = second.colliders;
+		AABB firstBounds = firstSet.getBounds();
+		AABB secondBounds = secondSet.getBounds();
+		for (int i = 0; i < firstSet.size(); i++) {
+			AABB firstBox = firstSet.getBounds(i);
+			if (!overlaps(firstBox, secondBounds)) continue;
+			Collider firstCollider = firstSet.get(i);
+			for (int j = 0; j < secondSet.size(); j++) {
+				AABB secondBox = secondSet.getBounds(j);
+				if (!overlaps(secondBox, firstBounds) || !overlaps(firstBox, secondBox)) continue;
+				Collider secondCollider = secondSet.get(j);
+				if (firstCollider.intersects(secondCollider)) {
+					candidates.add(new Candidate(first, second, firstCollider, secondCollider));
 				}
 			}
 		}
 	}
 
-	private void handleCollision(Ability first, Ability second, Collider c1, Collider c2, RegisteredCollision rc) {
-		Collision.CollisionData data = new Collision.CollisionData(first, second, c1, c2, rc.shouldRemoveFirst(), rc.shouldRemoveSecond());
-		first.onCollision(data.asCollision());
-		second.onCollision(data.asInverseCollision());
-		if (data.shouldRemoveFirst()) manager.destroyInstance(first);
-		if (data.shouldRemoveSecond()) manager.destroyInstance(second);
+	// Inclusive overlap test so touching colliders still reach their exact intersection test
+	private static boolean overlaps(AABB a, AABB b) {
+		Vector3 aMin = a.min();
+		Vector3 aMax = a.max();
+		Vector3 bMin = b.min();
+		Vector3 bMax = b.max();
+		return aMin.getX() <= bMax.getX() && aMax.getX() >= bMin.getX() &&
+			aMin.getY() <= bMax.getY() && aMax.getY() >= bMin.getY() &&
+			aMin.getZ() <= bMax.getZ() && aMax.getZ() >= bMin.getZ();
+	}
+
+	private void handleCollision(CollisionEntry first, CollisionEntry second, Collider c1, Collider c2) {
+		boolean removeFirst = currentMatrix.shouldRemoveFirst(first.id, second.id);
+		boolean removeSecond = currentMatrix.shouldRemoveSecond(first.id, second.id);
+		Collision.CollisionData data = new Collision.CollisionData(first.ability, second.ability, c1, c2, removeFirst, removeSecond);
+		first.ability.onCollision(data.asCollision());
+		second.ability.onCollision(data.asInverseCollision());
+		if (data.shouldRemoveFirst()) {
+			first.removed = true;
+			manager.destroyInstance(first.ability);
+		}
+		if (data.shouldRemoveSecond()) {
+			second.removed = true;
+			manager.destroyInstance(second.ability);
+		}
 	}
 
 	public static int registerCollisions(@NonNull Collection<RegisteredCollision> newCollisions) {
 		Set<RegisteredCollision> collisionSet = new HashSet<>(newCollisions);
 		collisions.clear();
 		collisions.addAll(collisionSet);
+		matrix = CollisionMatrix.compile(collisions);
 		//collisions.stream().map(RegisteredCollision::toString).forEach(Bending.getLog()::info);
 		return collisions.size();
 	}
+
+	/**
+	 * @return the currently compiled collision matrix
+	 */
+	public static @NonNull CollisionMatrix getCollisionMatrix() {
+		return matrix;
+	}
+
+	private static class CollisionEntry {
+		private final Ability ability;
+		private final int id;
+		private final ColliderSet colliders;
+		private boolean removed = false;
+
+		private CollisionEntry(Ability ability, int id, ColliderSet colliders) {
+			this.ability = ability;
+			this.id = id;
+			this.colliders = colliders;
+		}
+	}
+
+	private static class Candidate {
+		private final CollisionEntry first;
+		private final CollisionEntry second;
+		private final Collider firstCollider;
+		private final Collider secondCollider;
+
+		private Candidate(CollisionEntry first, CollisionEntry second, Collider firstCollider, Collider secondCollider) {
+			this.first = first;
+			this.second = second;
+			this.firstCollider = firstCollider;
+			this.secondCollider = secondCollider;
+		}
+	}
 }
@@ -20,15 +20,19 @@
 package me.moros.bending.game.manager;
 
 import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+import me.moros.atlas.cf.checker.nullness.qual.Nullable;
 import me.moros.atlas.configurate.ConfigurationNode;
 import me.moros.atlas.configurate.serialize.SerializationException;
 import me.moros.bending.Bending;
 import me.moros.bending.model.DummyAbilityManager;
 import me.moros.bending.model.user.BendingPlayer;
+import me.moros.bending.util.collision.EntityGrid;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -40,8 +44,10 @@ import java.util.stream.Collectors;
 public final class WorldManager {
 	private final Map<World, WorldInstance> worlds;
 	private final Set<UUID> disabledWorlds;
+	private final boolean parallel;
 
 	public WorldManager() {
+		parallel = Bending.getConfigManager().getConfig().node("properties", "parallel-worlds").getBoolean(false);
 		ConfigurationNode node = Bending.getConfigManager().getConfig().node("properties", "disabled-worlds");
 		List<String> worldNames = Collections.emptyList();
 		try {
@@ -60,8 +66,37 @@ public final class WorldManager {
 		return worlds.computeIfAbsent(world, WorldInstance::new).getAbilityManager();
 	}
 
+	public @Nullable EntityGrid getEntityGrid(@NonNull World world) {
+		WorldInstance instance = worlds.get(world);
+		return instance == null ? null : instance.getEntityGrid();
+	}
+
+	/**
+	 * Ticks every world. In parallel mode, the compute phase of abilities and collision detection run concurrently
+	 * across worlds, while every phase that can modify the world is still run on the main thread one world at a time.
+	 */
 	public void update() {
-		worlds.values().forEach(WorldInstance::update);
+		if (!parallel || worlds.size() < 2) {
+			worlds.values().forEach(WorldInstance::update);
+			return;
+		}
+		List<WorldInstance> instances = new ArrayList<>(worlds.values());
+		instances.forEach(WorldInstance::prepare);
+		instances.parallelStream().forEach(WorldInstance::compute);
+		instances.forEach(WorldInstance::apply);
+		instances.forEach(WorldInstance::collect);
+		instances.parallelStream().forEach(WorldInstance::detect);
+		instances.forEach(WorldInstance::resolve);
+		instances.forEach(WorldInstance::endTick);
+	}
+
+	/**
+	 * @return the smoothed tick cost in nanoseconds for each world
+	 */
+	public @NonNull Map<World, Long> getTickCosts() {
+		Map<World, Long> costs = new HashMap<>();
+		worlds.forEach((world, instance) -> costs.put(world, instance.getTickCost()));
+		return costs;
 	}
 
 	public void remove(@NonNull World world) {
@@ -85,17 +120,78 @@ public final class WorldManager {
 	}
 
 	private static class WorldInstance {
+		private static final double SMOOTHING = 0.05;
+
 		private final AbilityManager abilities;
 		private final CollisionManager collisions;
+		private final EntityGrid grid;
+
+		private long currentCost;
+		private double averageCost;
 
 		private WorldInstance(World world) {
 			abilities = new AbilityManager();
 			collisions = new CollisionManager(abilities);
+			grid = new EntityGrid(world);
 		}
 
 		private void update() {
-			abilities.update();
-			collisions.update();
+			prepare();
+			compute();
+			apply();
+			collect();
+			detect();
+			resolve();
+			endTick();
+		}
+
+		private void prepare() {
+			long start = System.nanoTime();
+			currentCost = 0;
+			grid.beginTick();
+			abilities.prepareUpdate();
+			currentCost += System.nanoTime() - start;
+		}
+
+		private void compute() {
+			long start = System.nanoTime();
+			abilities.computeUpdate();
+			currentCost += System.nanoTime() - start;
+		}
+
+		private void apply() {
+			long start = System.nanoTime();
+			abilities.applyUpdate();
+			currentCost += System.nanoTime() - start;
+		}
+
+		private void collect() {
+			long start = System.nanoTime();
+			collisions.collect();
+			currentCost += System.nanoTime() - start;
+		}
+
+		private void detect() {
+			long start = System.nanoTime();
+			collisions.detect();
+			currentCost += System.nanoTime() - start;
+		}
+
+		private void resolve() {
+			long start = System.nanoTime();
+			collisions.resolve();
+			currentCost += System.nanoTime() - start;
+		}
+
+		private void endTick() {
+			long start = System.nanoTime();
+			grid.endTick();
+			currentCost += System.nanoTime() - start;
+			averageCost += SMOOTHING * (currentCost - averageCost);
+		}
+
+		private long getTickCost() {
+			return (long) averageCost;
 		}
 
 		private AbilityManager getAbilityManager() {
@@ -105,5 +201,9 @@ public final class WorldManager {
 		private CollisionManager getCollisionManager() {
 			return collisions;
 		}
+
+		private EntityGrid getEntityGrid() {
+			return grid;
+		}
 	}
 }
@@ -21,15 +21,15 @@ package me.moros.bending.game.temporal;
 
 import me.moros.atlas.cf.checker.nullness.qual.NonNull;
 import me.moros.bending.model.math.Vector3;
+import me.moros.bending.model.temporal.AbstractTemporary;
 import me.moros.bending.model.temporal.TemporalManager;
-import me.moros.bending.model.temporal.Temporary;
 import me.moros.bending.util.Metadata;
 import org.bukkit.Location;
 import org.bukkit.block.Block;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.FallingBlock;
 
-public class BendingFallingBlock implements Temporary {
+public class BendingFallingBlock extends AbstractTemporary {
 	public static final TemporalManager<FallingBlock, BendingFallingBlock> MANAGER = new TemporalManager<>();
 	private final FallingBlock fallingBlock;
 	private RevertTask revertTask;
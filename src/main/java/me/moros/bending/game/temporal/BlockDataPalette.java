@@ -0,0 +1,75 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.game.temporal;
+
+import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+import org.bukkit.block.data.BlockData;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Interns {@link BlockData} into stable int ids so temporary blocks can store their states as primitives.
+ * Ids are never released, the palette only grows with the amount of distinct states ever used which is small in practice.
+ * Interning is synchronized while lookups by id are lock free.
+ */
+final class BlockDataPalette {
+	private static final Map<BlockData, Integer> IDS = new HashMap<>();
+	private static volatile BlockData[] entries = new BlockData[64];
+	private static volatile boolean[] gravity = new boolean[64];
+	private static int size = 0;
+
+	/**
+	 * @param data the data to intern, a copy is stored so the original can be safely modified afterwards
+	 * @return the id of the given data
+	 */
+	static synchronized int id(@NonNull BlockData data) {
+		Integer id = IDS.get(data);
+		if (id != null) return id;
+		BlockData copy = data.clone();
+		int index = size++;
+		BlockData[] newEntries = entries;
+		boolean[] newGravity = gravity;
+		if (index == newEntries.length) {
+			newEntries = Arrays.copyOf(newEntries, 2 * index);
+			newGravity = Arrays.copyOf(newGravity, 2 * index);
+		}
+		newEntries[index] = copy;
+		newGravity[index] = copy.getMaterial().hasGravity();
+		// Volatile writes publish the new slot to lock free readers
+		gravity = newGravity;
+		entries = newEntries;
+		IDS.put(copy, index);
+		return index;
+	}
+
+	/**
+	 * @param id the id of the data
+	 * @return the shared interned instance, callers must not modify it
+	 */
+	static @NonNull BlockData get(int id) {
+		return entries[id];
+	}
+
+	static boolean hasGravity(int id) {
+		return gravity[id];
+	}
+}
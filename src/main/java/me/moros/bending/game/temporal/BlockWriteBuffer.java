@@ -0,0 +1,200 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.game.temporal;
+
+import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+import me.moros.atlas.cf.checker.nullness.qual.Nullable;
+import me.moros.bending.util.collection.BlockKey;
+import me.moros.bending.util.collection.BlockMap;
+import me.moros.bending.util.collection.Long2ObjectMap;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Applies temporary block writes and skips the ones that would not change anything.
+ * Creates and reverts are written through immediately, abilities read the world right after writing to it.
+ * Writes of data the block already holds are skipped, so a create that did not change the block cancels out with its
+ * revert. Reverts in unloaded chunks are deferred, indexed by chunk, and restored once that chunk is loaded again so
+ * expiring blocks never force chunks to load. A create on a position with a deferred revert inherits its original state.
+ * <p> Note: This is not thread-safe and must only be used on the main thread.
+ */
+final class BlockWriteBuffer {
+	// Restores that are waiting for their chunk to load, indexed by position and by chunk
+	private final BlockMap<TempBlock> deferred = new BlockMap<>();
+	private final Map<UUID, Long2ObjectMap<List<TempBlock>>> deferredChunks = new HashMap<>();
+	private int deferredCount;
+	private long savedWrites;
+	private long flushedWrites;
+
+	/**
+	 * Write the given data to the block unless it already matches.
+	 * @param block the block to write to
+	 * @param data the data to write
+	 */
+	void set(@NonNull Block block, @NonNull BlockData data) {
+		if (data.equals(block.getBlockData())) {
+			savedWrites++;
+			return;
+		}
+		block.setBlockData(data);
+	}
+
+	/**
+	 * Restore a temporary block, deferred until its chunk loads if the chunk is not loaded.
+	 * @param tb the temporary block to restore
+	 */
+	void revert(@NonNull TempBlock tb) {
+		World world = tb.getWorld();
+		int chunkX = chunkX(tb.getKey());
+		int chunkZ = chunkZ(tb.getKey());
+		if (world.isChunkLoaded(chunkX, chunkZ)) {
+			restore(tb);
+		} else {
+			defer(world, chunkX, chunkZ, tb);
+		}
+	}
+
+	/**
+	 * Cancel a deferred restore because the position is about to be overwritten.
+	 * @param block the block to check
+	 * @return the temporary block that was deferred or null if there was none
+	 */
+	@Nullable TempBlock cancelRevert(@NonNull Block block) {
+		if (deferredCount == 0) return null;
+		// The stale chunk index entry is skipped when the chunk loads
+		TempBlock tb = deferred.remove(block);
+		if (tb != null) {
+			deferredCount--;
+			savedWrites++;
+		}
+		return tb;
+	}
+
+	/**
+	 * @param block the block to check
+	 * @return the data the block will have once deferred restores are applied
+	 */
+	@NonNull BlockData getData(@NonNull Block block) {
+		if (deferredCount > 0) {
+			TempBlock tb = deferred.get(block);
+			if (tb != null) return tb.getOriginalData();
+		}
+		return block.getBlockData();
+	}
+
+	private void restore(TempBlock tb) {
+		if (tb.restore()) {
+			flushedWrites++;
+		} else {
+			savedWrites++;
+		}
+	}
+
+	private void defer(World world, int chunkX, int chunkZ, TempBlock tb) {
+		if (deferred.put(tb.getBlock(), tb) == null) deferredCount++;
+		long chunkKey = BlockKey.pack(chunkX, 0, chunkZ);
+		Long2ObjectMap<List<TempBlock>> chunks = deferredChunks.computeIfAbsent(world.getUID(), k -> new Long2ObjectMap<>());
+		List<TempBlock> list = chunks.get(chunkKey);
+		if (list == null) {
+			list = new ArrayList<>();
+			chunks.put(chunkKey, list);
+		}
+		list.add(tb);
+	}
+
+	/**
+	 * Restore deferred reverts of a chunk that was just loaded.
+	 * @param chunk the chunk that was loaded
+	 */
+	void onChunkLoad(@NonNull Chunk chunk) {
+		if (deferredCount == 0) return;
+		Long2ObjectMap<List<TempBlock>> chunks = deferredChunks.get(chunk.getWorld().getUID());
+		if (chunks == null) return;
+		List<TempBlock> blocks = chunks.remove(BlockKey.pack(chunk.getX(), 0, chunk.getZ()));
+		if (blocks == null) return;
+		for (TempBlock tb : blocks) {
+			Block block = tb.getBlock();
+			if (deferred.get(block) != tb) continue;
+			deferred.remove(block);
+			deferredCount--;
+			restore(tb);
+		}
+	}
+
+	/**
+	 * Drop every deferred restore of a world that is unloading, so this buffer does not keep the world alive.
+	 * @param world the world that is unloading
+	 * @param consumer the consumer to accept restores that were dropped
+	 */
+	void onWorldUnload(@NonNull World world, @NonNull Consumer<TempBlock> consumer) {
+		deferredChunks.remove(world.getUID());
+		Long2ObjectMap<TempBlock> blocks = deferred.removeWorld(world);
+		if (blocks != null) {
+			deferredCount -= blocks.size();
+			blocks.forEachValue(consumer);
+		}
+	}
+
+	/**
+	 * Visit every temporary block that has been reverted but not restored in the world yet.
+	 * @param consumer the consumer to accept unrestored blocks
+	 */
+	void forEachUnrestored(@NonNull Consumer<TempBlock> consumer) {
+		if (deferredCount > 0) deferred.values().forEach(consumer);
+	}
+
+	/**
+	 * @return the amount of block writes that were skipped
+	 */
+	long getSavedWrites() {
+		return savedWrites;
+	}
+
+	/**
+	 * @return the amount of restores that are waiting for their chunk to load
+	 */
+	int getDeferredCount() {
+		return deferredCount;
+	}
+
+	/**
+	 * @return the amount of restores that were written to the world
+	 */
+	long getFlushedWrites() {
+		return flushedWrites;
+	}
+
+	private static int chunkX(long key) {
+		return BlockKey.getX(key) >> 4;
+	}
+
+	private static int chunkZ(long key) {
+		return BlockKey.getZ(key) >> 4;
+	}
+}
@@ -21,8 +21,8 @@ package me.moros.bending.game.temporal;
 
 import me.moros.atlas.cf.checker.nullness.qual.NonNull;
 import me.moros.bending.Bending;
+import me.moros.bending.model.temporal.AbstractTemporary;
 import me.moros.bending.model.temporal.TemporalManager;
-import me.moros.bending.model.temporal.Temporary;
 import me.moros.bending.model.user.User;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.inventory.ItemStack;
@@ -34,7 +34,7 @@ import java.util.Collections;
 import java.util.Optional;
 
 @SuppressWarnings("ConstantConditions")
-public class TempArmor implements Temporary {
+public class TempArmor extends AbstractTemporary {
 	public static final TemporalManager<LivingEntity, TempArmor> MANAGER = new TemporalManager<>();
 	private final LivingEntity entity;
 	private final ItemStack[] snapshot;
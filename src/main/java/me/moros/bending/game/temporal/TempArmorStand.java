@@ -20,8 +20,8 @@
 package me.moros.bending.game.temporal;
 
 import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+import me.moros.bending.model.temporal.AbstractTemporary;
 import me.moros.bending.model.temporal.TemporalManager;
-import me.moros.bending.model.temporal.Temporary;
 import me.moros.bending.util.Metadata;
 import me.moros.bending.util.ParticleUtil;
 import org.bukkit.Location;
@@ -33,7 +33,7 @@ import org.bukkit.inventory.ItemStack;
 
 import java.util.Objects;
 
-public class TempArmorStand implements Temporary {
+public class TempArmorStand extends AbstractTemporary {
 	public static final TemporalManager<ArmorStand, TempArmorStand> MANAGER = new TemporalManager<>();
 	private final ArmorStand armorStand;
 
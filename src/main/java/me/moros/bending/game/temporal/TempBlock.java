@@ -20,53 +20,169 @@
 package me.moros.bending.game.temporal;
 
 import me.moros.atlas.cf.checker.nullness.qual.NonNull;
-import me.moros.atlas.expiringmap.ExpirationPolicy;
-import me.moros.atlas.expiringmap.ExpiringMap;
+import me.moros.atlas.cf.checker.nullness.qual.Nullable;
+import me.moros.bending.Bending;
+import me.moros.bending.model.temporal.AbstractTemporary;
 import me.moros.bending.model.temporal.TemporalManager;
-import me.moros.bending.model.temporal.Temporary;
-import me.moros.bending.util.material.MaterialUtil;
+import me.moros.bending.util.collection.BlockKey;
+import me.moros.bending.util.collection.BlockMap;
+import me.moros.bending.util.collection.Long2ObjectMap;
+import me.moros.bending.util.material.MaterialFlags;
 import me.moros.bending.util.methods.BlockMethods;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
 import org.bukkit.block.TileState;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.block.data.Waterlogged;
 
-import java.util.HashSet;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.TimeUnit;
-
-public class TempBlock implements Temporary {
-	private static final Set<Block> GRAVITY_CACHE = new HashSet<>();
-
-	public static final TemporalManager<Block, TempBlock> MANAGER = new TemporalManager<>();
-	private static final ExpiringMap<Block, Boolean> TEMP_AIR = ExpiringMap.builder().variableExpiration().build();
-
-	private BlockState snapshot;
-	private final BlockData data;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TempBlock extends AbstractTemporary {
+	private static final BlockStore STORE = new BlockStore();
+	public static final TemporalManager<Block, TempBlock> MANAGER = new TemporalManager<>(STORE);
+	// Expiration timestamps of temporary air, only accessed from the main thread
+	private static final BlockMap<Long> TEMP_AIR = new BlockMap<>();
+	private static final BlockWriteBuffer WRITES = new BlockWriteBuffer();
+	private static final TempBlockJournal JOURNAL = new TempBlockJournal();
+	// Journal entries that have no temporary block because their world was not loaded, indexed by world and chunk
+	private static final Map<UUID, Long2ObjectMap<List<TempBlockJournal.Entry>>> DETACHED = new HashMap<>();
+	private static boolean bulkRevert = false;
+
+	// Position and states are stored as primitives, a full snapshot is only kept for tile entities
+	private final World world;
+	private final long key;
+	private final BlockState tileSnapshot;
+	private int original;
+	private final int data;
 	private RevertTask revertTask;
 	private final boolean bendable;
 
+	/**
+	 * Open the block journal and restore any temporary blocks that were left behind by a crash.
+	 * Entries in worlds or chunks that are not loaded stay journaled and are restored once their chunk loads,
+	 * so enabling the plugin never loads chunks.
+	 */
 	public static void init() {
+		init(Bending.getPlugin().getDataFolder().toPath().resolve("journal"));
+	}
+
+	static void init(@NonNull Path directory) {
+		int restored = 0;
+		for (TempBlockJournal.Entry entry : JOURNAL.open(directory)) {
+			World world = Bukkit.getWorld(entry.getWorld());
+			long key = entry.getKey();
+			if (world == null || !world.isChunkLoaded(BlockKey.getX(key) >> 4, BlockKey.getZ(key) >> 4)) {
+				JOURNAL.add(entry);
+				detach(entry);
+			} else if (restoreEntry(world, entry)) {
+				restored++;
+			}
+		}
+		if (restored > 0) Bending.getLog().info("Restored " + restored + " temporary blocks left behind by an unclean shutdown");
+	}
+
+	/**
+	 * Restore journaled temporary blocks of a world that was not loaded, only chunks that are already loaded are
+	 * restored right away and the rest is restored once their chunk loads.
+	 * @param world the world that was loaded
+	 */
+	public static void onWorldLoad(@NonNull World world) {
+		if (!DETACHED.containsKey(world.getUID())) return;
+		for (Chunk chunk : world.getLoadedChunks()) {
+			restoreDetached(world, chunk.getX(), chunk.getZ());
+		}
+	}
+
+	/**
+	 * Drop every temporary block of a world that is unloading without reverting, so nothing keeps the world alive.
+	 * Their journal entries stay live and are restored once the world and their chunk load again.
+	 * Note: Tile entities are restored without their contents.
+	 * @param world the world that is unloading
+	 */
+	public static void onWorldUnload(@NonNull World world) {
+		WRITES.onWorldUnload(world, tb -> detach(JOURNAL.entry(tb.world, tb.key, tb.original)));
+		List<TempBlock> active;
+		synchronized (STORE) {
+			active = STORE.values(world);
+		}
+		for (TempBlock tb : active) {
+			MANAGER.removeEntry(tb.getBlock());
+			detach(JOURNAL.entry(tb.world, tb.key, tb.original));
+		}
+		TEMP_AIR.removeWorld(world);
+	}
+
+	private static void detach(TempBlockJournal.Entry entry) {
+		long key = entry.getKey();
+		long chunkKey = BlockKey.pack(BlockKey.getX(key) >> 4, 0, BlockKey.getZ(key) >> 4);
+		Long2ObjectMap<List<TempBlockJournal.Entry>> chunks = DETACHED.computeIfAbsent(entry.getWorld(), k -> new Long2ObjectMap<>());
+		List<TempBlockJournal.Entry> entries = chunks.get(chunkKey);
+		if (entries == null) {
+			entries = new ArrayList<>();
+			chunks.put(chunkKey, entries);
+		}
+		entries.add(entry);
+	}
+
+	private static void restoreDetached(World world, int chunkX, int chunkZ) {
+		Long2ObjectMap<List<TempBlockJournal.Entry>> chunks = DETACHED.get(world.getUID());
+		if (chunks == null) return;
+		List<TempBlockJournal.Entry> entries = chunks.remove(BlockKey.pack(chunkX, 0, chunkZ));
+		if (entries == null) return;
+		if (chunks.isEmpty()) DETACHED.remove(world.getUID());
+		for (TempBlockJournal.Entry entry : entries) {
+			restoreEntry(world, entry);
+			JOURNAL.remove(world, entry.getKey());
+		}
+	}
+
+	private static boolean restoreEntry(World world, TempBlockJournal.Entry entry) {
+		try {
+			BlockKey.toBlock(world, entry.getKey()).setBlockData(Bukkit.createBlockData(entry.getData()), false);
+			return true;
+		} catch (IllegalArgumentException e) {
+			Bending.getLog().warn("Skipping invalid block journal entry: " + entry.getData());
+			return false;
+		}
 	}
 
 	private TempBlock(Block block, BlockData data, long duration, boolean bendable) {
-		snapshot = block.getState();
-		this.data = data;
+		world = block.getWorld();
+		key = BlockKey.pack(block);
+		this.data = BlockDataPalette.id(data);
 		this.bendable = bendable;
+		// A revert of this block may still be pending, its original state is the real one
+		TempBlock pending = WRITES.cancelRevert(block);
 		TempBlock temp = MANAGER.get(block).orElse(null);
+		TempBlock previous = temp == null ? pending : temp;
+		if (previous != null) {
+			tileSnapshot = previous.tileSnapshot;
+			original = previous.original;
+		} else {
+			tileSnapshot = block.getState(false) instanceof TileState ? block.getState() : null;
+			original = BlockDataPalette.id(block.getBlockData());
+			JOURNAL.add(world, key, original);
+		}
 		if (temp != null) {
-			snapshot = temp.snapshot;
 			if (temp.revertTask != null) temp.revertTask.execute();
 		} else {
-			if (data.getMaterial().isAir() && !TEMP_AIR.containsKey(block)) {
-				TEMP_AIR.put(block, false, ExpirationPolicy.CREATED, duration <= 0 ? DEFAULT_REVERT : duration, TimeUnit.MILLISECONDS);
+			if (data.getMaterial().isAir() && getRemainingAirTime(block) <= 0) {
+				long expiration = System.currentTimeMillis() + (duration <= 0 ? DEFAULT_REVERT : duration);
+				TEMP_AIR.put(block, expiration);
 			}
 		}
-		if (data.getMaterial().hasGravity()) GRAVITY_CACHE.add(block);
-		block.setBlockData(data);
+		WRITES.set(block, data);
 		MANAGER.addEntry(block, this, duration);
 	}
 
@@ -102,12 +218,13 @@ public class TempBlock implements Temporary {
 		if (block instanceof TileState) return Optional.empty();
 
 		TempBlock tb = MANAGER.get(block).orElse(null);
-		if (tb != null && data.matches(tb.snapshot.getBlockData())) {
+		if (tb != null && data.matches(tb.getOriginalData())) {
 			return Optional.empty();
 		}
 
-		if (block.getBlockData() instanceof Waterlogged) {
-			Waterlogged waterData = ((Waterlogged) block.getBlockData().clone());
+		BlockData current = WRITES.getData(block);
+		if (current instanceof Waterlogged) {
+			Waterlogged waterData = ((Waterlogged) current.clone());
 			if (waterData.isWaterlogged() && data.getMaterial().isAir()) {
 				waterData.setWaterlogged(false);
 				data = waterData;
@@ -117,10 +234,10 @@ public class TempBlock implements Temporary {
 			}
 		}
 
-		if (MaterialUtil.TRANSPARENT.isTagged(data)) {
+		if (MaterialFlags.has(data.getMaterial(), MaterialFlags.TRANSPARENT)) {
 			if (BlockMethods.isInfiniteWater(block)) {
 				if (tb != null) {
-					if (Material.WATER.createBlockData().matches(tb.snapshot.getBlockData())) {
+					if (Material.WATER.createBlockData().matches(tb.getOriginalData())) {
 						tb.revert();
 					}
 				} else {
@@ -136,35 +253,77 @@ public class TempBlock implements Temporary {
 	@Override
 	public void revert() {
 		Block block = getBlock();
-		if (TEMP_AIR.containsKey(block)) {
-			long remainingTime = TEMP_AIR.getExpectedExpiration(block);
+		long remainingTime = getRemainingAirTime(block);
+		if (remainingTime > 0) {
 			create(block, Material.AIR, remainingTime, true);
 			return;
 		}
-		snapshot.getWorld().getChunkAtAsync(block).thenAccept(r -> snapshot.update(true, false));
+		WRITES.revert(this);
 		MANAGER.removeEntry(block);
-		GRAVITY_CACHE.remove(block);
 		if (revertTask != null) revertTask.execute();
 	}
 
+	// Restores the original state without physics, used by the write buffer
+	// Returns false if the block already held its original data, for example when the create wrote nothing
+	boolean restore() {
+		boolean written = true;
+		if (tileSnapshot != null) {
+			tileSnapshot.update(true, false);
+		} else {
+			Block block = getBlock();
+			BlockData originalData = BlockDataPalette.get(original);
+			if (originalData.equals(block.getBlockData())) {
+				written = false;
+			} else {
+				block.setBlockData(originalData, false);
+			}
+		}
+		if (!bulkRevert) JOURNAL.remove(world, key);
+		return written;
+	}
+
+	@NonNull World getWorld() {
+		return world;
+	}
+
+	long getKey() {
+		return key;
+	}
+
+	@NonNull BlockData getOriginalData() {
+		return BlockDataPalette.get(original);
+	}
+
 	public @NonNull Block getBlock() {
-		return snapshot.getBlock();
+		return BlockKey.toBlock(world, key);
 	}
 
 	public @NonNull BlockData getBlockData() {
-		return data;
+		return BlockDataPalette.get(data).clone();
 	}
 
+	/**
+	 * Non tile blocks only store the original data, so a new state is created on every call.
+	 * @return a snapshot of the original state of this block
+	 */
 	public @NonNull BlockState getSnapshot() {
-		return snapshot;
+		if (tileSnapshot != null) return tileSnapshot;
+		BlockState state = getBlock().getState();
+		state.setBlockData(BlockDataPalette.get(original).clone());
+		return state;
 	}
 
 	public void overwriteSnapshot(@NonNull BlockData newData) {
-		this.snapshot.setBlockData(newData);
+		original = BlockDataPalette.id(newData);
+		JOURNAL.update(world, key, original);
+		if (tileSnapshot != null) tileSnapshot.setBlockData(newData);
 	}
 
 	public void removeWithoutReverting() {
-		MANAGER.removeEntry(getBlock());
+		Block block = getBlock();
+		if (!MANAGER.isTemp(block)) return;
+		MANAGER.removeEntry(block);
+		JOURNAL.remove(world, key);
 	}
 
 	public boolean isBendable() {
@@ -176,8 +335,42 @@ public class TempBlock implements Temporary {
 		this.revertTask = task;
 	}
 
+	/**
+	 * Check if a block is temporary, skipping the lookup entirely for chunks that contain no temporary blocks.
+	 * Prefer this over {@link TemporalManager#isTemp} in frequently fired listeners.
+	 * @param block the block to check
+	 * @return true if the block is temporary
+	 */
+	public static boolean isTemp(@Nullable Block block) {
+		return block != null && hasTempBlocks(block.getWorld(), block.getX() >> 4, block.getZ() >> 4) && MANAGER.isTemp(block);
+	}
+
+	/**
+	 * @return true if the given chunk contains at least one temporary block
+	 */
+	public static boolean hasTempBlocks(@NonNull World world, int chunkX, int chunkZ) {
+		return STORE.getChunkCount(world, chunkX, chunkZ) > 0;
+	}
+
+	/**
+	 * Restore reverts that were deferred because the given chunk was not loaded and detached journal entries of
+	 * that chunk, called when a chunk loads.
+	 * @param chunk the chunk that was loaded
+	 */
+	public static void onChunkLoad(@NonNull Chunk chunk) {
+		WRITES.onChunkLoad(chunk);
+		if (!DETACHED.isEmpty()) restoreDetached(chunk.getWorld(), chunk.getX(), chunk.getZ());
+	}
+
+	/**
+	 * @return the amount of reverts that are waiting for their chunk to load
+	 */
+	public static int getDeferredReverts() {
+		return WRITES.getDeferredCount();
+	}
+
 	public static boolean isTouchingTempBlock(@NonNull Block block) {
-		return BlockMethods.MAIN_FACES.stream().map(block::getRelative).anyMatch(MANAGER::isTemp);
+		return BlockMethods.anyAdjacent(block, MANAGER::isTemp);
 	}
 
 	public static boolean isBendable(@NonNull Block block) {
@@ -185,10 +378,142 @@ public class TempBlock implements Temporary {
 	}
 
 	public static boolean isGravityCached(@NonNull Block block) {
-		return GRAVITY_CACHE.contains(block);
+		if (!hasTempBlocks(block.getWorld(), block.getX() >> 4, block.getZ() >> 4)) return false;
+		TempBlock tb = MANAGER.get(block).orElse(null);
+		return tb != null && BlockDataPalette.hasGravity(tb.data);
+	}
+
+	/**
+	 * Sync the block journal, this is called at the end of every tick.
+	 */
+	public static void syncJournal() {
+		JOURNAL.tick(TempBlock::journalSnapshot);
+	}
+
+	/**
+	 * Revert all temporary blocks in bulk. Restores are not journaled one by one, instead the journal is rewritten
+	 * once with whatever could not be restored yet.
+	 */
+	public static void revertAll() {
+		clearAir();
+		bulkRevert = true;
+		try {
+			MANAGER.removeAll();
+		} finally {
+			bulkRevert = false;
+		}
+		JOURNAL.rewrite(journalSnapshot());
+	}
+
+	/**
+	 * Force and close the block journal, anything still journaled will be restored on next startup.
+	 */
+	public static void closeJournal() {
+		JOURNAL.close();
+	}
+
+	private static List<TempBlockJournal.Entry> journalSnapshot() {
+		List<TempBlock> blocks;
+		synchronized (STORE) {
+			blocks = STORE.values();
+		}
+		List<TempBlockJournal.Entry> entries = new ArrayList<>(blocks.size());
+		blocks.forEach(tb -> entries.add(JOURNAL.entry(tb.world, tb.key, tb.original)));
+		WRITES.forEachUnrestored(tb -> entries.add(JOURNAL.entry(tb.world, tb.key, tb.original)));
+		DETACHED.values().forEach(chunks -> chunks.forEachValue(entries::addAll));
+		return entries;
+	}
+
+	/**
+	 * @return the amount of block writes that were skipped by the write buffer
+	 */
+	public static long getSavedWrites() {
+		return WRITES.getSavedWrites();
+	}
+
+	/**
+	 * @return the amount of reverts that were written by the write buffer
+	 */
+	public static long getFlushedWrites() {
+		return WRITES.getFlushedWrites();
 	}
 
 	public static void clearAir() {
 		TEMP_AIR.clear();
 	}
+
+	// Expired entries are dropped lazily
+	private static long getRemainingAirTime(Block block) {
+		Long expiration = TEMP_AIR.get(block);
+		if (expiration == null) return 0;
+		long remaining = expiration - System.currentTimeMillis();
+		if (remaining <= 0) TEMP_AIR.remove(block);
+		return remaining;
+	}
+
+	// Also keeps the amount of temporary blocks in each chunk
+	private static final class BlockStore implements TemporalManager.Store<Block, TempBlock> {
+		private final BlockMap<TempBlock> map = new BlockMap<>();
+		private final Map<UUID, Long2ObjectMap<int[]>> chunks = new ConcurrentHashMap<>();
+
+		@Override
+		public @Nullable TempBlock get(@NonNull Block key) {
+			return map.get(key);
+		}
+
+		@Override
+		public @Nullable TempBlock put(@NonNull Block key, @NonNull TempBlock value) {
+			TempBlock previous = map.put(key, value);
+			if (previous == null) {
+				long chunkKey = chunkKey(key);
+				Long2ObjectMap<int[]> counts = chunks.computeIfAbsent(key.getWorld().getUID(), k -> new Long2ObjectMap<>());
+				int[] count = counts.get(chunkKey);
+				if (count == null) {
+					count = new int[1];
+					counts.put(chunkKey, count);
+				}
+				count[0]++;
+			}
+			return previous;
+		}
+
+		@Override
+		public @Nullable TempBlock remove(@NonNull Block key) {
+			TempBlock removed = map.remove(key);
+			if (removed != null) {
+				Long2ObjectMap<int[]> counts = chunks.get(key.getWorld().getUID());
+				long chunkKey = chunkKey(key);
+				int[] count = counts == null ? null : counts.get(chunkKey);
+				if (count != null && --count[0] <= 0) counts.remove(chunkKey);
+			}
+			return removed;
+		}
+
+		private List<TempBlock> values(World world) {
+			Long2ObjectMap<TempBlock> blocks = map.getWorld(world);
+			return blocks == null ? new ArrayList<>() : blocks.values();
+		}
+
+		private int getChunkCount(World world, int chunkX, int chunkZ) {
+			Long2ObjectMap<int[]> counts = chunks.get(world.getUID());
+			if (counts == null) return 0;
+			int[] count = counts.get(BlockKey.pack(chunkX, 0, chunkZ));
+			return count == null ? 0 : count[0];
+		}
+
+		private static long chunkKey(Block block) {
+			return BlockKey.pack(block.getX() >> 4, 0, block.getZ() >> 4);
+		}
+
+		@Override
+		public @NonNull List<TempBlock> values() {
+			return map.values();
+		}
+
+		@Override
+		public void clear() {
+			map.clear();
+			chunks.clear();
+		}
+	}
 }
@@ -0,0 +1,389 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.game.temporal;
+
+import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+import me.moros.bending.Bending;
+import me.moros.bending.util.Tasker;
+import me.moros.bending.util.collection.Long2ObjectMap;
+import org.bukkit.World;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Append-only journal of the original states of temporary blocks, so they can be restored after a crash.
+ * Records are written to a memory mapped file which survives the process being killed, the mapping is forced to disk
+ * in batches off the main thread. Each record is keyed by world and packed block position, replaying the journal in order
+ * yields the originals that were never restored. Compaction rewrites the live entries into the other of two alternating
+ * files off the main thread and the file with the highest valid generation is the one that gets replayed.
+ * <p> Note: Apart from forcing and compaction, this must only be used on the main thread.
+ */
+final class TempBlockJournal {
+	private static final int MAGIC = 0x424A4E4C;
+	private static final int HEADER_SIZE = 12; // magic + generation
+	private static final int RECORD_SIZE = 25; // type + world + key
+	private static final byte END = 0;
+	private static final byte PUT = 1;
+	private static final byte REMOVE = 2;
+
+	private static final int INITIAL_CAPACITY = 1 << 20;
+	private static final int SYNC_INTERVAL = 20; // ticks
+	private static final int COMPACT_THRESHOLD = 1 << 14; // records
+
+	private final Path[] files = new Path[2];
+	private byte[][] encoded = new byte[64][];
+	private FileChannel channel;
+	private MappedByteBuffer buffer;
+	private int active;
+	private long generation;
+	private int live;
+	private int records;
+	private int epoch;
+	private int ticks;
+	private boolean dirty;
+	private boolean compacting;
+
+	/**
+	 * Open the journal in the given directory and replay it.
+	 * The journal is reset afterwards, so the caller is responsible for restoring or re-adding the returned entries.
+	 * @param directory the directory to store the journal files in
+	 * @return the entries that were left behind by the previous session
+	 */
+	@NonNull List<Entry> open(@NonNull Path directory) {
+		files[0] = directory.resolve("blocks-0.journal");
+		files[1] = directory.resolve("blocks-1.journal");
+		try {
+			Files.createDirectories(directory);
+			long first = readGeneration(files[0]);
+			long second = readGeneration(files[1]);
+			active = second > first ? 1 : 0;
+			generation = Math.max(0, Math.max(first, second));
+			map(files[active]);
+			List<Entry> entries = buffer.getInt(0) == MAGIC ? replay() : Collections.emptyList();
+			buffer.putInt(0, MAGIC).putLong(4, generation);
+			reset();
+			return entries;
+		} catch (IOException e) {
+			Bending.getLog().warn("Could not open block journal: " + e.getMessage());
+			close();
+			return Collections.emptyList();
+		}
+	}
+
+	/**
+	 * Journal the original state of a block that was not temporary before.
+	 */
+	void add(@NonNull World world, long key, int original) {
+		live++;
+		put(world.getUID(), key, encode(original));
+	}
+
+	void add(@NonNull Entry entry) {
+		live++;
+		put(entry.world, entry.key, entry.data);
+	}
+
+	/**
+	 * Overwrite the journaled original state of a block that is already temporary.
+	 */
+	void update(@NonNull World world, long key, int original) {
+		put(world.getUID(), key, encode(original));
+	}
+
+	/**
+	 * Mark the original state of a block as restored. Once nothing is live the journal is reset instead.
+	 */
+	void remove(@NonNull World world, long key) {
+		if (buffer == null) return;
+		if (live > 0) live--;
+		if (live == 0 && !compacting) {
+			reset();
+			return;
+		}
+		if (!ensureCapacity(RECORD_SIZE + 1)) return;
+		int pos = buffer.position();
+		UUID uid = world.getUID();
+		buffer.position(pos + 1);
+		buffer.putLong(uid.getMostSignificantBits()).putLong(uid.getLeastSignificantBits()).putLong(key);
+		commit(pos, REMOVE);
+	}
+
+	/**
+	 * Discard the journal and write the given live entries, used when reverting everything in bulk.
+	 * @param entries the entries that are still live
+	 */
+	void rewrite(@NonNull List<Entry> entries) {
+		if (buffer == null) return;
+		reset();
+		entries.forEach(this::add);
+	}
+
+	/**
+	 * Called at the end of every tick to force pending records in batches and compact the journal when needed.
+	 * @param snapshot supplies the live entries if compaction is needed
+	 */
+	void tick(@NonNull Supplier<List<Entry>> snapshot) {
+		if (buffer == null) return;
+		if (dirty && ++ticks >= SYNC_INTERVAL) {
+			ticks = 0;
+			dirty = false;
+			MappedByteBuffer mapped = buffer;
+			Tasker.newChain().async(mapped::force).execute();
+		}
+		if (!compacting && records > COMPACT_THRESHOLD && records > 4 * live) {
+			compact(snapshot.get());
+		}
+	}
+
+	/**
+	 * @return a journal entry for the given original state, used to snapshot live entries for compaction
+	 */
+	@NonNull Entry entry(@NonNull World world, long key, int original) {
+		return new Entry(world.getUID(), key, encode(original));
+	}
+
+	void close() {
+		epoch++;
+		try {
+			if (buffer != null) buffer.force();
+			if (channel != null) channel.close();
+		} catch (IOException e) {
+			Bending.getLog().warn("Could not close block journal: " + e.getMessage());
+		}
+		buffer = null;
+		channel = null;
+	}
+
+	private void put(UUID world, long key, byte[] data) {
+		if (buffer == null || !ensureCapacity(RECORD_SIZE + 3 + data.length)) return;
+		int pos = buffer.position();
+		buffer.position(pos + 1);
+		buffer.putLong(world.getMostSignificantBits()).putLong(world.getLeastSignificantBits()).putLong(key);
+		buffer.putShort((short) data.length).put(data);
+		commit(pos, PUT);
+	}
+
+	// The type is written last so a record that was only partially written is never replayed
+	private void commit(int pos, byte type) {
+		buffer.put(buffer.position(), END);
+		buffer.put(pos, type);
+		records++;
+		dirty = true;
+	}
+
+	private void reset() {
+		buffer.put(HEADER_SIZE, END);
+		buffer.position(HEADER_SIZE);
+		records = 0;
+		live = 0;
+		dirty = true;
+		epoch++;
+	}
+
+	private byte[] encode(int id) {
+		if (id >= encoded.length) encoded = Arrays.copyOf(encoded, Math.max(2 * encoded.length, id + 1));
+		byte[] data = encoded[id];
+		if (data == null) {
+			data = BlockDataPalette.get(id).getAsString().getBytes(StandardCharsets.UTF_8);
+			encoded[id] = data;
+		}
+		return data;
+	}
+
+	private boolean ensureCapacity(int size) {
+		if (buffer.remaining() >= size) return true;
+		int pos = buffer.position();
+		long capacity = Math.max(2L * buffer.capacity(), (long) pos + size);
+		if (capacity > Integer.MAX_VALUE) return false;
+		try {
+			buffer = channel.map(MapMode.READ_WRITE, 0, capacity);
+			buffer.position(pos);
+			return true;
+		} catch (IOException e) {
+			Bending.getLog().warn("Could not grow block journal: " + e.getMessage());
+			close();
+			return false;
+		}
+	}
+
+	private void map(Path path) throws IOException {
+		if (channel != null) channel.close();
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		buffer = channel.map(MapMode.READ_WRITE, 0, Math.max(INITIAL_CAPACITY, channel.size()));
+	}
+
+	private List<Entry> replay() {
+		Map<UUID, Long2ObjectMap<Entry>> worlds = new HashMap<>();
+		int capacity = buffer.capacity();
+		int pos = HEADER_SIZE;
+		while (pos + RECORD_SIZE <= capacity) {
+			byte type = buffer.get(pos);
+			if (type != PUT && type != REMOVE) break;
+			UUID world = new UUID(buffer.getLong(pos + 1), buffer.getLong(pos + 9));
+			long key = buffer.getLong(pos + 17);
+			pos += RECORD_SIZE;
+			if (type == REMOVE) {
+				Long2ObjectMap<Entry> entries = worlds.get(world);
+				if (entries != null) entries.remove(key);
+				continue;
+			}
+			if (pos + 2 > capacity) break;
+			int length = buffer.getShort(pos) & 0xFFFF;
+			pos += 2;
+			if (pos + length > capacity) break;
+			byte[] data = new byte[length];
+			for (int i = 0; i < length; i++) {
+				data[i] = buffer.get(pos + i);
+			}
+			pos += length;
+			worlds.computeIfAbsent(world, w -> new Long2ObjectMap<>()).put(key, new Entry(world, key, data));
+		}
+		List<Entry> result = new ArrayList<>();
+		worlds.values().forEach(entries -> result.addAll(entries.values()));
+		return result;
+	}
+
+	private void compact(List<Entry> entries) {
+		compacting = true;
+		int target = 1 - active;
+		long nextGeneration = generation + 1;
+		int mark = buffer.position();
+		int markRecords = records;
+		int markEpoch = epoch;
+		Path path = files[target];
+		Tasker.newChain()
+			.asyncFirst(() -> writeEntries(path, entries))
+			.syncLast(end -> {
+				compacting = false;
+				if (end < 0 || buffer == null || markEpoch != epoch) return;
+				swap(target, nextGeneration, end, mark, entries.size() + records - markRecords);
+			})
+			.execute();
+	}
+
+	// Runs off the main thread, the header is only written once the tail is appended in swap
+	private static long writeEntries(Path path, List<Entry> entries) {
+		try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			out.position(HEADER_SIZE);
+			ByteBuffer buf = ByteBuffer.allocate(1 << 16);
+			for (Entry entry : entries) {
+				if (buf.remaining() < RECORD_SIZE + 2 + entry.data.length) {
+					buf.flip();
+					while (buf.hasRemaining()) out.write(buf);
+					buf.clear();
+				}
+				buf.put(PUT).putLong(entry.world.getMostSignificantBits()).putLong(entry.world.getLeastSignificantBits());
+				buf.putLong(entry.key).putShort((short) entry.data.length).put(entry.data);
+			}
+			buf.flip();
+			while (buf.hasRemaining()) out.write(buf);
+			out.force(false);
+			return out.position();
+		} catch (IOException e) {
+			Bending.getLog().warn("Could not compact block journal: " + e.getMessage());
+			return -1;
+		}
+	}
+
+	// Appends records written since compaction started and then activates the new generation
+	private void swap(int target, long nextGeneration, long end, int mark, int newRecords) {
+		ByteBuffer tail = buffer.duplicate();
+		tail.limit(buffer.position());
+		tail.position(mark);
+		long position = end + tail.remaining();
+		try (FileChannel out = FileChannel.open(files[target], StandardOpenOption.WRITE)) {
+			out.position(end);
+			while (tail.hasRemaining()) out.write(tail);
+			out.write(ByteBuffer.wrap(new byte[]{END}));
+			out.force(false);
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			header.putInt(MAGIC).putLong(nextGeneration).flip();
+			out.write(header, 0);
+			out.force(false);
+		} catch (IOException e) {
+			Bending.getLog().warn("Could not compact block journal: " + e.getMessage());
+			return;
+		}
+		try {
+			map(files[target]);
+			buffer.position((int) position);
+			active = target;
+			generation = nextGeneration;
+			records = newRecords;
+		} catch (IOException e) {
+			Bending.getLog().warn("Could not open compacted block journal: " + e.getMessage());
+			close();
+		}
+	}
+
+	private static long readGeneration(Path path) {
+		if (!Files.exists(path)) return -1;
+		try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			if (in.read(header) < HEADER_SIZE || header.getInt(0) != MAGIC) return -1;
+			return header.getLong(4);
+		} catch (IOException e) {
+			return -1;
+		}
+	}
+
+	static final class Entry {
+		private final UUID world;
+		private final long key;
+		private final byte[] data;
+
+		Entry(@NonNull UUID world, long key, byte @NonNull [] data) {
+			this.world = world;
+			this.key = key;
+			this.data = data;
+		}
+
+		@NonNull UUID getWorld() {
+			return world;
+		}
+
+		long getKey() {
+			return key;
+		}
+
+		/**
+		 * @return the original block data in its string form
+		 */
+		@NonNull String getData() {
+			return new String(data, StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -57,14 +57,14 @@ public class BlockListener implements Listener {
 
 	@EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
 	public void onBlockIgnite(BlockIgniteEvent event) {
-		if (TempBlock.MANAGER.isTemp(event.getIgnitingBlock())) {
+		if (TempBlock.isTemp(event.getIgnitingBlock())) {
 			event.setCancelled(true);
 		}
 	}
 
 	@EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
 	public void onBlockSpread(BlockSpreadEvent event) {
-		if (TempBlock.MANAGER.isTemp(event.getSource())) {
+		if (TempBlock.isTemp(event.getSource())) {
 			event.setCancelled(true);
 		}
 	}
@@ -73,14 +73,14 @@ public class BlockListener implements Listener {
 	public void onBlockFade(BlockFadeEvent event) {
 		Block block = event.getBlock();
 		if (block.getType() == Material.FIRE) return;
-		if (TempBlock.MANAGER.isTemp(block)) {
+		if (TempBlock.isTemp(block)) {
 			event.setCancelled(true);
 		}
 	}
 
 	@EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
 	public void onBlockBurn(BlockBurnEvent event) {
-		if (TempBlock.MANAGER.isTemp(event.getIgnitingBlock())) {
+		if (TempBlock.isTemp(event.getIgnitingBlock())) {
 			event.setCancelled(true);
 		}
 	}
@@ -96,7 +96,7 @@ public class BlockListener implements Listener {
 
 	@EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
 	public void onBlockBreak(BlockBreakEvent event) {
-		if (TempBlock.MANAGER.isTemp(event.getBlock())) {
+		if (TempBlock.isTemp(event.getBlock())) {
 			event.setDropItems(false);
 		} else if (WaterMaterials.isPlantBendable(event.getBlock())) {
 			BendingPlayer player = game.getPlayerManager().getPlayer(event.getPlayer().getUniqueId());
@@ -111,14 +111,14 @@ public class BlockListener implements Listener {
 
 	@EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
 	public void onBlockForm(BlockFormEvent event) {
-		if (TempBlock.MANAGER.isTemp(event.getBlock())) {
+		if (TempBlock.isTemp(event.getBlock())) {
 			event.setCancelled(true);
 		}
 	}
 
 	@EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
 	public void onBlockFromTo(BlockFromToEvent event) {
-		if (TempBlock.MANAGER.isTemp(event.getBlock()) || TempBlock.MANAGER.isTemp(event.getToBlock())) {
+		if (TempBlock.isTemp(event.getBlock()) || TempBlock.isTemp(event.getToBlock())) {
 			event.setCancelled(true);
 		}
 	}
@@ -146,11 +146,11 @@ public class BlockListener implements Listener {
 
 	@EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
 	public void onBlockPistonExtendEvent(BlockPistonExtendEvent event) {
-		if (event.getBlocks().stream().anyMatch(TempBlock.MANAGER::isTemp)) event.setCancelled(true);
+		if (event.getBlocks().stream().anyMatch(TempBlock::isTemp)) event.setCancelled(true);
 	}
 
 	@EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
 	public void onBlockPistonRetractEvent(BlockPistonRetractEvent event) {
-		if (event.getBlocks().stream().anyMatch(TempBlock.MANAGER::isTemp)) event.setCancelled(true);
+		if (event.getBlocks().stream().anyMatch(TempBlock::isTemp)) event.setCancelled(true);
 	}
 }
@@ -26,6 +26,7 @@ import me.moros.bending.game.temporal.TempBlock;
 import me.moros.bending.model.ability.util.ActionType;
 import me.moros.bending.util.Metadata;
 import me.moros.bending.util.MovementHandler;
+import me.moros.bending.util.collision.EntityGrid;
 import org.bukkit.entity.Arrow;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.event.EventHandler;
@@ -37,6 +38,7 @@ import org.bukkit.event.entity.EntityExplodeEvent;
 import org.bukkit.event.entity.EntityInteractEvent;
 import org.bukkit.event.entity.EntityPickupItemEvent;
 import org.bukkit.event.entity.EntityShootBowEvent;
+import org.bukkit.event.entity.EntitySpawnEvent;
 import org.bukkit.event.entity.EntityTargetEvent;
 import org.bukkit.event.entity.EntityTargetLivingEntityEvent;
 import org.bukkit.event.entity.ItemMergeEvent;
@@ -68,6 +70,12 @@ public class EntityListener implements Listener {
 		}
 	}
 
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onEntitySpawn(EntitySpawnEvent event) {
+		EntityGrid grid = game.getEntityGrid(event.getEntity().getWorld());
+		if (grid != null) grid.add(event.getEntity());
+	}
+
 	@EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
 	public void onEntityExplodeEvent(EntityExplodeEvent event) {
 		if (MovementHandler.isRestricted(event.getEntity())) event.setCancelled(true);
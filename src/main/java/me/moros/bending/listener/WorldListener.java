@@ -21,9 +21,12 @@ package me.moros.bending.listener;
 
 import me.moros.atlas.cf.checker.nullness.qual.NonNull;
 import me.moros.bending.game.Game;
+import me.moros.bending.game.temporal.TempBlock;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.WorldLoadEvent;
 import org.bukkit.event.world.WorldUnloadEvent;
 
 public class WorldListener implements Listener {
@@ -33,8 +36,19 @@ public class WorldListener implements Listener {
 		this.game = game;
 	}
 
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onChunkLoad(ChunkLoadEvent event) {
+		TempBlock.onChunkLoad(event.getChunk());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onWorldLoad(WorldLoadEvent event) {
+		TempBlock.onWorldLoad(event.getWorld());
+	}
+
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
 	public void onWorldUnload(WorldUnloadEvent event) {
 		game.clearWorld(event.getWorld());
+		TempBlock.onWorldUnload(event.getWorld());
 	}
 }
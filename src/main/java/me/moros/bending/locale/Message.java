@@ -68,6 +68,20 @@ public interface Message {
 
 	Args0 CONFIG_RELOAD = () -> translatable("bending.command.config-reload", GREEN);
 
+	Args0 PROFILE_HEADER = () -> brand(translatable("bending.command.profile.header", DARK_AQUA));
+	Args1<String> PROFILE_BUDGET = budget -> translatable("bending.command.profile.budget", DARK_AQUA)
+		.args(text(budget, GREEN));
+	Args0 PROFILE_BUDGET_DISABLED = () -> translatable("bending.command.profile.budget-disabled", DARK_AQUA);
+	Args2<String, String> PROFILE_TICK_TIME = (average, peak) -> translatable("bending.command.profile.tick-time", DARK_AQUA)
+		.args(text(average, GREEN), text(peak, GREEN));
+	Args2<Long, Long> PROFILE_OVERRUNS = (overruns, ticks) -> translatable("bending.command.profile.overruns", DARK_AQUA)
+		.args(text(overruns, GREEN), text(ticks, GREEN));
+	Args2<String, Long> PROFILE_DEFERRED = (priority, amount) -> translatable("bending.command.profile.deferred", DARK_AQUA)
+		.args(text(priority, GREEN), text(amount, GREEN));
+	Args2<String, String> PROFILE_WORLD = (world, cost) -> translatable("bending.command.profile.world", DARK_AQUA)
+		.args(text(world, GREEN), text(cost, GREEN));
+	Args0 PROFILE_RESET = () -> translatable("bending.command.profile.reset", GREEN);
+
 	Args1<Component> ELEMENT_CHOOSE_NO_PERMISSION = element -> translatable("bending.command.element.choose-no-permission", RED)
 		.args(element);
 	Args1<Component> ELEMENT_CHOOSE_SUCCESS = element -> translatable("bending.command.element.choose-success", GREEN)
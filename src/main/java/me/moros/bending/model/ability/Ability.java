@@ -22,6 +22,7 @@ package me.moros.bending.model.ability;
 import me.moros.atlas.cf.checker.nullness.qual.NonNull;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.ability.util.ActivationMethod;
+import me.moros.bending.model.ability.util.UpdatePriority;
 import me.moros.bending.model.collision.Collider;
 import me.moros.bending.model.collision.Collision;
 import me.moros.bending.model.user.User;
@@ -46,9 +47,21 @@ public interface Ability extends Updatable {
 		return Collections.emptyList();
 	}
 
+	/**
+	 * Called once for every pair of intersecting colliders between this and another ability with a registered collision.
+	 * An ability that was removed by a collision receives no further callbacks in the same tick.
+	 * @param collision the collision data, it can be modified to change which abilities get removed
+	 */
 	default void onCollision(@NonNull Collision collision) {
 	}
 
 	default void onDestroy() {
 	}
+
+	/**
+	 * @return the priority class used to decide which abilities get deferred when a tick runs over its time budget
+	 */
+	default @NonNull UpdatePriority getUpdatePriority() {
+		return getDescription().isActivatedBy(ActivationMethod.PASSIVE) ? UpdatePriority.PASSIVE : UpdatePriority.COMBAT;
+	}
 }
@@ -0,0 +1,31 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.ability;
+
+/**
+ * Optional first phase of the ability update lifecycle.
+ * {@link #compute()} is called by the AbilityManager right before {@link Updatable#update()}, possibly in parallel with
+ * other abilities on a ForkJoin pool. Implementations should precompute pure geometry from their current state and
+ * let update() apply it on the main thread, falling back to computing inline if the state changed in between.
+ * <p> Note: compute() must not modify shared state or call any Bukkit API.
+ */
+public interface Computable {
+	void compute();
+}
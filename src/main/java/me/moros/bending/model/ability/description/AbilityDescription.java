@@ -36,6 +36,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 /**
@@ -43,8 +44,12 @@ import java.util.function.Function;
  * Assume that all collections returning AbilityDescription are also immutable
  */
 public class AbilityDescription {
+	private static final AtomicInteger idCounter = new AtomicInteger();
+
+	private final int id;
 	private final String name;
 	private final Function<AbilityDescription, ? extends Ability> constructor;
+	private final Class<? extends Ability> type;
 	private final Element element;
 	private final EnumSet<ActivationMethod> activationMethods;
 	private final TranslatableComponent description;
@@ -57,6 +62,7 @@ public class AbilityDescription {
 	private final int hashcode;
 
 	private AbilityDescription(AbilityDescriptionBuilder builder) {
+		id = idCounter.getAndIncrement();
 		name = builder.name;
 		constructor = builder.constructor;
 		element = builder.element;
@@ -72,13 +78,29 @@ public class AbilityDescription {
 		harmless = builder.harmless;
 		sourcesPlants = builder.sourcesPlants;
 		hashcode = Objects.hash(name, constructor, element, activationMethods, hidden, canBind, harmless, sourcesPlants);
-		createAbility(); // Init config values
+		type = createAbility().getClass(); // Init config values
+	}
+
+	/**
+	 * Each description is assigned a sequential id when it's built. Ids are only meant for dense runtime lookup tables
+	 * and are not stable across restarts so they should never be persisted.
+	 * @return the runtime id of this description
+	 */
+	public int getId() {
+		return id;
 	}
 
 	public @NonNull String getName() {
 		return name;
 	}
 
+	/**
+	 * @return the class of the abilities created by this description
+	 */
+	public @NonNull Class<? extends Ability> getType() {
+		return type;
+	}
+
 	public @NonNull Component getDisplayName() {
 		return Component.text(name, element.getColor());
 	}
@@ -0,0 +1,35 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.ability.util;
+
+/**
+ * Priority classes used when the ability update tick runs over its time budget.
+ * Abilities are updated in declaration order, so lower priorities are the first to be deferred.
+ */
+public enum UpdatePriority {
+	COMBAT,
+	PASSIVE,
+	/**
+	 * Abilities that currently only render effects, such as a selected source that hasn't been launched yet.
+	 */
+	COSMETIC;
+
+	public static final UpdatePriority[] VALUES = values();
+}
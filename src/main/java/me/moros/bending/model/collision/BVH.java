@@ -0,0 +1,266 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.collision;
+
+import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+import me.moros.bending.model.collision.geometry.AABB;
+import me.moros.bending.model.math.Vector3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * A bounding volume hierarchy used as a broadphase for collision detection.
+ * The tree is meant to be rebuilt every tick: {@link #clear()}, {@link #add(Object, AABB)} every volume and then {@link #build()}.
+ * Internal buffers are reused between builds to avoid reallocating them every tick.
+ * <p> Note: This is not thread-safe.
+ * @param <T> the type of the values stored in the leaves
+ */
+public final class BVH<T> {
+	private static final int LEAF_SIZE = 4;
+
+	private final List<T> values;
+
+	// Leaf volumes, 6 entries per value (minX, minY, minZ, maxX, maxY, maxZ)
+	private double[] volumes;
+	private int[] order;
+
+	// Node volumes, 6 entries per node
+	private double[] nodeVolumes;
+	// For leaves: index of the first value in order. For internal nodes: index of the left child (right child is left + 1)
+	private int[] nodeStart;
+	// Amount of values in a leaf node, 0 for internal nodes
+	private int[] nodeCount;
+	private int nodes;
+
+	private int[] stack;
+	private final double[] centroidMin = new double[3];
+	private final double[] centroidMax = new double[3];
+	private boolean built;
+
+	public BVH() {
+		this(64);
+	}
+
+	public BVH(int expectedSize) {
+		int size = Math.max(1, expectedSize);
+		values = new ArrayList<>(size);
+		volumes = new double[6 * size];
+		order = new int[size];
+		allocateNodes(2 * size);
+		stack = new int[64];
+	}
+
+	/**
+	 * Adds a new volume. The tree needs to be rebuilt for changes to be visible to queries.
+	 * @param value the value to associate with the volume
+	 * @param box the bounding box for the value
+	 */
+	public void add(@NonNull T value, @NonNull AABB box) {
+		Vector3 min = box.min();
+		Vector3 max = box.max();
+		add(value, min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ());
+	}
+
+	public void add(@NonNull T value, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+		int index = values.size();
+		if (6 * (index + 1) > volumes.length) {
+			volumes = Arrays.copyOf(volumes, volumes.length * 2);
+			order = Arrays.copyOf(order, order.length * 2);
+		}
+		int offset = 6 * index;
+		volumes[offset] = minX;
+		volumes[offset + 1] = minY;
+		volumes[offset + 2] = minZ;
+		volumes[offset + 3] = maxX;
+		volumes[offset + 4] = maxY;
+		volumes[offset + 5] = maxZ;
+		values.add(value);
+		built = false;
+	}
+
+	public int size() {
+		return values.size();
+	}
+
+	public void clear() {
+		values.clear();
+		nodes = 0;
+		built = false;
+	}
+
+	/**
+	 * Builds the hierarchy top-down by splitting on the longest axis of the centroid bounds.
+	 */
+	public void build() {
+		int size = values.size();
+		nodes = 0;
+		built = true;
+		if (size == 0) return;
+		if (2 * size > nodeStart.length) allocateNodes(2 * size);
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		buildNode(newNode(), 0, size, 0);
+	}
+
+	private int buildNode(int node, int start, int end, int depth) {
+		computeBounds(node, start, end);
+		int count = end - start;
+		if (count <= LEAF_SIZE) {
+			nodeStart[node] = start;
+			nodeCount[node] = count;
+			return depth;
+		}
+		// Find the longest axis of the centroid bounds
+		double[] cMin = centroidMin;
+		double[] cMax = centroidMax;
+		Arrays.fill(cMin, Double.MAX_VALUE);
+		Arrays.fill(cMax, -Double.MAX_VALUE);
+		for (int i = start; i < end; i++) {
+			int offset = 6 * order[i];
+			for (int axis = 0; axis < 3; axis++) {
+				double c = volumes[offset + axis] + volumes[offset + axis + 3];
+				if (c < cMin[axis]) cMin[axis] = c;
+				if (c > cMax[axis]) cMax[axis] = c;
+			}
+		}
+		int axis = 0;
+		for (int i = 1; i < 3; i++) {
+			if (cMax[i] - cMin[i] > cMax[axis] - cMin[axis]) axis = i;
+		}
+		double split = (cMin[axis] + cMax[axis]) * 0.5;
+		// Partition around the spatial median, fall back to object median if every centroid ends up on the same side
+		int mid = start;
+		for (int i = start; i < end; i++) {
+			int offset = 6 * order[i];
+			if (volumes[offset + axis] + volumes[offset + axis + 3] < split) {
+				int temp = order[i];
+				order[i] = order[mid];
+				order[mid++] = temp;
+			}
+		}
+		if (mid == start || mid == end) mid = start + count / 2;
+
+		int left = newNode();
+		newNode();
+		nodeStart[node] = left;
+		nodeCount[node] = 0;
+		int leftDepth = buildNode(left, start, mid, depth + 1);
+		int rightDepth = buildNode(left + 1, mid, end, depth + 1);
+		int maxDepth = Math.max(leftDepth, rightDepth);
+		if (maxDepth + 2 > stack.length) stack = new int[2 * (maxDepth + 2)];
+		return maxDepth;
+	}
+
+	private void computeBounds(int node, int start, int end) {
+		int n = 6 * node;
+		nodeVolumes[n] = nodeVolumes[n + 1] = nodeVolumes[n + 2] = Double.MAX_VALUE;
+		nodeVolumes[n + 3] = nodeVolumes[n + 4] = nodeVolumes[n + 5] = -Double.MAX_VALUE;
+		for (int i = start; i < end; i++) {
+			int offset = 6 * order[i];
+			for (int axis = 0; axis < 3; axis++) {
+				nodeVolumes[n + axis] = Math.min(nodeVolumes[n + axis], volumes[offset + axis]);
+				nodeVolumes[n + axis + 3] = Math.max(nodeVolumes[n + axis + 3], volumes[offset + axis + 3]);
+			}
+		}
+	}
+
+	private int newNode() {
+		return nodes++;
+	}
+
+	private void allocateNodes(int capacity) {
+		nodeVolumes = new double[6 * capacity];
+		nodeStart = new int[capacity];
+		nodeCount = new int[capacity];
+	}
+
+	/**
+	 * Visits every value whose volume overlaps the given box.
+	 * @param box the box to check
+	 * @param consumer the consumer to accept overlapping values
+	 */
+	public void query(@NonNull AABB box, @NonNull Consumer<T> consumer) {
+		Vector3 min = box.min();
+		Vector3 max = box.max();
+		query(min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ(), -1, i -> consumer.accept(values.get(i)));
+	}
+
+	/**
+	 * Visits every unordered pair of values with overlapping volumes exactly once.
+	 * Values are passed in insertion order, so the first argument was always added before the second one.
+	 * @param consumer the consumer to accept overlapping pairs
+	 */
+	public void forEachOverlappingPair(@NonNull BiConsumer<T, T> consumer) {
+		if (!built) build();
+		int size = values.size();
+		for (int i = 0; i < size; i++) {
+			int offset = 6 * i;
+			T first = values.get(i);
+			query(volumes[offset], volumes[offset + 1], volumes[offset + 2],
+				volumes[offset + 3], volumes[offset + 4], volumes[offset + 5], i,
+				j -> consumer.accept(first, values.get(j)));
+		}
+	}
+
+	// Only reports values with an index greater than the provided one
+	private void query(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, int after, IndexConsumer consumer) {
+		if (!built) build();
+		if (nodes == 0) return;
+		int top = 0;
+		stack[top++] = 0;
+		while (top > 0) {
+			int node = stack[--top];
+			int n = 6 * node;
+			if (nodeVolumes[n] > maxX || nodeVolumes[n + 3] < minX ||
+				nodeVolumes[n + 1] > maxY || nodeVolumes[n + 4] < minY ||
+				nodeVolumes[n + 2] > maxZ || nodeVolumes[n + 5] < minZ) {
+				continue;
+			}
+			int count = nodeCount[node];
+			if (count == 0) {
+				stack[top++] = nodeStart[node];
+				stack[top++] = nodeStart[node] + 1;
+				continue;
+			}
+			int start = nodeStart[node];
+			for (int i = start; i < start + count; i++) {
+				int index = order[i];
+				if (index <= after) continue;
+				int offset = 6 * index;
+				if (volumes[offset] > maxX || volumes[offset + 3] < minX ||
+					volumes[offset + 1] > maxY || volumes[offset + 4] < minY ||
+					volumes[offset + 2] > maxZ || volumes[offset + 5] < minZ) {
+					continue;
+				}
+				consumer.accept(index);
+			}
+		}
+	}
+
+	@FunctionalInterface
+	private interface IndexConsumer {
+		void accept(int index);
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.collision;
+
+import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+import me.moros.bending.model.collision.geometry.AABB;
+import me.moros.bending.model.math.Vector3;
+import me.moros.bending.util.collision.AABBUtils;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A collection of colliders that caches their bounding boxes along with a merged box that contains all of them.
+ * Abilities can keep a ColliderSet and return it from {@link me.moros.bending.model.ability.Ability#getColliders()},
+ * so bounds are only recomputed after the set is modified.
+ * The set can only be modified through {@link #add(Collider)}, {@link #set(Collider)} and {@link #clear()}.
+ * <p> Note: This is not thread-safe.
+ */
+public final class ColliderSet extends AbstractCollection<Collider> {
+	private final List<Collider> colliders;
+	private final List<Collider> view;
+	private final List<AABB> bounds;
+	private AABB mergedBounds;
+	private boolean dirty = true;
+	private int version;
+
+	public ColliderSet() {
+		this(8);
+	}
+
+	public ColliderSet(int expectedSize) {
+		colliders = new ArrayList<>(expectedSize);
+		view = Collections.unmodifiableList(colliders);
+		bounds = new ArrayList<>(expectedSize);
+	}
+
+	/**
+	 * Creates a new set with the same colliders as the given collection.
+	 * @param colliders the colliders to copy
+	 * @return the new set
+	 */
+	public static @NonNull ColliderSet copyOf(@NonNull Collection<@NonNull Collider> colliders) {
+		ColliderSet set = new ColliderSet(colliders.size());
+		set.colliders.addAll(colliders);
+		return set;
+	}
+
+	@Override
+	public boolean add(@NonNull Collider collider) {
+		colliders.add(collider);
+		markDirty();
+		return true;
+	}
+
+	/**
+	 * Replaces all colliders with the given one.
+	 * @param collider the new collider
+	 */
+	public void set(@NonNull Collider collider) {
+		colliders.clear();
+		add(collider);
+	}
+
+	@Override
+	public void clear() {
+		if (colliders.isEmpty()) return;
+		colliders.clear();
+		markDirty();
+	}
+
+	private void markDirty() {
+		dirty = true;
+		version++;
+	}
+
+	/**
+	 * @return a counter that changes every time the set is modified
+	 */
+	public int getVersion() {
+		return version;
+	}
+
+	@Override
+	public @NonNull Iterator<Collider> iterator() {
+		return view.iterator();
+	}
+
+	@Override
+	public int size() {
+		return colliders.size();
+	}
+
+	public @NonNull Collider get(int index) {
+		return colliders.get(index);
+	}
+
+	/**
+	 * @param index the index of the collider
+	 * @return the cached bounds of the collider at the given index
+	 * @see AABBUtils#getBounds(Collider)
+	 */
+	public @NonNull AABB getBounds(int index) {
+		refresh();
+		return bounds.get(index);
+	}
+
+	/**
+	 * @return the smallest box containing the bounds of every collider in this set
+	 */
+	public @NonNull AABB getBounds() {
+		refresh();
+		return mergedBounds;
+	}
+
+	private void refresh() {
+		if (!dirty) return;
+		dirty = false;
+		bounds.clear();
+		if (colliders.isEmpty()) {
+			mergedBounds = new AABB(Vector3.ZERO, Vector3.ZERO);
+			return;
+		}
+		double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+		for (Collider collider : colliders) {
+			AABB box = AABBUtils.getBounds(collider);
+			bounds.add(box);
+			Vector3 min = box.min();
+			Vector3 max = box.max();
+			minX = Math.min(minX, min.getX());
+			minY = Math.min(minY, min.getY());
+			minZ = Math.min(minZ, min.getZ());
+			maxX = Math.max(maxX, max.getX());
+			maxY = Math.max(maxY, max.getY());
+			maxZ = Math.max(maxZ, max.getZ());
+		}
+		mergedBounds = new AABB(new Vector3(minX, minY, minZ), new Vector3(maxX, maxY, maxZ));
+	}
+}
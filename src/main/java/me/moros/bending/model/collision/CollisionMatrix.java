@@ -0,0 +1,132 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.collision;
+
+import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+import me.moros.bending.model.ability.description.AbilityDescription;
+
+import java.util.Collection;
+
+/**
+ * A dense lookup table compiled from {@link RegisteredCollision}s and indexed by {@link AbilityDescription#getId()}.
+ * Each cell stores flags from the perspective of the row ability, so looking up a pair in either order gives a
+ * consistent answer. CollisionMatrix is immutable and thread-safe.
+ * @see CollisionBuilder
+ */
+public final class CollisionMatrix {
+	public static final CollisionMatrix EMPTY = new CollisionMatrix(0, new byte[0], new boolean[0]);
+
+	private static final byte COLLIDES = 1;
+	private static final byte REMOVE_SELF = 1 << 1;
+	private static final byte REMOVE_OTHER = 1 << 2;
+
+	private final int size;
+	private final byte[] cells;
+	private final boolean[] collidable;
+
+	private CollisionMatrix(int size, byte[] cells, boolean[] collidable) {
+		this.size = size;
+		this.cells = cells;
+		this.collidable = collidable;
+	}
+
+	/**
+	 * @return the amount of ids covered by this matrix
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param id the ability id to check
+	 * @return true if the ability with the given id takes part in at least one registered collision
+	 */
+	public boolean isCollidable(int id) {
+		return id >= 0 && id < size && collidable[id];
+	}
+
+	public boolean collides(int first, int second) {
+		return (get(first, second) & COLLIDES) != 0;
+	}
+
+	/**
+	 * @return whether the first ability should be removed when colliding with the second one
+	 */
+	public boolean shouldRemoveFirst(int first, int second) {
+		return (get(first, second) & REMOVE_SELF) != 0;
+	}
+
+	/**
+	 * @return whether the second ability should be removed when colliding with the first one
+	 */
+	public boolean shouldRemoveSecond(int first, int second) {
+		return (get(first, second) & REMOVE_OTHER) != 0;
+	}
+
+	private byte get(int first, int second) {
+		if (first < 0 || second < 0 || first >= size || second >= size) return 0;
+		return cells[first * size + second];
+	}
+
+	/**
+	 * Compile the given collisions into a dense matrix.
+	 * @param collisions the collisions to compile, usually the output of {@link CollisionBuilder#build()}
+	 * @return the compiled matrix
+	 */
+	public static @NonNull CollisionMatrix compile(@NonNull Collection<@NonNull RegisteredCollision> collisions) {
+		int[] ids = new int[2 * collisions.size()];
+		boolean[] removals = new boolean[ids.length];
+		int i = 0;
+		for (RegisteredCollision rc : collisions) {
+			ids[i] = rc.getFirst().getId();
+			removals[i++] = rc.shouldRemoveFirst();
+			ids[i] = rc.getSecond().getId();
+			removals[i++] = rc.shouldRemoveSecond();
+		}
+		return compile(ids, removals);
+	}
+
+	// Each collision occupies 2 consecutive slots, a slot holds an ability id and whether that ability gets removed
+	static @NonNull CollisionMatrix compile(int @NonNull [] ids, boolean @NonNull [] removals) {
+		int size = 0;
+		for (int id : ids) {
+			size = Math.max(size, id + 1);
+		}
+		if (size == 0) return EMPTY;
+		byte[] cells = new byte[size * size];
+		boolean[] collidable = new boolean[size];
+		for (int i = 0; i < ids.length; i += 2) {
+			int first = ids[i];
+			int second = ids[i + 1];
+			cells[first * size + second] = flags(removals[i], removals[i + 1]);
+			cells[second * size + first] = flags(removals[i + 1], removals[i]);
+			collidable[first] = true;
+			collidable[second] = true;
+		}
+		return new CollisionMatrix(size, cells, collidable);
+	}
+
+	private static byte flags(boolean removeSelf, boolean removeOther) {
+		byte value = COLLIDES;
+		if (removeSelf) value |= REMOVE_SELF;
+		if (removeOther) value |= REMOVE_OTHER;
+		return value;
+	}
+}
@@ -31,9 +31,19 @@ public class AABB implements Collider {
 	private final Vector3 min;
 	private final Vector3 max;
 
+	// Primitive copies used by the intersection kernels so tests don't allocate
+	private final double minX, minY, minZ;
+	private final double maxX, maxY, maxZ;
+
 	public AABB(@NonNull Vector3 min, @NonNull Vector3 max) {
 		this.min = min;
 		this.max = max;
+		minX = min.getX();
+		minY = min.getY();
+		minZ = min.getZ();
+		maxX = max.getX();
+		maxY = max.getY();
+		maxZ = max.getZ();
 	}
 
 	public @NonNull AABB at(@NonNull Vector3 pos) {
@@ -63,18 +73,16 @@ public class AABB implements Collider {
 	}
 
 	public boolean contains(@NonNull Vector3 test) {
-		return (test.getX() >= min.getX() && test.getX() <= max.getX()) &&
-			(test.getY() >= min.getY() && test.getY() <= max.getY()) &&
-			(test.getZ() >= min.getZ() && test.getZ() <= max.getZ());
+		double x = test.getX();
+		double y = test.getY();
+		double z = test.getZ();
+		return (x >= minX && x <= maxX) && (y >= minY && y <= maxY) && (z >= minZ && z <= maxZ);
 	}
 
 	public boolean intersects(@NonNull AABB other) {
-		return (max.getX() > other.min.getX() &&
-			min.getX() < other.max.getX() &&
-			max.getY() > other.min.getY() &&
-			min.getY() < other.max.getY() &&
-			max.getZ() > other.min.getZ() &&
-			min.getZ() < other.max.getZ());
+		return (maxX > other.minX && minX < other.maxX &&
+			maxY > other.minY && minY < other.maxY &&
+			maxZ > other.minZ && minZ < other.maxZ);
 	}
 
 	public boolean intersects(@NonNull Sphere sphere) {
@@ -82,11 +90,12 @@ public class AABB implements Collider {
 	}
 
 	public boolean intersects(@NonNull Ray ray) {
-		Vector3 t0 = min.subtract(ray.origin).multiply(ray.invDir);
-		Vector3 t1 = max.subtract(ray.origin).multiply(ray.invDir);
-		Vector3 tmin = t0.min(t1);
-		Vector3 tmax = t0.max(t1);
-		return tmin.maxComponent() <= tmax.minComponent();
+		double tx0 = (minX - ray.ox) * ray.ix, tx1 = (maxX - ray.ox) * ray.ix;
+		double ty0 = (minY - ray.oy) * ray.iy, ty1 = (maxY - ray.oy) * ray.iy;
+		double tz0 = (minZ - ray.oz) * ray.iz, tz1 = (maxZ - ray.oz) * ray.iz;
+		double tmin = FastMath.max(FastMath.max(FastMath.min(tx0, tx1), FastMath.min(ty0, ty1)), FastMath.min(tz0, tz1));
+		double tmax = FastMath.min(FastMath.min(FastMath.max(tx0, tx1), FastMath.max(ty0, ty1)), FastMath.max(tz0, tz1));
+		return tmin <= tmax;
 	}
 
 	@Override
@@ -111,8 +120,7 @@ public class AABB implements Collider {
 
 	@Override
 	public @NonNull Vector3 getHalfExtents() {
-		Vector3 half = max.subtract(min).scalarMultiply(0.5);
-		return new Vector3(FastMath.abs(half.getX()), FastMath.abs(half.getY()), FastMath.abs(half.getZ()));
+		return new Vector3(FastMath.abs(maxX - minX) * 0.5, FastMath.abs(maxY - minY) * 0.5, FastMath.abs(maxZ - minZ) * 0.5);
 	}
 
 	@Override
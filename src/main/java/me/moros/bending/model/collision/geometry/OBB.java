@@ -21,9 +21,8 @@ package me.moros.bending.model.collision.geometry;
 
 import me.moros.atlas.cf.checker.nullness.qual.NonNull;
 import me.moros.bending.model.collision.Collider;
+import me.moros.bending.model.math.Rotation;
 import me.moros.bending.model.math.Vector3;
-import org.apache.commons.math3.geometry.euclidean.threed.Rotation;
-import org.apache.commons.math3.linear.MatrixUtils;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.util.FastMath;
 
@@ -31,35 +30,64 @@ import org.apache.commons.math3.util.FastMath;
 public class OBB implements Collider {
 	private static final double epsilon = 0.001;
 	private final Vector3 center;
-	private final RealMatrix basis;
 	private final Vector3 e; // Half extents in local space.
 
+	// Primitive copies used by the intersection kernels so tests don't allocate
+	private final double cx, cy, cz;
+	private final double ex, ey, ez;
+	// Basis rows, each row is a local axis expressed in world space
+	private final double b00, b01, b02, b10, b11, b12, b20, b21, b22;
+
+	public OBB(@NonNull Vector3 center, double @NonNull [][] basis, @NonNull Vector3 halfExtents) {
+		this(center, halfExtents, basis);
+	}
+
+	/**
+	 * Kept for compatibility, the basis is copied into primitive fields.
+	 * @see #OBB(Vector3, double[][], Vector3)
+	 */
 	public OBB(@NonNull Vector3 center, @NonNull RealMatrix basis, @NonNull Vector3 halfExtents) {
-		this.center = center;
-		this.basis = basis;
-		this.e = halfExtents;
+		this(center, halfExtents, basis.getData());
 	}
 
 	public OBB(@NonNull AABB aabb) {
-		this.center = aabb.getPosition();
-		this.basis = MatrixUtils.createRealIdentityMatrix(3);
-		this.e = aabb.getHalfExtents();
+		this(aabb.getPosition(), aabb.getHalfExtents(), 1, 0, 0, 0, 1, 0, 0, 0, 1);
 	}
 
 	public OBB(@NonNull AABB aabb, @NonNull Rotation rotation) {
-		double[] arr = new double[3];
-		rotation.applyTo(aabb.getPosition().toArray(), arr);
-		this.center = new Vector3(arr);
-		this.basis = MatrixUtils.createRealMatrix(rotation.getMatrix());
-		this.e = aabb.getHalfExtents();
+		this(rotation.applyTo(aabb.getPosition()), aabb.getHalfExtents(), rotation.getMatrix());
+	}
+
+	private OBB(Vector3 center, Vector3 halfExtents, double[][] m) {
+		this(center, halfExtents, m[0][0], m[0][1], m[0][2], m[1][0], m[1][1], m[1][2], m[2][0], m[2][1], m[2][2]);
+	}
+
+	private OBB(Vector3 center, Vector3 halfExtents, double b00, double b01, double b02, double b10, double b11, double b12, double b20, double b21, double b22) {
+		this.center = center;
+		this.e = halfExtents;
+		cx = center.getX();
+		cy = center.getY();
+		cz = center.getZ();
+		ex = halfExtents.getX();
+		ey = halfExtents.getY();
+		ez = halfExtents.getZ();
+		this.b00 = b00;
+		this.b01 = b01;
+		this.b02 = b02;
+		this.b10 = b10;
+		this.b11 = b11;
+		this.b12 = b12;
+		this.b20 = b20;
+		this.b21 = b21;
+		this.b22 = b22;
 	}
 
 	public @NonNull OBB addPosition(@NonNull Vector3 position) {
-		return new OBB(center.add(position), basis, e);
+		return at(center.add(position));
 	}
 
 	public @NonNull OBB at(@NonNull Vector3 position) {
-		return new OBB(position, basis, e);
+		return new OBB(position, e, b00, b01, b02, b10, b11, b12, b20, b21, b22);
 	}
 
 	@Override
@@ -67,7 +95,7 @@ public class OBB implements Collider {
 		if (collider instanceof Sphere) {
 			return ((Sphere) collider).intersects(this);
 		} else if (collider instanceof AABB) {
-			return intersects(new OBB((AABB) collider));
+			return intersects((AABB) collider);
 		} else if (collider instanceof OBB) {
 			return intersects((OBB) collider);
 		} else if (collider instanceof Disk) {
@@ -76,129 +104,146 @@ public class OBB implements Collider {
 		return false;
 	}
 
+	public boolean intersects(@NonNull AABB aabb) {
+		Vector3 min = aabb.min();
+		Vector3 max = aabb.max();
+		double hx = FastMath.abs(max.getX() - min.getX()) * 0.5;
+		double hy = FastMath.abs(max.getY() - min.getY()) * 0.5;
+		double hz = FastMath.abs(max.getZ() - min.getZ()) * 0.5;
+		double mx = min.getX() + (max.getX() - min.getX()) * 0.5;
+		double my = min.getY() + (max.getY() - min.getY()) * 0.5;
+		double mz = min.getZ() + (max.getZ() - min.getZ()) * 0.5;
+		return intersects(mx, my, mz, hx, hy, hz, 1, 0, 0, 0, 1, 0, 0, 0, 1);
+	}
+
 	public boolean intersects(@NonNull OBB other) {
+		return intersects(other.cx, other.cy, other.cz, other.ex, other.ey, other.ez,
+			other.b00, other.b01, other.b02, other.b10, other.b11, other.b12, other.b20, other.b21, other.b22);
+	}
+
+	// Separating axis test against a box given by its center, half extents and basis rows
+	private boolean intersects(double ocx, double ocy, double ocz, double oex, double oey, double oez,
+							   double o00, double o01, double o02, double o10, double o11, double o12, double o20, double o21, double o22) {
 		double ra, rb;
-		RealMatrix R = getRotationMatrix(other);
-		// translation
-		Vector3 t = other.center.subtract(center);
-		// Bring into coordinate frame
-		t = new Vector3(basis.operate(t.toArray()));
-		RealMatrix absR = MatrixUtils.createRealMatrix(3, 3);
-
-		for (int i = 0; i < 3; ++i) {
-			for (int j = 0; j < 3; ++j) {
-				absR.setEntry(i, j, FastMath.abs(R.getEntry(i, j)) + epsilon);
-			}
-		}
+		// Express the other box's basis in this box's coordinate frame
+		double r00 = b00 * o00 + b01 * o01 + b02 * o02;
+		double r01 = b00 * o10 + b01 * o11 + b02 * o12;
+		double r02 = b00 * o20 + b01 * o21 + b02 * o22;
+		double r10 = b10 * o00 + b11 * o01 + b12 * o02;
+		double r11 = b10 * o10 + b11 * o11 + b12 * o12;
+		double r12 = b10 * o20 + b11 * o21 + b12 * o22;
+		double r20 = b20 * o00 + b21 * o01 + b22 * o02;
+		double r21 = b20 * o10 + b21 * o11 + b22 * o12;
+		double r22 = b20 * o20 + b21 * o21 + b22 * o22;
+		// Translation, brought into this box's coordinate frame
+		double dx = ocx - cx;
+		double dy = ocy - cy;
+		double dz = ocz - cz;
+		double t0 = b00 * dx + b01 * dy + b02 * dz;
+		double t1 = b10 * dx + b11 * dy + b12 * dz;
+		double t2 = b20 * dx + b21 * dy + b22 * dz;
+
+		double a00 = FastMath.abs(r00) + epsilon, a01 = FastMath.abs(r01) + epsilon, a02 = FastMath.abs(r02) + epsilon;
+		double a10 = FastMath.abs(r10) + epsilon, a11 = FastMath.abs(r11) + epsilon, a12 = FastMath.abs(r12) + epsilon;
+		double a20 = FastMath.abs(r20) + epsilon, a21 = FastMath.abs(r21) + epsilon, a22 = FastMath.abs(r22) + epsilon;
 
 		// test this box's axes
-		for (int i = 0; i < 3; ++i) {
-			Vector3 row = new Vector3(absR.getRow(i));
-			ra = e.component(i);
-			rb = other.e.dotProduct(row);
-			if (FastMath.abs(t.component(i)) > ra + rb) {
-				return false;
-			}
-		}
+		if (FastMath.abs(t0) > ex + (oex * a00 + oey * a01 + oez * a02)) return false;
+		if (FastMath.abs(t1) > ey + (oex * a10 + oey * a11 + oez * a12)) return false;
+		if (FastMath.abs(t2) > ez + (oex * a20 + oey * a21 + oez * a22)) return false;
 
 		// test other box's axes
-		for (int i = 0; i < 3; ++i) {
-			Vector3 col = new Vector3(absR.getColumn(i));
-			ra = e.dotProduct(col);
-			rb = other.e.component(i);
-			Vector3 rotCol = new Vector3(R.getColumn(i));
-			if (FastMath.abs(t.dotProduct(rotCol)) > ra + rb) {
-				return false;
-			}
-		}
+		if (FastMath.abs(t0 * r00 + t1 * r10 + t2 * r20) > (ex * a00 + ey * a10 + ez * a20) + oex) return false;
+		if (FastMath.abs(t0 * r01 + t1 * r11 + t2 * r21) > (ex * a01 + ey * a11 + ez * a21) + oey) return false;
+		if (FastMath.abs(t0 * r02 + t1 * r12 + t2 * r22) > (ex * a02 + ey * a12 + ez * a22) + oez) return false;
 
 		// A0 x B0
-		ra = e.component(1) * absR.getEntry(2, 0) + e.component(2) * absR.getEntry(1, 0);
-		rb = other.e.component(1) * absR.getEntry(0, 2) + other.e.component(2) * absR.getEntry(0, 1);
-		if (FastMath.abs(t.component(2) * R.getEntry(1, 0) - t.component(1) * R.getEntry(2, 0)) > ra + rb) {
-			return false;
-		}
+		ra = ey * a20 + ez * a10;
+		rb = oey * a02 + oez * a01;
+		if (FastMath.abs(t2 * r10 - t1 * r20) > ra + rb) return false;
 
 		// A0 x B1
-		ra = e.component(1) * absR.getEntry(2, 1) + e.component(2) * absR.getEntry(1, 1);
-		rb = other.e.component(0) * absR.getEntry(0, 2) + other.e.component(2) * absR.getEntry(0, 0);
-		if (FastMath.abs(t.component(2) * R.getEntry(1, 1) - t.component(1) * R.getEntry(2, 1)) > ra + rb) {
-			return false;
-		}
+		ra = ey * a21 + ez * a11;
+		rb = oex * a02 + oez * a00;
+		if (FastMath.abs(t2 * r11 - t1 * r21) > ra + rb) return false;
 
 		// A0 x B2
-		ra = e.component(1) * absR.getEntry(2, 2) + e.component(2) * absR.getEntry(1, 2);
-		rb = other.e.component(0) * absR.getEntry(0, 1) + other.e.component(1) * absR.getEntry(0, 0);
-		if (FastMath.abs(t.component(2) * R.getEntry(1, 2) - t.component(1) * R.getEntry(2, 2)) > ra + rb) {
-			return false;
-		}
+		ra = ey * a22 + ez * a12;
+		rb = oex * a01 + oey * a00;
+		if (FastMath.abs(t2 * r12 - t1 * r22) > ra + rb) return false;
 
 		// A1 x B0
-		ra = e.component(0) * absR.getEntry(2, 0) + e.component(2) * absR.getEntry(0, 0);
-		rb = other.e.component(1) * absR.getEntry(1, 2) + other.e.component(2) * absR.getEntry(1, 1);
-		if (FastMath.abs(t.component(0) * R.getEntry(2, 0) - t.component(2) * R.getEntry(0, 0)) > ra + rb) {
-			return false;
-		}
+		ra = ex * a20 + ez * a00;
+		rb = oey * a12 + oez * a11;
+		if (FastMath.abs(t0 * r20 - t2 * r00) > ra + rb) return false;
 
 		// A1 x B1
-		ra = e.component(0) * absR.getEntry(2, 1) + e.component(2) * absR.getEntry(0, 1);
-		rb = other.e.component(0) * absR.getEntry(1, 2) + other.e.component(2) * absR.getEntry(1, 0);
-		if (FastMath.abs(t.component(0) * R.getEntry(2, 1) - t.component(2) * R.getEntry(0, 1)) > ra + rb) {
-			return false;
-		}
+		ra = ex * a21 + ez * a01;
+		rb = oex * a12 + oez * a10;
+		if (FastMath.abs(t0 * r21 - t2 * r01) > ra + rb) return false;
 
 		// A1 x B2
-		ra = e.component(0) * absR.getEntry(2, 2) + e.component(2) * absR.getEntry(0, 2);
-		rb = other.e.component(0) * absR.getEntry(1, 1) + other.e.component(1) * absR.getEntry(1, 0);
-		if (FastMath.abs(t.component(0) * R.getEntry(2, 2) - t.component(2) * R.getEntry(0, 2)) > ra + rb) {
-			return false;
-		}
+		ra = ex * a22 + ez * a02;
+		rb = oex * a11 + oey * a10;
+		if (FastMath.abs(t0 * r22 - t2 * r02) > ra + rb) return false;
 
 		// A2 x B0
-		ra = e.component(0) * absR.getEntry(1, 0) + e.component(1) * absR.getEntry(0, 0);
-		rb = other.e.component(1) * absR.getEntry(2, 2) + other.e.component(2) * absR.getEntry(2, 1);
-		if (FastMath.abs(t.component(1) * R.getEntry(0, 0) - t.component(0) * R.getEntry(1, 0)) > ra + rb) {
-			return false;
-		}
+		ra = ex * a10 + ey * a00;
+		rb = oey * a22 + oez * a21;
+		if (FastMath.abs(t1 * r00 - t0 * r10) > ra + rb) return false;
 
 		// A2 x B1
-		ra = e.component(0) * absR.getEntry(1, 1) + e.component(1) * absR.getEntry(0, 1);
-		rb = other.e.component(0) * absR.getEntry(2, 2) + other.e.component(2) * absR.getEntry(2, 0);
-		if (FastMath.abs(t.component(1) * R.getEntry(0, 1) - t.component(0) * R.getEntry(1, 1)) > ra + rb) {
-			return false;
-		}
+		ra = ex * a11 + ey * a01;
+		rb = oex * a22 + oez * a20;
+		if (FastMath.abs(t1 * r01 - t0 * r11) > ra + rb) return false;
 
 		// A2 x B2
-		ra = e.component(0) * absR.getEntry(1, 2) + e.component(1) * absR.getEntry(0, 2);
-		rb = other.e.component(0) * absR.getEntry(2, 1) + other.e.component(1) * absR.getEntry(2, 0);
-		return !(FastMath.abs(t.component(1) * R.getEntry(0, 2) - t.component(0) * R.getEntry(1, 2)) > ra + rb);
-	}
-
-	// Express the other box's basis in this box's coordinate frame.
-	private RealMatrix getRotationMatrix(OBB other) {
-		RealMatrix r = MatrixUtils.createRealMatrix(3, 3);
-		for (int i = 0; i < 3; ++i) {
-			for (int j = 0; j < 3; ++j) {
-				Vector3 a = new Vector3(basis.getRow(i));
-				Vector3 b = new Vector3(other.basis.getRow(j));
-				r.setEntry(i, j, a.dotProduct(b));
-			}
-		}
-		return r;
+		ra = ex * a12 + ey * a02;
+		rb = oex * a21 + oey * a20;
+		return !(FastMath.abs(t1 * r02 - t0 * r12) > ra + rb);
 	}
 
 	// Returns the position closest to the target that lies on/in the OBB.
 	public @NonNull Vector3 getClosestPosition(@NonNull Vector3 target) {
-		Vector3 t = target.subtract(center);
-		Vector3 closest = center;
+		double dx = target.getX() - cx;
+		double dy = target.getY() - cy;
+		double dz = target.getZ() - cz;
 		// Project target onto basis axes and move toward it.
-		for (int i = 0; i < 3; ++i) {
-			Vector3 axis = new Vector3(basis.getRow(i));
-			double r = e.component(i);
-			double dist = FastMath.max(-r, FastMath.min(t.dotProduct(axis), r));
-			closest = closest.add(axis.scalarMultiply(dist));
-		}
-		return closest;
+		double d0 = FastMath.max(-ex, FastMath.min(b00 * dx + b01 * dy + b02 * dz, ex));
+		double d1 = FastMath.max(-ey, FastMath.min(b10 * dx + b11 * dy + b12 * dz, ey));
+		double d2 = FastMath.max(-ez, FastMath.min(b20 * dx + b21 * dy + b22 * dz, ez));
+		return new Vector3(
+			cx + b00 * d0 + b10 * d1 + b20 * d2,
+			cy + b01 * d0 + b11 * d1 + b21 * d2,
+			cz + b02 * d0 + b12 * d1 + b22 * d2
+		);
+	}
+
+	/**
+	 * Allocation free version of {@code getClosestPosition(point).distanceSq(point)}.
+	 */
+	double distanceSq(double x, double y, double z) {
+		double dx = x - cx;
+		double dy = y - cy;
+		double dz = z - cz;
+		double p0 = b00 * dx + b01 * dy + b02 * dz;
+		double p1 = b10 * dx + b11 * dy + b12 * dz;
+		double p2 = b20 * dx + b21 * dy + b22 * dz;
+		// Distance outside the box along each local axis
+		double o0 = p0 - FastMath.max(-ex, FastMath.min(p0, ex));
+		double o1 = p1 - FastMath.max(-ey, FastMath.min(p1, ey));
+		double o2 = p2 - FastMath.max(-ez, FastMath.min(p2, ez));
+		return o0 * o0 + o1 * o1 + o2 * o2;
+	}
+
+	/**
+	 * @return the smallest axis aligned box that contains this OBB in world space
+	 */
+	public @NonNull AABB getOuterBounds() {
+		double hx = ex * FastMath.abs(b00) + ey * FastMath.abs(b10) + ez * FastMath.abs(b20);
+		double hy = ex * FastMath.abs(b01) + ey * FastMath.abs(b11) + ez * FastMath.abs(b21);
+		double hz = ex * FastMath.abs(b02) + ey * FastMath.abs(b12) + ez * FastMath.abs(b22);
+		return new AABB(new Vector3(cx - hx, cy - hy, cz - hz), new Vector3(cx + hx, cy + hy, cz + hz));
 	}
 
 	@Override
@@ -208,14 +253,11 @@ public class OBB implements Collider {
 
 	@Override
 	public @NonNull Vector3 getHalfExtents() {
-		double x = e.dotProduct(Vector3.PLUS_I);
-		double y = e.dotProduct(Vector3.PLUS_J);
-		double z = e.dotProduct(Vector3.PLUS_K);
-		return new Vector3(x, y, z);
+		return e;
 	}
 
 	@Override
 	public boolean contains(@NonNull Vector3 point) {
-		return getClosestPosition(point).distanceSq(point) <= epsilon;
+		return distanceSq(point.getX(), point.getY(), point.getZ()) <= epsilon;
 	}
 }
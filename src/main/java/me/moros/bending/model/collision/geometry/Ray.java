@@ -25,12 +25,23 @@ import me.moros.bending.model.math.Vector3;
 public class Ray {
 	public final Vector3 origin, direction, invDir;
 
+	// Primitive copies used by the intersection kernels so tests don't allocate
+	final double ox, oy, oz;
+	final double dx, dy, dz;
+	final double ix, iy, iz;
+
 	public Ray(@NonNull Vector3 origin, @NonNull Vector3 direction) {
 		this.origin = origin;
 		this.direction = direction;
-		double invX = direction.getX() == 0 ? Double.MAX_VALUE : 1 / direction.getX();
-		double invY = direction.getX() == 0 ? Double.MAX_VALUE : 1 / direction.getY();
-		double invZ = direction.getX() == 0 ? Double.MAX_VALUE : 1 / direction.getZ();
-		invDir = new Vector3(invX, invY, invZ);
+		ox = origin.getX();
+		oy = origin.getY();
+		oz = origin.getZ();
+		dx = direction.getX();
+		dy = direction.getY();
+		dz = direction.getZ();
+		ix = dx == 0 ? Double.MAX_VALUE : 1 / dx;
+		iy = dy == 0 ? Double.MAX_VALUE : 1 / dy;
+		iz = dz == 0 ? Double.MAX_VALUE : 1 / dz;
+		invDir = new Vector3(ix, iy, iz);
 	}
 }
@@ -28,9 +28,15 @@ public class Sphere implements Collider {
 	public final Vector3 center;
 	public final double radius;
 
+	// Primitive copy of the center used by the intersection kernels so tests don't allocate
+	private final double cx, cy, cz;
+
 	public Sphere(@NonNull Vector3 center, double radius) {
 		this.center = center;
 		this.radius = radius;
+		cx = center.getX();
+		cy = center.getY();
+		cz = center.getZ();
 	}
 
 	public @NonNull Sphere at(@NonNull Vector3 newCenter) {
@@ -42,27 +48,32 @@ public class Sphere implements Collider {
 		Vector3 max = aabb.max();
 		if (min == max) return false;
 		// Get the point closest to sphere center on the aabb.
-		double x = FastMath.max(min.getX(), FastMath.min(center.getX(), max.getX()));
-		double y = FastMath.max(min.getY(), FastMath.min(center.getY(), max.getY()));
-		double z = FastMath.max(min.getZ(), FastMath.min(center.getZ(), max.getZ()));
+		double x = FastMath.max(min.getX(), FastMath.min(cx, max.getX()));
+		double y = FastMath.max(min.getY(), FastMath.min(cy, max.getY()));
+		double z = FastMath.max(min.getZ(), FastMath.min(cz, max.getZ()));
 		// Check if that point is inside of the sphere.
-		return contains(new Vector3(x, y, z));
+		return contains(x, y, z);
 	}
 
 	public boolean intersects(@NonNull OBB obb) {
-		Vector3 v = center.subtract(obb.getClosestPosition(center));
-		return v.dotProduct(v) <= radius * radius;
+		return obb.distanceSq(cx, cy, cz) <= radius * radius;
 	}
 
 	public boolean intersects(@NonNull Sphere other) {
 		// Spheres will be colliding if their distance apart is less than the sum of the radii.
-		return other.center.distanceSq(center) <= FastMath.pow(radius + other.radius, 2);
+		double dx = other.cx - cx;
+		double dy = other.cy - cy;
+		double dz = other.cz - cz;
+		double r = radius + other.radius;
+		return dx * dx + dy * dy + dz * dz <= r * r;
 	}
 
 	public boolean intersects(@NonNull Ray ray) {
-		Vector3 m = ray.origin.subtract(center);
-		double b = m.dotProduct(ray.direction);
-		return b * b - (m.dotProduct(m) - radius * radius) >= 0;
+		double mx = ray.ox - cx;
+		double my = ray.oy - cy;
+		double mz = ray.oz - cz;
+		double b = mx * ray.dx + my * ray.dy + mz * ray.dz;
+		return b * b - ((mx * mx + my * my + mz * mz) - radius * radius) >= 0;
 	}
 
 	@Override
@@ -90,7 +101,13 @@ public class Sphere implements Collider {
 	}
 
 	public boolean contains(@NonNull Vector3 point) {
-		double distSq = center.distanceSq(point);
-		return distSq <= radius * radius;
+		return contains(point.getX(), point.getY(), point.getZ());
+	}
+
+	private boolean contains(double x, double y, double z) {
+		double dx = x - cx;
+		double dy = y - cy;
+		double dz = z - cz;
+		return dx * dx + dy * dy + dz * dz <= radius * radius;
 	}
 }
@@ -0,0 +1,88 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.math;
+
+import me.moros.atlas.caffeine.cache.Cache;
+import me.moros.atlas.caffeine.cache.Caffeine;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * An immutable table of cosine and sine values for multiples of a fixed angle step.
+ * Tables are cached per step and grown when a larger one is requested, so repeated arcs and rings
+ * with the same spacing never need to evaluate trigonometric functions again. Steps come from config values,
+ * so the cache is bounded and the least recently used steps are evicted. AngleTable is thread-safe.
+ */
+public final class AngleTable {
+	private static final Cache<Double, AngleTable> TABLES = Caffeine.newBuilder().maximumSize(64).build();
+
+	private final double[] cos;
+	private final double[] sin;
+
+	private AngleTable(double step, int size) {
+		cos = new double[size];
+		sin = new double[size];
+		for (int i = 0; i < size; i++) {
+			cos[i] = FastMath.cos(i * step);
+			sin[i] = FastMath.sin(i * step);
+		}
+	}
+
+	/**
+	 * @return the amount of multiples in this table, index 0 is always the zero angle
+	 */
+	public int size() {
+		return cos.length;
+	}
+
+	/**
+	 * @param index the multiple of the step
+	 * @return the cosine of index * step
+	 */
+	public double cos(int index) {
+		return cos[index];
+	}
+
+	/**
+	 * @param index the multiple of the step
+	 * @return the sine of index * step
+	 */
+	public double sin(int index) {
+		return sin[index];
+	}
+
+	/**
+	 * Get a cached table for the given step that covers at least the given amount of multiples.
+	 * @param step the angle step in radians
+	 * @param size the minimum amount of multiples needed
+	 * @return the table
+	 */
+	public static AngleTable of(double step, int size) {
+		AngleTable table = TABLES.getIfPresent(step);
+		if (table != null && table.size() >= size) {
+			return table;
+		}
+		return TABLES.asMap().compute(step, (k, old) -> {
+			if (old == null) {
+				return new AngleTable(k, size);
+			}
+			return old.size() >= size ? old : new AngleTable(k, FastMath.max(size, 2 * old.size()));
+		});
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.math;
+
+import org.bukkit.util.NumberConversions;
+
+/**
+ * Mutable 3D Vector meant to be used as a reusable scratch buffer in inner loops.
+ * All operations modify this vector in place and return it to allow chaining.
+ * Use {@link #toImmutable()} when a result needs to outlive the loop.
+ * <p> Note: This is not thread-safe, keep instances confined to the owner.
+ */
+public final class MutableVector3 {
+	private double x;
+	private double y;
+	private double z;
+
+	public MutableVector3() {
+	}
+
+	public MutableVector3(double x, double y, double z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
+
+	public MutableVector3(Vector3 v) {
+		this(v.getX(), v.getY(), v.getZ());
+	}
+
+	public double getX() {
+		return x;
+	}
+
+	public double getY() {
+		return y;
+	}
+
+	public double getZ() {
+		return z;
+	}
+
+	public int getBlockX() {
+		return NumberConversions.floor(x);
+	}
+
+	public int getBlockY() {
+		return NumberConversions.floor(y);
+	}
+
+	public int getBlockZ() {
+		return NumberConversions.floor(z);
+	}
+
+	public MutableVector3 set(double x, double y, double z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		return this;
+	}
+
+	public MutableVector3 set(Vector3 v) {
+		return set(v.getX(), v.getY(), v.getZ());
+	}
+
+	public MutableVector3 set(MutableVector3 v) {
+		return set(v.x, v.y, v.z);
+	}
+
+	public MutableVector3 add(double x, double y, double z) {
+		this.x += x;
+		this.y += y;
+		this.z += z;
+		return this;
+	}
+
+	public MutableVector3 add(Vector3 v) {
+		return add(v.getX(), v.getY(), v.getZ());
+	}
+
+	public MutableVector3 add(MutableVector3 v) {
+		return add(v.x, v.y, v.z);
+	}
+
+	public MutableVector3 subtract(Vector3 v) {
+		return add(-v.getX(), -v.getY(), -v.getZ());
+	}
+
+	public MutableVector3 scalarMultiply(double a) {
+		x *= a;
+		y *= a;
+		z *= a;
+		return this;
+	}
+
+	/**
+	 * Normalize in place, vectors with a zero norm are left untouched.
+	 */
+	public MutableVector3 normalize() {
+		double s = getNorm();
+		if (s == 0) return this;
+		return scalarMultiply(1 / s);
+	}
+
+	public double getNorm() {
+		return Math.sqrt(getNormSq());
+	}
+
+	public double getNormSq() {
+		return x * x + y * y + z * z;
+	}
+
+	public double dotProduct(Vector3 v) {
+		return x * v.getX() + y * v.getY() + z * v.getZ();
+	}
+
+	public double distanceSq(double x, double y, double z) {
+		double dx = x - this.x;
+		double dy = y - this.y;
+		double dz = z - this.z;
+		return dx * dx + dy * dy + dz * dz;
+	}
+
+	public double distanceSq(Vector3 v) {
+		return distanceSq(v.getX(), v.getY(), v.getZ());
+	}
+
+	/**
+	 * Copies the components into the given array.
+	 * @param dest the array to write into, it must have a length of at least 3
+	 * @return the provided array
+	 */
+	public double[] toArray(double[] dest) {
+		dest[0] = x;
+		dest[1] = y;
+		dest[2] = z;
+		return dest;
+	}
+
+	/**
+	 * @return a new immutable snapshot of this vector
+	 */
+	public Vector3 toImmutable() {
+		return new Vector3(x, y, z);
+	}
+
+	@Override
+	public String toString() {
+		return "{" + x + ", " + y + ", " + z + "}";
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.math;
+
+import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+import org.apache.commons.math3.util.FastMath;
+import org.bukkit.util.NumberConversions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable table of integer offsets inside a sphere, sorted by their distance from the center.
+ * Tables are cached per integer radius and shared, a table for radius r can serve any radius up to r
+ * through {@link #size(double)}. OffsetTable is thread-safe.
+ */
+public final class OffsetTable {
+	private static final Map<Integer, OffsetTable> SPHERES = new ConcurrentHashMap<>();
+
+	// 3 entries per offset (x, y, z)
+	private final int[] offsets;
+	// Squared distance per offset, in ascending order
+	private final int[] distances;
+
+	private OffsetTable(int radius) {
+		int rSq = radius * radius;
+		List<int[]> entries = new ArrayList<>();
+		for (int x = -radius; x <= radius; x++) {
+			for (int y = -radius; y <= radius; y++) {
+				for (int z = -radius; z <= radius; z++) {
+					int distSq = x * x + y * y + z * z;
+					if (distSq <= rSq) entries.add(new int[]{x, y, z, distSq});
+				}
+			}
+		}
+		entries.sort((a, b) -> Integer.compare(a[3], b[3]));
+		offsets = new int[3 * entries.size()];
+		distances = new int[entries.size()];
+		for (int i = 0; i < entries.size(); i++) {
+			int[] entry = entries.get(i);
+			offsets[3 * i] = entry[0];
+			offsets[3 * i + 1] = entry[1];
+			offsets[3 * i + 2] = entry[2];
+			distances[i] = entry[3];
+		}
+	}
+
+	/**
+	 * @param radius the radius of the sphere
+	 * @return a shared table containing at least every offset within the given radius
+	 */
+	public static @NonNull OffsetTable sphere(double radius) {
+		return SPHERES.computeIfAbsent(FastMath.max(0, NumberConversions.ceil(radius)), OffsetTable::new);
+	}
+
+	/**
+	 * @param radius the radius to check
+	 * @return the amount of leading offsets in this table that are within the given radius
+	 */
+	public int size(double radius) {
+		if (radius < 0) return 0;
+		int limit = NumberConversions.floor(radius * radius);
+		int index = Arrays.binarySearch(distances, limit + 1);
+		if (index < 0) return -index - 1;
+		while (index > 0 && distances[index - 1] == limit + 1) index--;
+		return index;
+	}
+
+	public int size() {
+		return distances.length;
+	}
+
+	public int getX(int index) {
+		return offsets[3 * index];
+	}
+
+	public int getY(int index) {
+		return offsets[3 * index + 1];
+	}
+
+	public int getZ(int index) {
+		return offsets[3 * index + 2];
+	}
+
+	/**
+	 * @return the squared distance of the offset at the given index from the center
+	 */
+	public int getDistanceSq(int index) {
+		return distances[index];
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.math;
+
+/**
+ * Immutable quaternion based rotation that operates directly on {@link Vector3} and {@link MutableVector3}.
+ * Semantics match the commons-math rotation it replaces, see {@link RotationConvention}.
+ */
+public final class Rotation {
+	private final double q0;
+	private final double q1;
+	private final double q2;
+	private final double q3;
+
+	private Rotation(double q0, double q1, double q2, double q3) {
+		this.q0 = q0;
+		this.q1 = q1;
+		this.q2 = q2;
+		this.q3 = q3;
+	}
+
+	/**
+	 * Build a rotation from an axis and an angle.
+	 * @param axis the axis around which to rotate
+	 * @param angle the rotation angle in radians
+	 * @param convention the convention to use for the semantics of the angle
+	 * @throws IllegalArgumentException if the axis norm is zero
+	 */
+	public Rotation(Vector3 axis, double angle, RotationConvention convention) {
+		double norm = axis.getNorm();
+		if (norm == 0) throw new IllegalArgumentException("Zero norm for rotation axis");
+		double halfAngle = convention == RotationConvention.VECTOR_OPERATOR ? -0.5 * angle : 0.5 * angle;
+		double coeff = Math.sin(halfAngle) / norm;
+		q0 = Math.cos(halfAngle);
+		q1 = coeff * axis.getX();
+		q2 = coeff * axis.getY();
+		q3 = coeff * axis.getZ();
+	}
+
+	public Vector3 applyTo(Vector3 u) {
+		double x = u.getX();
+		double y = u.getY();
+		double z = u.getZ();
+		double s = q1 * x + q2 * y + q3 * z;
+		return new Vector3(2 * (q0 * (x * q0 - (q2 * z - q3 * y)) + s * q1) - x,
+			2 * (q0 * (y * q0 - (q3 * x - q1 * z)) + s * q2) - y,
+			2 * (q0 * (z * q0 - (q1 * y - q2 * x)) + s * q3) - z);
+	}
+
+	/**
+	 * Apply the rotation in place.
+	 * @param u the vector to rotate
+	 * @return the provided vector
+	 */
+	public MutableVector3 applyTo(MutableVector3 u) {
+		return apply(q0, u);
+	}
+
+	/**
+	 * Apply the inverse of the rotation in place.
+	 * @param u the vector to rotate
+	 * @return the provided vector
+	 */
+	public MutableVector3 applyInverseTo(MutableVector3 u) {
+		return apply(-q0, u);
+	}
+
+	public void applyTo(double[] in, double[] out) {
+		apply(q0, in, out);
+	}
+
+	public void applyInverseTo(double[] in, double[] out) {
+		apply(-q0, in, out);
+	}
+
+	private MutableVector3 apply(double m0, MutableVector3 u) {
+		double x = u.getX();
+		double y = u.getY();
+		double z = u.getZ();
+		double s = q1 * x + q2 * y + q3 * z;
+		return u.set(2 * (m0 * (x * m0 - (q2 * z - q3 * y)) + s * q1) - x,
+			2 * (m0 * (y * m0 - (q3 * x - q1 * z)) + s * q2) - y,
+			2 * (m0 * (z * m0 - (q1 * y - q2 * x)) + s * q3) - z);
+	}
+
+	private void apply(double m0, double[] in, double[] out) {
+		double x = in[0];
+		double y = in[1];
+		double z = in[2];
+		double s = q1 * x + q2 * y + q3 * z;
+		out[0] = 2 * (m0 * (x * m0 - (q2 * z - q3 * y)) + s * q1) - x;
+		out[1] = 2 * (m0 * (y * m0 - (q3 * x - q1 * z)) + s * q2) - y;
+		out[2] = 2 * (m0 * (z * m0 - (q1 * y - q2 * x)) + s * q3) - z;
+	}
+
+	/**
+	 * Apply this rotation to another rotation, the result is equivalent to applying the other rotation first and then this one.
+	 * @param r the rotation to apply the rotation to
+	 * @return a new rotation which is the composition of r by the instance
+	 */
+	public Rotation applyTo(Rotation r) {
+		return new Rotation(r.q0 * q0 - (r.q1 * q1 + r.q2 * q2 + r.q3 * q3),
+			r.q1 * q0 + r.q0 * q1 + (r.q2 * q3 - r.q3 * q2),
+			r.q2 * q0 + r.q0 * q2 + (r.q3 * q1 - r.q1 * q3),
+			r.q3 * q0 + r.q0 * q3 + (r.q1 * q2 - r.q2 * q1));
+	}
+
+	/**
+	 * @return the 3x3 orthogonal matrix of this rotation, applying it to a vector is equivalent to {@code m * v}
+	 */
+	public double[][] getMatrix() {
+		double q0q0 = q0 * q0;
+		double q0q1 = q0 * q1;
+		double q0q2 = q0 * q2;
+		double q0q3 = q0 * q3;
+		double q1q1 = q1 * q1;
+		double q1q2 = q1 * q2;
+		double q1q3 = q1 * q3;
+		double q2q2 = q2 * q2;
+		double q2q3 = q2 * q3;
+		double q3q3 = q3 * q3;
+		double[][] m = new double[3][];
+		m[0] = new double[]{2 * (q0q0 + q1q1) - 1, 2 * (q1q2 + q0q3), 2 * (q1q3 - q0q2)};
+		m[1] = new double[]{2 * (q1q2 - q0q3), 2 * (q0q0 + q2q2) - 1, 2 * (q2q3 + q0q1)};
+		m[2] = new double[]{2 * (q1q3 + q0q2), 2 * (q2q3 - q0q1), 2 * (q0q0 + q3q3) - 1};
+		return m;
+	}
+}
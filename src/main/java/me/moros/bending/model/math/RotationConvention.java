@@ -0,0 +1,34 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.math;
+
+/**
+ * The meaning of the angle of a {@link Rotation}, matching the commons-math conventions.
+ */
+public enum RotationConvention {
+	/**
+	 * The rotation is an operator that rotates vectors counterclockwise around the axis, as seen from its tip.
+	 */
+	VECTOR_OPERATOR,
+	/**
+	 * The rotation transforms the coordinate frame, which turns vectors the opposite way of {@link #VECTOR_OPERATOR}.
+	 */
+	FRAME_TRANSFORM
+}
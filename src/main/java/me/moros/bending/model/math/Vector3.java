@@ -19,12 +19,6 @@
 
 package me.moros.bending.model.math;
 
-import org.apache.commons.math3.exception.DimensionMismatchException;
-import org.apache.commons.math3.geometry.Vector;
-import org.apache.commons.math3.geometry.euclidean.threed.Euclidean3D;
-import org.apache.commons.math3.geometry.euclidean.threed.Vector3D;
-import org.apache.commons.math3.util.FastMath;
-import org.apache.commons.math3.util.MathArrays;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.block.Block;
@@ -32,9 +26,10 @@ import org.bukkit.util.BlockVector;
 import org.bukkit.util.NumberConversions;
 
 /**
- * Immutable 3D Vector implementation with built-in adapters for Bukkit
+ * Immutable 3D Vector implementation with built-in adapters for Bukkit.
+ * For inner loops that would otherwise allocate a new vector per step use a {@link MutableVector3} as a scratch buffer.
  */
-public class Vector3 extends Vector3D {
+public final class Vector3 {
 	/**
 	 * Zero vector (coordinates: 0, 0, 0).
 	 */
@@ -86,51 +81,70 @@ public class Vector3 extends Vector3D {
 	public static final Vector3 MIN_VELOCITY = new Vector3(-4, -4, -4);
 	public static final Vector3 MAX_VELOCITY = new Vector3(4, 4, 4);
 
-	public Vector3(double x, double y, double z) {
-		super(x, y, z);
-	}
+	private final double x;
+	private final double y;
+	private final double z;
 
-	public Vector3(double a, Vector3D u) {
-		super(a, u);
+	public Vector3(double x, double y, double z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
 	}
 
-	public Vector3(double[] v) throws DimensionMismatchException {
-		super(v);
+	public Vector3(double[] v) {
+		if (v.length != 3) throw new IllegalArgumentException("Expected array of length 3 but got " + v.length);
+		this.x = v[0];
+		this.y = v[1];
+		this.z = v[2];
 	}
 
 	public Vector3(org.bukkit.util.Vector vector) {
-		super(vector.getX(), vector.getY(), vector.getZ());
+		this(vector.getX(), vector.getY(), vector.getZ());
 	}
 
 	public Vector3(Location location) {
-		super(location.getX(), location.getY(), location.getZ());
+		this(location.getX(), location.getY(), location.getZ());
 	}
 
 	public Vector3(Block block) {
-		super(block.getX(), block.getY(), block.getZ());
+		this(block.getX(), block.getY(), block.getZ());
 	}
 
 	public Vector3(BlockVector vector) {
-		super(vector.getX(), vector.getY(), vector.getZ());
+		this(vector.getX(), vector.getY(), vector.getZ());
 	}
 
-	@Override
-	public Vector3 add(final Vector<Euclidean3D> v) {
-		Vector3D.PLUS_I.add(Vector3D.ZERO);
-		final Vector3 v3 = (Vector3) v;
-		return new Vector3(getX() + v3.getX(), getY() + v3.getY(), getZ() + v3.getZ());
+	public double getX() {
+		return x;
 	}
 
-	@Override
-	public Vector3 subtract(final Vector<Euclidean3D> v) {
-		final Vector3D v3 = (Vector3D) v;
-		return new Vector3(getX() - v3.getX(), getY() - v3.getY(), getZ() - v3.getZ());
+	public double getY() {
+		return y;
+	}
+
+	public double getZ() {
+		return z;
+	}
+
+	public Vector3 add(Vector3 v) {
+		return new Vector3(x + v.x, y + v.y, z + v.z);
+	}
+
+	public Vector3 add(double x, double y, double z) {
+		return new Vector3(this.x + x, this.y + y, this.z + z);
+	}
+
+	public Vector3 subtract(Vector3 v) {
+		return new Vector3(x - v.x, y - v.y, z - v.z);
+	}
+
+	public Vector3 negate() {
+		return new Vector3(-x, -y, -z);
 	}
 
 	/**
 	 * Returns {@link #normalize(Vector3)} with {@link #PLUS_I} as default.
 	 */
-	@Override
 	public Vector3 normalize() {
 		return normalize(Vector3.PLUS_I);
 	}
@@ -146,74 +160,148 @@ public class Vector3 extends Vector3D {
 		return scalarMultiply(1 / s);
 	}
 
-	@Override
 	public Vector3 scalarMultiply(double a) {
-		return new Vector3(a * getX(), a * getY(), a * getZ());
+		return new Vector3(a * x, a * y, a * z);
 	}
 
-	public Vector3 multiply(Vector3D other) {
-		return new Vector3(getX() * other.getX(), getY() * other.getY(), getZ() * other.getZ());
+	public Vector3 multiply(Vector3 other) {
+		return new Vector3(x * other.x, y * other.y, z * other.z);
 	}
 
 	public Vector3 multiply(double x, double y, double z) {
-		return new Vector3(getX() * x, getY() * y, getZ() * z);
+		return new Vector3(this.x * x, this.y * y, this.z * z);
 	}
 
 	public Vector3 setX(double value) {
-		return new Vector3(value, getY(), getZ());
+		return new Vector3(value, y, z);
 	}
 
 	public Vector3 setY(double value) {
-		return new Vector3(getX(), value, getZ());
+		return new Vector3(x, value, z);
 	}
 
 	public Vector3 setZ(double value) {
-		return new Vector3(getX(), getY(), value);
+		return new Vector3(x, y, value);
+	}
+
+	public double getNorm() {
+		return Math.sqrt(x * x + y * y + z * z);
+	}
+
+	public double getNormSq() {
+		return x * x + y * y + z * z;
+	}
+
+	public double dotProduct(Vector3 v) {
+		return x * v.x + y * v.y + z * v.z;
 	}
 
 	public Vector3 crossProduct(Vector3 v) {
-		return new Vector3(MathArrays.linearCombination(getY(), v.getZ(), -getZ(), v.getY()),
-			MathArrays.linearCombination(getZ(), v.getX(), -getX(), v.getZ()),
-			MathArrays.linearCombination(getX(), v.getY(), -getY(), v.getX()));
+		return new Vector3(y * v.z - z * v.y, z * v.x - x * v.z, x * v.y - y * v.x);
+	}
+
+	public double distance(Vector3 v) {
+		return Math.sqrt(distanceSq(v));
+	}
+
+	public double distanceSq(Vector3 v) {
+		double dx = v.x - x;
+		double dy = v.y - y;
+		double dz = v.z - z;
+		return dx * dx + dy * dy + dz * dz;
 	}
 
 	public double component(int axis) {
-		return toArray()[axis];
+		switch (axis) {
+			case 0:
+				return x;
+			case 1:
+				return y;
+			case 2:
+				return z;
+			default:
+				throw new IndexOutOfBoundsException("Invalid axis " + axis);
+		}
 	}
 
 	public double minComponent() {
-		return FastMath.min(getX(), FastMath.min(getY(), getZ()));
+		return Math.min(x, Math.min(y, z));
 	}
 
 	public double maxComponent() {
-		return FastMath.max(getX(), FastMath.max(getY(), getZ()));
+		return Math.max(x, Math.max(y, z));
 	}
 
 	public Vector3 min(Vector3 other) {
-		return new Vector3(Math.min(getX(), other.getX()), FastMath.min(getY(), other.getY()), FastMath.min(getZ(), other.getZ()));
+		return new Vector3(Math.min(x, other.x), Math.min(y, other.y), Math.min(z, other.z));
 	}
 
 	public Vector3 max(Vector3 other) {
-		return new Vector3(Math.max(getX(), other.getX()), FastMath.max(getY(), other.getY()), FastMath.max(getZ(), other.getZ()));
+		return new Vector3(Math.max(x, other.x), Math.max(y, other.y), Math.max(z, other.z));
 	}
 
 	public Vector3 floor() {
-		return new Vector3(NumberConversions.floor(getX()), NumberConversions.floor(getY()), NumberConversions.floor(getZ()));
+		return new Vector3(NumberConversions.floor(x), NumberConversions.floor(y), NumberConversions.floor(z));
+	}
+
+	public double[] toArray() {
+		return new double[]{x, y, z};
 	}
 
 	public org.bukkit.util.Vector toVector() {
-		return new org.bukkit.util.Vector(getX(), getY(), getZ());
+		return new org.bukkit.util.Vector(x, y, z);
 	}
 
 	public Location toLocation(World world) {
-		return new Location(world, getX(), getY(), getZ());
+		return new Location(world, x, y, z);
 	}
 
 	public Block toBlock(World world) {
-		return world.getBlockAt(NumberConversions.floor(getX()), NumberConversions.floor(getY()), NumberConversions.floor(getZ()));
+		return world.getBlockAt(NumberConversions.floor(x), NumberConversions.floor(y), NumberConversions.floor(z));
 	}
 
 	public org.bukkit.util.Vector clampVelocity() {
 		return min(MAX_VELOCITY).max(MIN_VELOCITY).toVector();
 	}
+
+	/**
+	 * Compute the angular separation between two vectors.
+	 * Nearly parallel vectors use the cross product instead of the dot product for better accuracy.
+	 * @param v1 the first vector
+	 * @param v2 the second vector
+	 * @return the angular separation between the two vectors in radians, in the range [0, PI]
+	 * @throws ArithmeticException if either vector has a null norm
+	 */
+	public static double angle(Vector3 v1, Vector3 v2) {
+		double normProduct = v1.getNorm() * v2.getNorm();
+		if (normProduct == 0) throw new ArithmeticException("Zero norm");
+		double dot = v1.dotProduct(v2);
+		double threshold = normProduct * 0.9999;
+		if (dot < -threshold || dot > threshold) {
+			double sin = v1.crossProduct(v2).getNorm() / normProduct;
+			return dot >= 0 ? Math.asin(sin) : Math.PI - Math.asin(sin);
+		}
+		return Math.acos(dot / normProduct);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (!(obj instanceof Vector3)) return false;
+		Vector3 other = (Vector3) obj;
+		return x == other.x && y == other.y && z == other.z;
+	}
+
+	@Override
+	public int hashCode() {
+		// Adding 0.0 turns -0.0 into 0.0 so equal vectors hash the same
+		int result = Double.hashCode(x + 0.0);
+		result = 31 * result + Double.hashCode(y + 0.0);
+		return 31 * result + Double.hashCode(z + 0.0);
+	}
+
+	@Override
+	public String toString() {
+		return "{" + x + ", " + y + ", " + z + "}";
+	}
 }
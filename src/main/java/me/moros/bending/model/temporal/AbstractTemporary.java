@@ -0,0 +1,31 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.temporal;
+
+/**
+ * Base class for temporary values that are tracked by a {@link TemporalManager}.
+ * The value doubles as its own {@link TimingWheel} node so scheduling it needs no extra allocation or lookup.
+ */
+public abstract class AbstractTemporary implements Temporary {
+	// Intrusive wheel links, only touched by the manager that tracks this value while holding its lock
+	long expireTick;
+	AbstractTemporary prev;
+	AbstractTemporary next;
+}
@@ -21,32 +21,60 @@ package me.moros.bending.model.temporal;
 
 import me.moros.atlas.cf.checker.nullness.qual.NonNull;
 import me.moros.atlas.cf.checker.nullness.qual.Nullable;
-import me.moros.atlas.expiringmap.ExpirationPolicy;
-import me.moros.atlas.expiringmap.ExpiringMap;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 
-public final class TemporalManager<K, V extends Temporary> {
-	private final ExpiringMap<K, V> instances;
+/**
+ * Keeps track of temporary objects and reverts them once they expire.
+ * Lookups go through a {@link Store} so that managers with special keys, like blocks, can use a compact store.
+ * Expiration is tracked in a {@link TimingWheel} whose nodes are the values themselves, so no side map is needed.
+ * The wheel is advanced by {@link #tick()} once per server tick, so reverts always happen on the main thread. Store access is still synchronized as lookups
+ * may happen from worker threads during ability computation.
+ * @param <K> the type of keys
+ * @param <V> the type of temporary values
+ */
+public final class TemporalManager<K, V extends AbstractTemporary> {
+	public static final long MILLIS_PER_TICK = 50;
+
+	private final Store<K, V> store;
+	private final TimingWheel<V> wheel;
+	private final List<V> expired;
 
 	public TemporalManager() {
-		instances = ExpiringMap.builder().variableExpiration().build();
-		instances.addExpirationListener((key, value) -> value.revert());
+		this(new HashStore<>());
+	}
+
+	public TemporalManager(@NonNull Store<K, V> store) {
+		this.store = store;
+		wheel = new TimingWheel<>();
+		expired = new ArrayList<>();
 	}
 
 	public boolean isTemp(@Nullable K key) {
 		if (key == null) return false;
-		return instances.containsKey(key);
+		synchronized (store) {
+			return store.get(key) != null;
+		}
 	}
 
 	public Optional<V> get(@NonNull K key) {
-		return Optional.ofNullable(instances.get(key));
+		synchronized (store) {
+			return Optional.ofNullable(store.get(key));
+		}
 	}
 
 	public void addEntry(@NonNull K key, @NonNull V value, long duration) {
 		if (duration <= 0) duration = Temporary.DEFAULT_REVERT;
-		instances.put(key, value, ExpirationPolicy.CREATED, duration, TimeUnit.MILLISECONDS);
+		long ticks = (duration + MILLIS_PER_TICK - 1) / MILLIS_PER_TICK;
+		synchronized (store) {
+			V previous = store.put(key, value);
+			if (previous != null && previous != value) wheel.cancel(previous);
+			wheel.schedule(value, ticks);
+		}
 	}
 
 	/**
@@ -54,11 +82,98 @@ public final class TemporalManager<K, V extends Temporary> {
 	 * @param key the key of the entry to remove
 	 */
 	public void removeEntry(@NonNull K key) {
-		instances.remove(key);
+		synchronized (store) {
+			V value = store.remove(key);
+			if (value != null) wheel.cancel(value);
+		}
 	}
 
 	public void removeAll() {
-		instances.values().forEach(Temporary::revert);
-		instances.clear();
+		List<V> values;
+		synchronized (store) {
+			values = store.values();
+		}
+		values.forEach(Temporary::revert);
+		synchronized (store) {
+			store.clear();
+			wheel.clear();
+		}
+	}
+
+	/**
+	 * Advance time by one tick and revert all entries that expired.
+	 * Must be called once per server tick from the main thread.
+	 */
+	public void tick() {
+		synchronized (store) {
+			wheel.advance(expired::add);
+		}
+		if (expired.isEmpty()) return;
+		// Revert outside the lock, reverting usually removes or even re-adds entries
+		try {
+			for (V value : expired) {
+				value.revert();
+			}
+		} finally {
+			expired.clear();
+		}
+	}
+
+	/**
+	 * @return the amount of entries that are waiting to expire
+	 */
+	public int size() {
+		synchronized (store) {
+			return wheel.size();
+		}
+	}
+
+	/**
+	 * Storage for active temporary values.
+	 * @param <K> the type of keys
+	 * @param <V> the type of values
+	 */
+	public interface Store<K, V> {
+		@Nullable V get(@NonNull K key);
+
+		@Nullable V put(@NonNull K key, @NonNull V value);
+
+		@Nullable V remove(@NonNull K key);
+
+		/**
+		 * @return a snapshot of all stored values
+		 */
+		@NonNull List<V> values();
+
+		void clear();
+	}
+
+	private static final class HashStore<K, V> implements Store<K, V> {
+		private final Map<K, V> map = new HashMap<>();
+
+		@Override
+		public @Nullable V get(@NonNull K key) {
+			return map.get(key);
+		}
+
+		@Override
+		public @Nullable V put(@NonNull K key, @NonNull V value) {
+			return map.put(key, value);
+		}
+
+		@Override
+		public @Nullable V remove(@NonNull K key) {
+			return map.remove(key);
+		}
+
+		@Override
+		public @NonNull List<V> values() {
+			return new ArrayList<>(map.values());
+		}
+
+		@Override
+		public void clear() {
+			map.clear();
+		}
 	}
 }
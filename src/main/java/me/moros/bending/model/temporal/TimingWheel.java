@@ -0,0 +1,181 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.temporal;
+
+import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel with a resolution of one tick.
+ * The first level holds 256 single tick slots and every higher level holds 64 slots that each span a full
+ * revolution of the level below, covering about 38 days at 20 ticks per second. Longer delays are clamped.
+ * Values are their own doubly linked nodes (see {@link AbstractTemporary}) so scheduling, cancelling and expiring
+ * are all O(1) and allocation free. A value can only be scheduled in one wheel at a time.
+ * <p> Note: This is not thread-safe.
+ * @param <T> the type of scheduled values
+ */
+final class TimingWheel<T extends AbstractTemporary> {
+	private static final int ROOT_BITS = 8;
+	private static final int LEVEL_BITS = 6;
+	private static final int LEVELS = 4;
+	private static final int ROOT_MASK = (1 << ROOT_BITS) - 1;
+	private static final int LEVEL_MASK = (1 << LEVEL_BITS) - 1;
+	static final long MAX_DELAY = (1L << (ROOT_BITS + (LEVELS - 1) * LEVEL_BITS)) - 1;
+
+	// Sentinel heads of circular lists, one per slot
+	private final AbstractTemporary[][] wheels;
+	private long currentTick;
+	private int size;
+
+	TimingWheel() {
+		wheels = new AbstractTemporary[LEVELS][];
+		for (int level = 0; level < LEVELS; level++) {
+			AbstractTemporary[] slots = new AbstractTemporary[level == 0 ? 1 << ROOT_BITS : 1 << LEVEL_BITS];
+			for (int i = 0; i < slots.length; i++) {
+				AbstractTemporary head = new Head();
+				head.prev = head.next = head;
+				slots[i] = head;
+			}
+			wheels[level] = slots;
+		}
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Schedule a value to expire after the given amount of ticks, rescheduling it if it is already scheduled.
+	 * @param value the value to schedule
+	 * @param delay the delay in ticks, clamped to [1, {@link #MAX_DELAY}]
+	 */
+	void schedule(@NonNull T value, long delay) {
+		cancel(value);
+		value.expireTick = currentTick + Math.max(1, Math.min(delay, MAX_DELAY));
+		link(value);
+		size++;
+	}
+
+	/**
+	 * Cancel a scheduled value, does nothing if it has already expired or been cancelled.
+	 * @param value the value to cancel
+	 */
+	void cancel(@NonNull T value) {
+		if (value.next == null) return;
+		unlink(value);
+		size--;
+	}
+
+	/**
+	 * Advance the wheel by one tick and pass every value that expired to the given consumer.
+	 * The consumer is free to schedule or cancel other nodes.
+	 * @param consumer the consumer to accept expired values
+	 */
+	@SuppressWarnings("unchecked")
+	void advance(@NonNull Consumer<T> consumer) {
+		long tick = ++currentTick;
+		if ((tick & ROOT_MASK) == 0) {
+			// Cascade from the highest level that wrapped around so entries trickle down in order
+			int level = 1;
+			while (level < LEVELS - 1 && index(tick, level) == 0) {
+				level++;
+			}
+			for (; level > 0; level--) {
+				cascade(wheels[level][index(tick, level)]);
+			}
+		}
+		AbstractTemporary head = wheels[0][(int) (tick & ROOT_MASK)];
+		while (head.next != head) {
+			AbstractTemporary node = head.next;
+			unlink(node);
+			size--;
+			consumer.accept((T) node);
+		}
+	}
+
+	/**
+	 * Cancel all scheduled nodes.
+	 */
+	void clear() {
+		for (AbstractTemporary[] slots : wheels) {
+			for (AbstractTemporary head : slots) {
+				AbstractTemporary node = head.next;
+				while (node != head) {
+					AbstractTemporary next = node.next;
+					node.prev = node.next = null;
+					node = next;
+				}
+				head.prev = head.next = head;
+			}
+		}
+		size = 0;
+	}
+
+	private void cascade(AbstractTemporary head) {
+		AbstractTemporary node = head.next;
+		head.prev = head.next = head;
+		while (node != head) {
+			AbstractTemporary next = node.next;
+			link(node);
+			node = next;
+		}
+	}
+
+	private void link(AbstractTemporary node) {
+		long delta = node.expireTick - currentTick;
+		AbstractTemporary head;
+		if (delta <= ROOT_MASK) {
+			// Overdue entries land in the current slot which is processed right after cascading
+			head = wheels[0][(int) (Math.max(node.expireTick, currentTick) & ROOT_MASK)];
+		} else {
+			int level = 1;
+			while (level < LEVELS - 1 && delta >= 1L << (ROOT_BITS + level * LEVEL_BITS)) {
+				level++;
+			}
+			head = wheels[level][index(node.expireTick, level)];
+		}
+		node.prev = head.prev;
+		node.next = head;
+		head.prev.next = node;
+		head.prev = node;
+	}
+
+	private void unlink(AbstractTemporary node) {
+		node.prev.next = node.next;
+		node.next.prev = node.prev;
+		node.prev = node.next = null;
+	}
+
+	private static int index(long tick, int level) {
+		return (int) ((tick >>> (ROOT_BITS + (level - 1) * LEVEL_BITS)) & LEVEL_MASK);
+	}
+
+	// Sentinel that is never scheduled or reverted
+	private static final class Head extends AbstractTemporary {
+		@Override
+		public void revert() {
+		}
+
+		@Override
+		public void setRevertTask(RevertTask task) {
+		}
+	}
+}
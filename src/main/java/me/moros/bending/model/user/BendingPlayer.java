@@ -76,7 +76,7 @@ public final class BendingPlayer extends BendingUser {
 
 	@Override
 	public boolean isSneaking() {
-		return getEntity().isSneaking();
+		return getSnapshot().isSneaking();
 	}
 
 	@Override
@@ -44,6 +44,7 @@ public class BendingUser extends CommandUserWrapper implements User {
 	private final ExpiringMap<AbilityDescription, Boolean> cooldowns = ExpiringMap.builder().variableExpiration().build();
 	private final CompositeBendingConditional bendingConditional;
 	private final LivingEntity entity;
+	private UserSnapshot snapshot;
 
 	protected BendingUser(@NonNull LivingEntity entity) {
 		super(entity);
@@ -59,6 +60,19 @@ public class BendingUser extends CommandUserWrapper implements User {
 		return entity;
 	}
 
+	@Override
+	public @NonNull UserSnapshot getSnapshot() {
+		snapshot = UserSnapshot.of(this, snapshot);
+		return snapshot;
+	}
+
+	/**
+	 * Discards the cached snapshot, used when the entity is moved in the middle of a tick, for example by a teleport.
+	 */
+	public void invalidateSnapshot() {
+		snapshot = null;
+	}
+
 	@Override
 	public @NonNull ElementHolder getElementHolder() {
 		return elementHolder;
@@ -34,32 +34,54 @@ import java.util.Optional;
 public interface BukkitUser extends CommandUser {
 	@NonNull LivingEntity getEntity();
 
+	/**
+	 * Implementations should cache the returned snapshot, see {@link UserSnapshot#of}.
+	 * @return the state snapshot for the current tick
+	 */
+	default @NonNull UserSnapshot getSnapshot() {
+		return UserSnapshot.of(this, null);
+	}
+
 	default @NonNull Block getHeadBlock() {
-		return getEntity().getEyeLocation().getBlock();
+		return getSnapshot().getHeadBlock();
 	}
 
 	default @NonNull Block getLocBlock() {
-		return getEntity().getLocation().getBlock();
+		return getSnapshot().getLocBlock();
 	}
 
 	default @NonNull Vector3 getLocation() {
-		return new Vector3(getEntity().getLocation());
+		return getSnapshot().getLocation();
 	}
 
 	default @NonNull Vector3 getEyeLocation() {
-		return new Vector3(getEntity().getEyeLocation());
+		return getSnapshot().getEyeLocation();
 	}
 
 	default @NonNull Vector3 getDirection() {
-		return new Vector3(getEntity().getLocation().getDirection());
+		return getSnapshot().getDirection();
 	}
 
 	default int getYaw() {
-		return (int) getEntity().getLocation().getYaw();
+		return getSnapshot().getYaw();
 	}
 
 	default int getPitch() {
-		return (int) getEntity().getLocation().getPitch();
+		return getSnapshot().getPitch();
+	}
+
+	/**
+	 * @see UserSnapshot#isOnGround()
+	 */
+	default boolean isOnGround() {
+		return getSnapshot().isOnGround();
+	}
+
+	/**
+	 * @see UserSnapshot#getDistanceAboveGround()
+	 */
+	default double getDistanceAboveGround() {
+		return getSnapshot().getDistanceAboveGround();
 	}
 
 	default @NonNull World getWorld() {
@@ -0,0 +1,176 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.user;
+
+import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+import me.moros.atlas.cf.checker.nullness.qual.Nullable;
+import me.moros.bending.model.math.Vector3;
+import me.moros.bending.util.methods.WorldMethods;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Lazily computed view of a user's state that is shared for the duration of a bending tick.
+ * Snapshots are only reused between {@link #beginTick()} and {@link #endTick()}, so code running outside the
+ * bending update (event listeners for example) always observes live values.
+ * Teleporting a user discards their snapshot, see {@link BendingUser#invalidateSnapshot()}.
+ * <p> Note: This is not thread-safe and should only be used from the main thread.
+ */
+public final class UserSnapshot {
+	private static int epoch = 0;
+	private static boolean active = false;
+
+	private final LivingEntity entity;
+	private final int snapshotEpoch;
+
+	private Location location;
+	private Location eyeLocation;
+	private Vector3 position;
+	private Vector3 eyePosition;
+	private Vector3 direction;
+	private Block locBlock;
+	private Block headBlock;
+	private Boolean sneaking;
+	private Boolean onGround;
+	private Double distanceAboveGround;
+	private Map<Object, Object> targets;
+
+	private UserSnapshot(LivingEntity entity) {
+		this.entity = entity;
+		this.snapshotEpoch = epoch;
+	}
+
+	/**
+	 * Invalidates all snapshots and enables caching until {@link #endTick()} is called.
+	 */
+	public static void beginTick() {
+		epoch++;
+		active = true;
+	}
+
+	public static void endTick() {
+		active = false;
+	}
+
+	/**
+	 * @param user the user to snapshot
+	 * @param previous the last snapshot returned for this user, if any
+	 * @return the previous snapshot if it still belongs to the current tick, a new one otherwise
+	 */
+	public static @NonNull UserSnapshot of(@NonNull BukkitUser user, @Nullable UserSnapshot previous) {
+		LivingEntity entity = user.getEntity();
+		if (active && previous != null && previous.snapshotEpoch == epoch && previous.entity == entity) {
+			return previous;
+		}
+		return new UserSnapshot(entity);
+	}
+
+	private Location location() {
+		if (location == null) location = entity.getLocation();
+		return location;
+	}
+
+	private Location eyeLocation() {
+		if (eyeLocation == null) eyeLocation = entity.getEyeLocation();
+		return eyeLocation;
+	}
+
+	public @NonNull Vector3 getLocation() {
+		if (position == null) position = new Vector3(location());
+		return position;
+	}
+
+	public @NonNull Vector3 getEyeLocation() {
+		if (eyePosition == null) eyePosition = new Vector3(eyeLocation());
+		return eyePosition;
+	}
+
+	public @NonNull Vector3 getDirection() {
+		if (direction == null) direction = new Vector3(location().getDirection());
+		return direction;
+	}
+
+	public int getYaw() {
+		return (int) location().getYaw();
+	}
+
+	public int getPitch() {
+		return (int) location().getPitch();
+	}
+
+	public @NonNull Block getLocBlock() {
+		if (locBlock == null) locBlock = location().getBlock();
+		return locBlock;
+	}
+
+	public @NonNull Block getHeadBlock() {
+		if (headBlock == null) headBlock = eyeLocation().getBlock();
+		return headBlock;
+	}
+
+	/**
+	 * Non-players are always considered sneaking so they can charge abilities.
+	 */
+	public boolean isSneaking() {
+		if (sneaking == null) sneaking = !(entity instanceof Player) || ((Player) entity).isSneaking();
+		return sneaking;
+	}
+
+	/**
+	 * @see WorldMethods#isOnGround
+	 */
+	public boolean isOnGround() {
+		if (onGround == null) onGround = WorldMethods.isOnGround(entity);
+		return onGround;
+	}
+
+	/**
+	 * @see WorldMethods#distanceAboveGround
+	 */
+	public double getDistanceAboveGround() {
+		if (distanceAboveGround == null) distanceAboveGround = WorldMethods.distanceAboveGround(entity);
+		return distanceAboveGround;
+	}
+
+	/**
+	 * Memoizes a targeting query, like a ray trace from the user's eyes, for the lifetime of this snapshot.
+	 * The key must capture everything the result depends on, usually the ray along with the range and filters,
+	 * so a query from a different position or direction never reuses a stale result.
+	 * @param key the query key
+	 * @param loader the function to compute the result, it must not return null
+	 * @return the cached or computed result
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> @NonNull T getTarget(@NonNull Object key, @NonNull Supplier<@NonNull T> loader) {
+		if (targets == null) targets = new HashMap<>(4);
+		Object result = targets.get(key);
+		if (result == null) {
+			result = loader.get();
+			targets.put(key, result);
+		}
+		return (T) result;
+	}
+}
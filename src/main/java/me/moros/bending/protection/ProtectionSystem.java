@@ -19,8 +19,6 @@
 
 package me.moros.bending.protection;
 
-import me.moros.atlas.caffeine.cache.Cache;
-import me.moros.atlas.caffeine.cache.Caffeine;
 import me.moros.atlas.cf.checker.nullness.qual.NonNull;
 import me.moros.atlas.cf.checker.nullness.qual.Nullable;
 import me.moros.atlas.configurate.CommentedConfigurationNode;
@@ -33,9 +31,9 @@ import me.moros.bending.protection.instances.GriefPreventionProtection;
 import me.moros.bending.protection.instances.Protection;
 import me.moros.bending.protection.instances.TownyProtection;
 import me.moros.bending.protection.instances.WorldGuardProtection;
+import me.moros.bending.util.collection.BlockMap;
 import org.bukkit.block.Block;
 
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
@@ -50,7 +48,7 @@ public class ProtectionSystem extends Configurable {
 	 * While this implementation is thread-safe it might be dangerous to use this async as the protection plugins
 	 * might not be thread-safe themselves and we load data from them when results aren't cached.
 	 */
-	private final Map<User, Cache<Block, Boolean>> cache = new ConcurrentHashMap<>();
+	private final Map<User, BlockCache> cache = new ConcurrentHashMap<>();
 	private final Collection<Protection> protections = new ArrayList<>();
 	private boolean allowHarmless;
 
@@ -102,8 +100,7 @@ public class ProtectionSystem extends Configurable {
 	 */
 	public boolean canBuild(@NonNull User user, @NonNull Block block, boolean isHarmless) {
 		if (isHarmless && allowHarmless) return true;
-		Boolean result = cache.computeIfAbsent(user, u -> buildCache()).get(block, b -> canBuildPostCache(user, b));
-		return result != null && result;
+		return cache.computeIfAbsent(user, u -> new BlockCache()).get(user, block);
 	}
 
 	/**
@@ -134,12 +131,27 @@ public class ProtectionSystem extends Configurable {
 	}
 
 	/**
-	 * Creates a block cache in which entries expire 5000ms after their last access time.
-	 * @return the created cache
-	 * @see Caffeine
+	 * A block cache keyed by packed block positions in which all entries are dropped every 5000ms.
 	 */
-	private static Cache<Block, Boolean> buildCache() {
-		return Caffeine.newBuilder().expireAfterAccess(Duration.ofMillis(5000)).build();
+	private final class BlockCache {
+		private static final long DURATION = 5000;
+
+		private final BlockMap<Boolean> results = new BlockMap<>();
+		private long expireTime;
+
+		private synchronized boolean get(User user, Block block) {
+			long time = System.currentTimeMillis();
+			if (time > expireTime) {
+				results.clear();
+				expireTime = time + DURATION;
+			}
+			Boolean result = results.get(block);
+			if (result == null) {
+				result = canBuildPostCache(user, block);
+				results.put(block, result);
+			}
+			return result;
+		}
 	}
 
 	@FunctionalInterface
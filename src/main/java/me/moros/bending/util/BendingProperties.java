@@ -19,7 +19,11 @@
 
 package me.moros.bending.util;
 
+import me.moros.bending.config.Configurable;
+
 public final class BendingProperties {
+	private static final Config config = new Config();
+
 	public static final long EARTHBENDING_REVERT_TIME = 300_000; // 5 minutes
 	public static final long FIRE_REVERT_TIME = 10000; // 10 seconds
 	public static final long EXPLOSION_REVERT_TIME = 20000; // 20 seconds
@@ -30,4 +34,22 @@ public final class BendingProperties {
 
 	public static final double WATER_NIGHT_MODIFIER = 1.25;
 	public static final double FIRE_DAY_MODIFIER = 1.25;
+
+	/**
+	 * Below this radius snapshotting the affected chunks costs more main thread time than scanning them directly,
+	 * see ScanBenchmark. The default is above every stock radius so only attribute boosted scans go off thread.
+	 * @return the radius above which sphere scans should be done off the main thread
+	 */
+	public static double getAsyncScanRadius() {
+		return config.asyncScanRadius;
+	}
+
+	private static final class Config extends Configurable {
+		private double asyncScanRadius;
+
+		@Override
+		public void onConfigReload() {
+			asyncScanRadius = config.node("properties", "async-scan-radius").getDouble(12.0);
+		}
+	}
 }
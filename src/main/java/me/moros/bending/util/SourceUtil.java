@@ -23,16 +23,13 @@ import me.moros.atlas.cf.checker.nullness.qual.NonNull;
 import me.moros.bending.Bending;
 import me.moros.bending.game.temporal.TempBlock;
 import me.moros.bending.model.user.User;
-import org.bukkit.FluidCollisionMode;
-import org.bukkit.Location;
+import me.moros.bending.util.methods.WorldMethods;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.PotionMeta;
 import org.bukkit.potion.PotionData;
 import org.bukkit.potion.PotionType;
-import org.bukkit.util.RayTraceResult;
-import org.bukkit.util.Vector;
 
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -69,12 +66,8 @@ public final class SourceUtil {
 	 * @return an Optional source block
 	 */
 	public static Optional<Block> getSource(@NonNull User user, double range, @NonNull Predicate<Block> predicate, boolean ignorePassable) {
-		Location start = user.getEntity().getEyeLocation();
-		Vector dir = user.getDirection().toVector();
-		FluidCollisionMode mode = ignorePassable ? FluidCollisionMode.NEVER : FluidCollisionMode.ALWAYS;
-		RayTraceResult result = user.getWorld().rayTraceBlocks(start, dir, range, mode, ignorePassable);
-		if (result == null || result.getHitBlock() == null) return Optional.empty();
-		Block block = result.getHitBlock();
+		Block block = WorldMethods.rayTraceBlocks(user, range, ignorePassable).orElse(null);
+		if (block == null) return Optional.empty();
 		if (!Bending.getGame().getProtectionSystem().canBuild(user, block) || !predicate.test(block) || !TempBlock.isBendable(block)) {
 			return Optional.empty();
 		}
@@ -27,11 +27,17 @@ import me.moros.bending.Bending;
 import org.bukkit.Bukkit;
 import org.bukkit.scheduler.BukkitTask;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
 /**
  * Utility class to provide task chains and create repeating tasks.
  * @see TaskChain
  */
 public final class Tasker {
+	private static final Executor ASYNC_EXECUTOR = r -> Bukkit.getScheduler().runTaskAsynchronously(Bending.getPlugin(), r);
+
 	private static TaskChainFactory taskChainFactory;
 
 	public static void init(Bending plugin) {
@@ -49,4 +55,13 @@ public final class Tasker {
 	public static BukkitTask createTaskTimer(@NonNull Runnable runnable, long delay, long period) {
 		return Bukkit.getScheduler().runTaskTimer(Bending.getPlugin(), runnable, delay, period);
 	}
+
+	/**
+	 * Computes a value on one of the server's async worker threads.
+	 * @param supplier the supplier to run, it must not access the world
+	 * @return a future that completes on the worker thread
+	 */
+	public static <T> @NonNull CompletableFuture<T> supplyAsync(@NonNull Supplier<T> supplier) {
+		return CompletableFuture.supplyAsync(supplier, ASYNC_EXECUTOR);
+	}
 }
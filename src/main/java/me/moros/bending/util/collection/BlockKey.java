@@ -0,0 +1,70 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.util.collection;
+
+import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+/**
+ * Utility class to pack block coordinates into a single long.
+ * Layout: 26 bits for x, 26 bits for z and 12 bits for y, matching the vanilla block position limits.
+ * Keys do not hold a world, block keyed collections are expected to keep a separate store per world.
+ */
+public final class BlockKey {
+	private static final int XZ_BITS = 26;
+	private static final int Y_BITS = 12;
+	private static final long XZ_MASK = (1L << XZ_BITS) - 1;
+	private static final long Y_MASK = (1L << Y_BITS) - 1;
+	private static final int X_SHIFT = XZ_BITS + Y_BITS;
+	private static final int Z_SHIFT = Y_BITS;
+
+	public static long pack(int x, int y, int z) {
+		return ((x & XZ_MASK) << X_SHIFT) | ((z & XZ_MASK) << Z_SHIFT) | (y & Y_MASK);
+	}
+
+	public static long pack(@NonNull Block block) {
+		return pack(block.getX(), block.getY(), block.getZ());
+	}
+
+	public static int getX(long key) {
+		return (int) (key >> X_SHIFT);
+	}
+
+	public static int getY(long key) {
+		return (int) (key << (64 - Y_BITS) >> (64 - Y_BITS));
+	}
+
+	public static int getZ(long key) {
+		return (int) (key << (64 - X_SHIFT) >> (64 - XZ_BITS));
+	}
+
+	public static @NonNull Block toBlock(@NonNull World world, long key) {
+		return world.getBlockAt(getX(key), getY(key), getZ(key));
+	}
+
+	/**
+	 * Spreads the bits of a key so that neighbouring blocks don't cluster in open addressing tables.
+	 */
+	static int hash(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+}
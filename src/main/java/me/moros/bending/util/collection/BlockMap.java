@@ -0,0 +1,104 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.util.collection;
+
+import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+import me.moros.atlas.cf.checker.nullness.qual.Nullable;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A map keyed by blocks that stores a separate {@link Long2ObjectMap} of packed {@link BlockKey}s for each world.
+ * <p> Note: Different worlds can be accessed concurrently, but each world must only be accessed from a single thread.
+ * @param <V> the type of values
+ */
+public final class BlockMap<V> {
+	private final Map<UUID, Long2ObjectMap<V>> worlds = new ConcurrentHashMap<>();
+
+	public @Nullable V get(@NonNull Block block) {
+		Long2ObjectMap<V> map = worlds.get(block.getWorld().getUID());
+		return map == null ? null : map.get(BlockKey.pack(block));
+	}
+
+	public boolean containsKey(@NonNull Block block) {
+		Long2ObjectMap<V> map = worlds.get(block.getWorld().getUID());
+		return map != null && map.containsKey(BlockKey.pack(block));
+	}
+
+	/**
+	 * @return the previous value associated with the block or null if there was none
+	 */
+	public @Nullable V put(@NonNull Block block, @NonNull V value) {
+		return worlds.computeIfAbsent(block.getWorld().getUID(), k -> new Long2ObjectMap<>()).put(BlockKey.pack(block), value);
+	}
+
+	/**
+	 * @return the removed value or null if the block wasn't present
+	 */
+	public @Nullable V remove(@NonNull Block block) {
+		Long2ObjectMap<V> map = worlds.get(block.getWorld().getUID());
+		return map == null ? null : map.remove(BlockKey.pack(block));
+	}
+
+	/**
+	 * @param world the world to get the store for
+	 * @return the store of the given world or null if nothing was ever stored in that world
+	 */
+	public @Nullable Long2ObjectMap<V> getWorld(@NonNull World world) {
+		return worlds.get(world.getUID());
+	}
+
+	/**
+	 * @param world the world to remove
+	 * @return the removed store of the given world or null if nothing was ever stored in that world
+	 */
+	public @Nullable Long2ObjectMap<V> removeWorld(@NonNull World world) {
+		return worlds.remove(world.getUID());
+	}
+
+	public int size() {
+		int size = 0;
+		for (Long2ObjectMap<V> map : worlds.values()) {
+			size += map.size();
+		}
+		return size;
+	}
+
+	/**
+	 * @return a snapshot of all values in all worlds
+	 */
+	public @NonNull List<V> values() {
+		List<V> result = new ArrayList<>();
+		for (Long2ObjectMap<V> map : worlds.values()) {
+			map.forEachValue(result::add);
+		}
+		return result;
+	}
+
+	public void clear() {
+		worlds.clear();
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.util.collection;
+
+import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+import org.bukkit.block.Block;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A set of blocks that stores a separate {@link LongSet} of packed {@link BlockKey}s for each world.
+ * <p> Note: Different worlds can be accessed concurrently, but each world must only be accessed from a single thread.
+ */
+public final class BlockSet {
+	private final Map<UUID, LongSet> worlds = new ConcurrentHashMap<>();
+
+	public boolean contains(@NonNull Block block) {
+		LongSet set = worlds.get(block.getWorld().getUID());
+		return set != null && set.contains(BlockKey.pack(block));
+	}
+
+	public boolean add(@NonNull Block block) {
+		return worlds.computeIfAbsent(block.getWorld().getUID(), k -> new LongSet()).add(BlockKey.pack(block));
+	}
+
+	public boolean remove(@NonNull Block block) {
+		LongSet set = worlds.get(block.getWorld().getUID());
+		return set != null && set.remove(BlockKey.pack(block));
+	}
+
+	public void clear() {
+		worlds.clear();
+	}
+}
@@ -0,0 +1,222 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.util.collection;
+
+import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+import me.moros.atlas.cf.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * An open addressing hash map with primitive long keys and linear probing.
+ * Key 0 is stored separately so the key array doesn't need a separate occupancy table.
+ * <p> Note: This is not thread-safe.
+ * @param <V> the type of values
+ */
+public final class Long2ObjectMap<V> {
+	private static final float LOAD_FACTOR = 0.75F;
+
+	private long[] keys;
+	private Object[] values;
+	private int mask;
+	private int size;
+	private int threshold;
+
+	private boolean hasZeroKey;
+	private V zeroValue;
+
+	public Long2ObjectMap() {
+		this(16);
+	}
+
+	public Long2ObjectMap(int expectedSize) {
+		allocate(tableSize(expectedSize));
+	}
+
+	private static int tableSize(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(2, (int) Math.ceil(expectedSize / LOAD_FACTOR)) - 1) << 1;
+		return Math.max(4, capacity);
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new Object[capacity];
+		mask = capacity - 1;
+		threshold = (int) (capacity * LOAD_FACTOR);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean containsKey(long key) {
+		if (key == 0) return hasZeroKey;
+		return indexOf(key) >= 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	public @Nullable V get(long key) {
+		if (key == 0) return zeroValue;
+		int index = indexOf(key);
+		return index < 0 ? null : (V) values[index];
+	}
+
+	/**
+	 * @return the previous value associated with the key or null if there was none
+	 */
+	@SuppressWarnings("unchecked")
+	public @Nullable V put(long key, @NonNull V value) {
+		if (key == 0) {
+			V previous = zeroValue;
+			if (!hasZeroKey) size++;
+			hasZeroKey = true;
+			zeroValue = value;
+			return previous;
+		}
+		int index = BlockKey.hash(key) & mask;
+		while (keys[index] != 0) {
+			if (keys[index] == key) {
+				V previous = (V) values[index];
+				values[index] = value;
+				return previous;
+			}
+			index = (index + 1) & mask;
+		}
+		keys[index] = key;
+		values[index] = value;
+		if (++size > threshold) rehash(2 * keys.length);
+		return null;
+	}
+
+	/**
+	 * @return the removed value or null if the key wasn't present
+	 */
+	@SuppressWarnings("unchecked")
+	public @Nullable V remove(long key) {
+		if (key == 0) {
+			if (!hasZeroKey) return null;
+			V previous = zeroValue;
+			hasZeroKey = false;
+			zeroValue = null;
+			size--;
+			return previous;
+		}
+		int index = indexOf(key);
+		if (index < 0) return null;
+		V previous = (V) values[index];
+		shiftKeys(index);
+		size--;
+		return previous;
+	}
+
+	public void clear() {
+		if (size == 0) return;
+		Arrays.fill(keys, 0);
+		Arrays.fill(values, null);
+		hasZeroKey = false;
+		zeroValue = null;
+		size = 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	public void forEachValue(@NonNull Consumer<V> consumer) {
+		if (hasZeroKey) consumer.accept(zeroValue);
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != 0) consumer.accept((V) values[i]);
+		}
+	}
+
+	/**
+	 * @return a snapshot of all values, safe to use while modifying the map
+	 */
+	public @NonNull List<V> values() {
+		List<V> result = new ArrayList<>(size);
+		forEachValue(result::add);
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	public void forEach(@NonNull Long2ObjectConsumer<V> consumer) {
+		if (hasZeroKey) consumer.accept(0, zeroValue);
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != 0) consumer.accept(keys[i], (V) values[i]);
+		}
+	}
+
+	private int indexOf(long key) {
+		int index = BlockKey.hash(key) & mask;
+		long current;
+		while ((current = keys[index]) != 0) {
+			if (current == key) return index;
+			index = (index + 1) & mask;
+		}
+		return -1;
+	}
+
+	// Backward shift deletion, keeps probe sequences intact without tombstones
+	private void shiftKeys(int index) {
+		int last;
+		while (true) {
+			last = index;
+			index = (index + 1) & mask;
+			long current;
+			while (true) {
+				if ((current = keys[index]) == 0) {
+					keys[last] = 0;
+					values[last] = null;
+					return;
+				}
+				int slot = BlockKey.hash(current) & mask;
+				if (last <= index ? (last >= slot || slot > index) : (last >= slot && slot > index)) break;
+				index = (index + 1) & mask;
+			}
+			keys[last] = current;
+			values[last] = values[index];
+		}
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		Object[] oldValues = values;
+		allocate(capacity);
+		for (int i = 0; i < oldKeys.length; i++) {
+			long key = oldKeys[i];
+			if (key == 0) continue;
+			int index = BlockKey.hash(key) & mask;
+			while (keys[index] != 0) {
+				index = (index + 1) & mask;
+			}
+			keys[index] = key;
+			values[index] = oldValues[i];
+		}
+	}
+
+	@FunctionalInterface
+	public interface Long2ObjectConsumer<V> {
+		void accept(long key, V value);
+	}
+}
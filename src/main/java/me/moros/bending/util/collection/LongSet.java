@@ -0,0 +1,162 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.util.collection;
+
+import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * An open addressing hash set of primitive longs with linear probing.
+ * <p> Note: This is not thread-safe.
+ * @see Long2ObjectMap
+ */
+public final class LongSet {
+	private static final float LOAD_FACTOR = 0.75F;
+
+	private long[] keys;
+	private int mask;
+	private int size;
+	private int threshold;
+	private boolean hasZeroKey;
+
+	public LongSet() {
+		this(16);
+	}
+
+	public LongSet(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(2, (int) Math.ceil(expectedSize / LOAD_FACTOR)) - 1) << 1;
+		allocate(Math.max(4, capacity));
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		mask = capacity - 1;
+		threshold = (int) (capacity * LOAD_FACTOR);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean contains(long key) {
+		if (key == 0) return hasZeroKey;
+		return indexOf(key) >= 0;
+	}
+
+	/**
+	 * @return true if the key was added, false if it was already present
+	 */
+	public boolean add(long key) {
+		if (key == 0) {
+			if (hasZeroKey) return false;
+			hasZeroKey = true;
+			size++;
+			return true;
+		}
+		int index = BlockKey.hash(key) & mask;
+		while (keys[index] != 0) {
+			if (keys[index] == key) return false;
+			index = (index + 1) & mask;
+		}
+		keys[index] = key;
+		if (++size > threshold) rehash(2 * keys.length);
+		return true;
+	}
+
+	/**
+	 * @return true if the key was present
+	 */
+	public boolean remove(long key) {
+		if (key == 0) {
+			if (!hasZeroKey) return false;
+			hasZeroKey = false;
+			size--;
+			return true;
+		}
+		int index = indexOf(key);
+		if (index < 0) return false;
+		shiftKeys(index);
+		size--;
+		return true;
+	}
+
+	public void clear() {
+		if (size == 0) return;
+		Arrays.fill(keys, 0);
+		hasZeroKey = false;
+		size = 0;
+	}
+
+	public void forEach(@NonNull LongConsumer consumer) {
+		if (hasZeroKey) consumer.accept(0);
+		for (long key : keys) {
+			if (key != 0) consumer.accept(key);
+		}
+	}
+
+	private int indexOf(long key) {
+		int index = BlockKey.hash(key) & mask;
+		long current;
+		while ((current = keys[index]) != 0) {
+			if (current == key) return index;
+			index = (index + 1) & mask;
+		}
+		return -1;
+	}
+
+	// Backward shift deletion, see Long2ObjectMap
+	private void shiftKeys(int index) {
+		int last;
+		while (true) {
+			last = index;
+			index = (index + 1) & mask;
+			long current;
+			while (true) {
+				if ((current = keys[index]) == 0) {
+					keys[last] = 0;
+					return;
+				}
+				int slot = BlockKey.hash(current) & mask;
+				if (last <= index ? (last >= slot || slot > index) : (last >= slot && slot > index)) break;
+				index = (index + 1) & mask;
+			}
+			keys[last] = current;
+		}
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		allocate(capacity);
+		for (long key : oldKeys) {
+			if (key == 0) continue;
+			int index = BlockKey.hash(key) & mask;
+			while (keys[index] != 0) {
+				index = (index + 1) & mask;
+			}
+			keys[index] = key;
+		}
+	}
+}
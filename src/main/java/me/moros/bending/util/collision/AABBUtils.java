@@ -20,11 +20,16 @@
 package me.moros.bending.util.collision;
 
 import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+import me.moros.bending.model.collision.Collider;
 import me.moros.bending.model.collision.geometry.AABB;
+import me.moros.bending.model.collision.geometry.Disk;
 import me.moros.bending.model.collision.geometry.DummyCollider;
+import me.moros.bending.model.collision.geometry.OBB;
+import me.moros.bending.model.collision.geometry.Sphere;
 import me.moros.bending.model.math.Vector3;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
+import org.bukkit.util.BoundingBox;
 
 public final class AABBUtils {
 	public static final DummyCollider DUMMY_COLLIDER = new DummyCollider();
@@ -35,7 +40,7 @@ public final class AABBUtils {
 	 */
 	public static @NonNull AABB getBlockBounds(@NonNull Block block) {
 		if (block.isPassable()) return DUMMY_COLLIDER;
-		return new AABB(new Vector3(block.getBoundingBox().getMin()), new Vector3(block.getBoundingBox().getMax()));
+		return fromBukkit(block.getBoundingBox());
 	}
 
 	/**
@@ -43,6 +48,29 @@ public final class AABBUtils {
 	 * @return the provided entity's {@link AABB}
 	 */
 	public static @NonNull AABB getEntityBounds(@NonNull Entity entity) {
-		return new AABB(new Vector3(entity.getBoundingBox().getMin()), new Vector3(entity.getBoundingBox().getMax()));
+		return fromBukkit(entity.getBoundingBox());
+	}
+
+	private static AABB fromBukkit(BoundingBox box) {
+		return new AABB(new Vector3(box.getMinX(), box.getMinY(), box.getMinZ()), new Vector3(box.getMaxX(), box.getMaxY(), box.getMaxZ()));
+	}
+
+	/**
+	 * Calculates an {@link AABB} that fully contains the given collider.
+	 * The result is exact for boxes and spheres and conservative for other colliders.
+	 * @param collider the collider to check
+	 * @return the bounding box in world space
+	 */
+	public static @NonNull AABB getBounds(@NonNull Collider collider) {
+		if (collider instanceof AABB) {
+			return (AABB) collider;
+		} else if (collider instanceof Disk) {
+			return getBounds(((Disk) collider).getSphere());
+		} else if (collider instanceof OBB) {
+			return ((OBB) collider).getOuterBounds();
+		}
+		Vector3 pos = collider.getPosition();
+		double r = (collider instanceof Sphere) ? ((Sphere) collider).radius : collider.getHalfExtents().getNorm();
+		return new AABB(pos.add(-r, -r, -r), pos.add(r, r, r));
 	}
 }
@@ -66,8 +66,26 @@ public final class CollisionUtil {
 	 * @return true if it hit at least one entity
 	 */
 	public static boolean handleEntityCollisions(@NonNull User user, @NonNull Collider collider, @NonNull CollisionCallback callback, boolean livingOnly, boolean selfCollision, boolean earlyEscape) {
+		EntityGrid grid = Bending.getGame().getEntityGrid(user.getWorld());
+		if (grid == null || !grid.isActive()) return handleNearbyEntityCollisions(user, collider, callback, livingOnly, selfCollision, earlyEscape);
+		boolean hit = false;
+		for (Entity entity : grid.getIntersecting(collider)) {
+			if (!entity.isValid()) continue; // Entity may have been removed earlier in this tick
+			if (livingOnly && !(entity instanceof LivingEntity)) continue;
+			if (!selfCollision && entity.equals(user.getEntity())) continue;
+			if (!isValidEntity(entity)) continue;
+			if (!Bending.getGame().getProtectionSystem().canBuild(user, entity.getLocation().getBlock())) continue;
+			boolean result = callback.onCollision(entity);
+			if (earlyEscape && result) return true;
+			hit |= result;
+		}
+		return hit;
+	}
+
+	// Fallback for worlds without an entity grid and for queries outside the world tick, such as event handlers
+	private static boolean handleNearbyEntityCollisions(User user, Collider collider, CollisionCallback callback, boolean livingOnly, boolean selfCollision, boolean earlyEscape) {
 		final double buffer = 4.0; // Buffer needed to check for nearby entities that have locations outside the check range but still intersect
-		Vector3 extent = collider.getHalfExtents().add(new Vector3(buffer, buffer, buffer));
+		Vector3 extent = collider.getHalfExtents().add(buffer, buffer, buffer);
 		Vector3 pos = collider.getPosition();
 		boolean hit = false;
 		for (Entity entity : user.getWorld().getNearbyEntities(pos.toLocation(user.getWorld()), extent.getX(), extent.getY(), extent.getZ())) {
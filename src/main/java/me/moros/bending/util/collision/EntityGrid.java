@@ -0,0 +1,221 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.util.collision;
+
+import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+import me.moros.bending.model.collision.Collider;
+import me.moros.bending.model.collision.geometry.AABB;
+import me.moros.bending.model.math.Vector3;
+import me.moros.bending.util.collection.BlockKey;
+import me.moros.bending.util.collection.Long2ObjectMap;
+import me.moros.bending.util.collection.LongSet;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.util.NumberConversions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A uniform grid of entities in a world along with their cached bounding boxes.
+ * The grid only lives for the duration of a world tick, between {@link #beginTick()} and {@link #endTick()}, and is
+ * only populated with the entities of chunks touched by queries in that tick, so all entity collision checks in a tick
+ * share a single pass over each chunk's entities. Entities that spawn after their chunk was populated are added
+ * through {@link #add(Entity)}. Queries outside a tick must not use the grid, as entities may have moved since.
+ * <p> Note: This is not thread-safe.
+ */
+public final class EntityGrid {
+	private static final int CELL_SHIFT = 2; // 4x4x4 cells
+	// Entities are indexed by the chunk of their location but their bounds can extend into neighbouring chunks
+	private static final double CHUNK_MARGIN = 4;
+
+	private final World world;
+	private final List<Entity> entities = new ArrayList<>();
+	private final List<AABB> bounds = new ArrayList<>();
+	private final Long2ObjectMap<Cell> cells = new Long2ObjectMap<>();
+	private final List<Cell> cellPool = new ArrayList<>();
+	private final LongSet populated = new LongSet();
+
+	private int[] stamps = new int[64];
+	private int stamp = 0;
+	private boolean active = false;
+
+	public EntityGrid(@NonNull World world) {
+		this.world = world;
+	}
+
+	/**
+	 * Start a new tick, the grid will be populated by queries until {@link #endTick()}.
+	 */
+	public void beginTick() {
+		clear();
+		active = true;
+	}
+
+	/**
+	 * End the current tick and release all cached entities.
+	 */
+	public void endTick() {
+		clear();
+		active = false;
+	}
+
+	/**
+	 * @return whether the grid can be queried, which is only the case during a world tick
+	 */
+	public boolean isActive() {
+		return active;
+	}
+
+	private void clear() {
+		entities.clear();
+		bounds.clear();
+		cells.forEachValue(cellPool::add);
+		cells.clear();
+		populated.clear();
+		if (stamp != 0) {
+			Arrays.fill(stamps, 0);
+			stamp = 0;
+		}
+	}
+
+	/**
+	 * Adds an entity that spawned during the current tick. It is ignored if its chunk has not been populated yet,
+	 * as it will be picked up when that chunk is first queried.
+	 * @param entity the entity to add
+	 */
+	public void add(@NonNull Entity entity) {
+		if (!active) return;
+		Location loc = entity.getLocation();
+		if (populated.contains(BlockKey.pack(loc.getBlockX() >> 4, 0, loc.getBlockZ() >> 4))) insert(entity);
+	}
+
+	private void populate(Vector3 min, Vector3 max) {
+		int minX = NumberConversions.floor(min.getX() - CHUNK_MARGIN) >> 4;
+		int minZ = NumberConversions.floor(min.getZ() - CHUNK_MARGIN) >> 4;
+		int maxX = NumberConversions.floor(max.getX() + CHUNK_MARGIN) >> 4;
+		int maxZ = NumberConversions.floor(max.getZ() + CHUNK_MARGIN) >> 4;
+		for (int x = minX; x <= maxX; x++) {
+			for (int z = minZ; z <= maxZ; z++) {
+				long key = BlockKey.pack(x, 0, z);
+				if (!populated.add(key)) continue;
+				if (!world.isChunkLoaded(x, z)) continue;
+				for (Entity entity : world.getChunkAt(x, z).getEntities()) {
+					insert(entity);
+				}
+			}
+		}
+	}
+
+	private void insert(Entity entity) {
+		AABB box = AABBUtils.getEntityBounds(entity);
+		int index = entities.size();
+		entities.add(entity);
+		bounds.add(box);
+		if (index >= stamps.length) stamps = Arrays.copyOf(stamps, 2 * stamps.length);
+		Vector3 min = box.min();
+		Vector3 max = box.max();
+		int minX = cell(min.getX()), minY = cell(min.getY()), minZ = cell(min.getZ());
+		int maxX = cell(max.getX()), maxY = cell(max.getY()), maxZ = cell(max.getZ());
+		for (int x = minX; x <= maxX; x++) {
+			for (int y = minY; y <= maxY; y++) {
+				for (int z = minZ; z <= maxZ; z++) {
+					long key = BlockKey.pack(x, y, z);
+					Cell cell = cells.get(key);
+					if (cell == null) {
+						cell = newCell();
+						cells.put(key, cell);
+					}
+					cell.add(index);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collects all entities whose cached bounds intersect the given collider.
+	 * The returned list is a new copy so it is safe to query the grid again while iterating it.
+	 * @param collider the collider to check
+	 * @return the intersecting entities
+	 * @throws IllegalStateException if the grid is queried outside a tick
+	 */
+	public @NonNull List<@NonNull Entity> getIntersecting(@NonNull Collider collider) {
+		if (!active) throw new IllegalStateException("Entity grid queried outside a world tick");
+		AABB box = AABBUtils.getBounds(collider);
+		Vector3 min = box.min();
+		Vector3 max = box.max();
+		populate(min, max);
+		if (entities.isEmpty()) return Collections.emptyList();
+		int minX = cell(min.getX()), minY = cell(min.getY()), minZ = cell(min.getZ());
+		int maxX = cell(max.getX()), maxY = cell(max.getY()), maxZ = cell(max.getZ());
+		if (++stamp == Integer.MAX_VALUE) {
+			Arrays.fill(stamps, 0);
+			stamp = 1;
+		}
+		List<Entity> result = new ArrayList<>();
+		long cellCount = (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+		if (cellCount > entities.size()) {
+			// Huge query volume, a linear pass is cheaper than visiting mostly empty cells
+			for (int i = 0; i < entities.size(); i++) {
+				if (collider.intersects(bounds.get(i))) result.add(entities.get(i));
+			}
+			return result;
+		}
+		for (int x = minX; x <= maxX; x++) {
+			for (int y = minY; y <= maxY; y++) {
+				for (int z = minZ; z <= maxZ; z++) {
+					Cell cell = cells.get(BlockKey.pack(x, y, z));
+					if (cell == null) continue;
+					for (int i = 0; i < cell.size; i++) {
+						int index = cell.indices[i];
+						if (stamps[index] == stamp) continue;
+						stamps[index] = stamp;
+						if (collider.intersects(bounds.get(index))) result.add(entities.get(index));
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	private Cell newCell() {
+		if (cellPool.isEmpty()) return new Cell();
+		Cell cell = cellPool.remove(cellPool.size() - 1);
+		cell.size = 0;
+		return cell;
+	}
+
+	private static int cell(double value) {
+		return NumberConversions.floor(value) >> CELL_SHIFT;
+	}
+
+	private static class Cell {
+		private int[] indices = new int[4];
+		private int size = 0;
+
+		private void add(int index) {
+			if (size == indices.length) indices = Arrays.copyOf(indices, 2 * size);
+			indices[size++] = index;
+		}
+	}
+}
@@ -62,30 +62,32 @@ public class EarthMaterials {
 	}
 
 	public static boolean isEarthbendable(@NonNull User user, @NonNull Block block) {
-		if (isMetalBendable(block) && !user.hasPermission("bending.metal")) return false;
-		if (isLavaBendable(block) && !user.hasPermission("bending.lava")) return false;
-		return ALL.isTagged(block);
+		long flags = MaterialFlags.get(block.getType());
+		if ((flags & MaterialFlags.METAL) != 0 && !user.hasPermission("bending.metal")) return false;
+		if ((flags & MaterialFlags.LAVA) != 0 && !user.hasPermission("bending.lava")) return false;
+		return (flags & MaterialFlags.EARTHBENDABLE) != 0;
 	}
 
 	public static boolean isEarthNotLava(@NonNull User user, @NonNull Block block) {
-		if (isLavaBendable(block)) return false;
-		if (isMetalBendable(block) && !user.hasPermission("bending.metal")) return false;
-		return ALL.isTagged(block);
+		long flags = MaterialFlags.get(block.getType());
+		if ((flags & MaterialFlags.LAVA) != 0) return false;
+		if ((flags & MaterialFlags.METAL) != 0 && !user.hasPermission("bending.metal")) return false;
+		return (flags & MaterialFlags.EARTHBENDABLE) != 0;
 	}
 
 	public static boolean isEarthOrSand(@NonNull Block block) {
-		return EARTH_BENDABLE.isTagged(block) || SAND_BENDABLE.isTagged(block);
+		return MaterialFlags.has(block, MaterialFlags.EARTH | MaterialFlags.SAND);
 	}
 
 	public static boolean isSandBendable(@NonNull Block block) {
-		return SAND_BENDABLE.isTagged(block);
+		return MaterialFlags.has(block, MaterialFlags.SAND);
 	}
 
 	public static boolean isMetalBendable(@NonNull Block block) {
-		return METAL_BENDABLE.isTagged(block);
+		return MaterialFlags.has(block, MaterialFlags.METAL);
 	}
 
 	public static boolean isLavaBendable(@NonNull Block block) {
-		return LAVA_BENDABLE.isTagged(block);
+		return MaterialFlags.has(block, MaterialFlags.LAVA);
 	}
 }
@@ -0,0 +1,92 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.util.material;
+
+import com.destroystokyo.paper.MaterialSetTag;
+import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+
+/**
+ * Precomputed classification flags for every {@link Material}, indexed by ordinal.
+ * Each check is a single array read and bit test instead of a {@link MaterialSetTag} lookup.
+ * Flags only depend on the material, checks that need block state are kept in {@link MaterialUtil}.
+ */
+public final class MaterialFlags {
+	public static final long TRANSPARENT = 1L;
+	public static final long EARTH = 1L << 1;
+	public static final long SAND = 1L << 2;
+	public static final long METAL = 1L << 3;
+	public static final long LAVA = 1L << 4;
+	public static final long WATER = 1L << 5;
+	public static final long ICE = 1L << 6;
+	public static final long PLANT = 1L << 7;
+	public static final long FIRE = 1L << 8;
+	public static final long CONTAINER = 1L << 9;
+	public static final long UNBREAKABLE = 1L << 10;
+
+	public static final long EARTHBENDABLE = EARTH | SAND | METAL | LAVA;
+	public static final long WATERBENDABLE = WATER | ICE | PLANT;
+
+	private static final long[] FLAGS;
+
+	static {
+		Material[] materials = Material.values();
+		FLAGS = new long[materials.length];
+		for (Material material : materials) {
+			long flags = 0;
+			if (MaterialUtil.TRANSPARENT.isTagged(material)) flags |= TRANSPARENT;
+			if (EarthMaterials.EARTH_BENDABLE.isTagged(material)) flags |= EARTH;
+			if (EarthMaterials.SAND_BENDABLE.isTagged(material)) flags |= SAND;
+			if (EarthMaterials.METAL_BENDABLE.isTagged(material)) flags |= METAL;
+			if (EarthMaterials.LAVA_BENDABLE.isTagged(material)) flags |= LAVA;
+			if (material == Material.WATER) flags |= WATER;
+			if (WaterMaterials.ICE_BENDABLE.isTagged(material)) flags |= ICE;
+			if (WaterMaterials.PLANT_BENDABLE.isTagged(material)) flags |= PLANT;
+			if (MaterialSetTag.FIRE.isTagged(material)) flags |= FIRE;
+			if (MaterialUtil.CONTAINERS.isTagged(material)) flags |= CONTAINER;
+			if (MaterialUtil.UNBREAKABLES.isTagged(material)) flags |= UNBREAKABLE;
+			FLAGS[material.ordinal()] = flags;
+		}
+	}
+
+	/**
+	 * @return all classification flags for the given material
+	 */
+	public static long get(@NonNull Material material) {
+		return FLAGS[material.ordinal()];
+	}
+
+	/**
+	 * @param material the material to check
+	 * @param mask the flags to check for
+	 * @return true if the material has at least one of the given flags
+	 */
+	public static boolean has(@NonNull Material material, long mask) {
+		return (FLAGS[material.ordinal()] & mask) != 0;
+	}
+
+	/**
+	 * @see #has(Material, long)
+	 */
+	public static boolean has(@NonNull Block block, long mask) {
+		return (FLAGS[block.getType().ordinal()] & mask) != 0;
+	}
+}
@@ -28,6 +28,7 @@ import org.bukkit.NamespacedKey;
 import org.bukkit.Tag;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
+import org.bukkit.block.BlockState;
 import org.bukkit.block.CreatureSpawner;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.block.data.Levelled;
@@ -114,19 +115,21 @@ public final class MaterialUtil {
 	}
 
 	public static boolean isTransparent(@NonNull Block block) {
-		return TRANSPARENT.isTagged(block);
+		return MaterialFlags.has(block, MaterialFlags.TRANSPARENT);
 	}
 
 	public static boolean isTransparentOrWater(@NonNull Block block) {
-		return block.getType() == Material.WATER || TRANSPARENT.isTagged(block);
+		return MaterialFlags.has(block, MaterialFlags.TRANSPARENT | MaterialFlags.WATER);
 	}
 
 	public static boolean isContainer(@NonNull Block block) {
-		return CONTAINERS.isTagged(block.getType()) || (block.getState() instanceof InventoryHolder);
+		return MaterialFlags.has(block, MaterialFlags.CONTAINER) || (block.getState(false) instanceof InventoryHolder);
 	}
 
 	public static boolean isUnbreakable(@NonNull Block block) {
-		return UNBREAKABLES.isTagged(block.getType()) || isContainer(block) || (block.getState() instanceof CreatureSpawner);
+		if (MaterialFlags.has(block, MaterialFlags.UNBREAKABLE | MaterialFlags.CONTAINER)) return true;
+		BlockState state = block.getState(false); // Avoid copying tile entity data
+		return state instanceof InventoryHolder || state instanceof CreatureSpawner;
 	}
 
 	public static boolean isIgnitable(@NonNull Block block) {
@@ -137,7 +140,7 @@ public final class MaterialUtil {
 	}
 
 	public static boolean isFire(@NonNull Block block) {
-		return MaterialSetTag.FIRE.isTagged(block.getType());
+		return MaterialFlags.has(block, MaterialFlags.FIRE);
 	}
 
 	public static boolean isLava(@NonNull Block block) {
@@ -49,18 +49,18 @@ public class WaterMaterials {
 	}
 
 	public static boolean isWaterBendable(@NonNull Block block) {
-		return ALL.isTagged(block);
+		return MaterialFlags.has(block, MaterialFlags.WATERBENDABLE);
 	}
 
 	public static boolean isIceBendable(@NonNull Block block) {
-		return ICE_BENDABLE.isTagged(block);
+		return MaterialFlags.has(block, MaterialFlags.ICE);
 	}
 
 	public static boolean isWaterOrIceBendable(@NonNull Block block) {
-		return block.getType() == Material.WATER || ICE_BENDABLE.isTagged(block);
+		return MaterialFlags.has(block, MaterialFlags.WATER | MaterialFlags.ICE);
 	}
 
 	public static boolean isPlantBendable(@NonNull Block block) {
-		return PLANT_BENDABLE.isTagged(block);
+		return MaterialFlags.has(block, MaterialFlags.PLANT);
 	}
 }
@@ -19,6 +19,8 @@
 
 package me.moros.bending.util.methods;
 
+import me.moros.atlas.caffeine.cache.Cache;
+import me.moros.atlas.caffeine.cache.Caffeine;
 import me.moros.atlas.cf.checker.nullness.qual.NonNull;
 import me.moros.bending.Bending;
 import me.moros.bending.game.temporal.TempBlock;
@@ -27,8 +29,6 @@ import me.moros.bending.model.user.User;
 import me.moros.bending.util.ParticleUtil;
 import me.moros.bending.util.SoundUtil;
 import me.moros.bending.util.material.MaterialUtil;
-import org.apache.commons.math3.geometry.euclidean.threed.Rotation;
-import org.apache.commons.math3.geometry.euclidean.threed.RotationConvention;
 import org.apache.commons.math3.util.FastMath;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -43,13 +43,15 @@ import org.bukkit.block.data.Lightable;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.util.NumberConversions;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.Predicate;
 
 /**
  * Utility class with useful {@link Block} related methods. Note: This is not thread-safe.
@@ -58,6 +60,10 @@ public final class BlockMethods {
 	public static final Set<BlockFace> MAIN_FACES = Collections.unmodifiableSet(EnumSet.of(BlockFace.NORTH, BlockFace.SOUTH, BlockFace.EAST, BlockFace.WEST, BlockFace.UP, BlockFace.DOWN));
 	public static final Set<BlockFace> CARDINAL_FACES = Collections.unmodifiableSet(EnumSet.of(BlockFace.EAST, BlockFace.WEST, BlockFace.NORTH, BlockFace.SOUTH));
 
+	private static final BlockFace[] MAIN_FACE_ARRAY = MAIN_FACES.toArray(new BlockFace[0]);
+	// Radii come from config values, keep only the most recently used rings
+	private static final Cache<Double, int[]> RING_OFFSETS = Caffeine.newBuilder().maximumSize(32).build();
+
 	/**
 	 * Attempts to light a block if it's a furnace, smoker, blast furance or campfire.
 	 * @param block the block to light
@@ -141,7 +147,26 @@ public final class BlockMethods {
 	 * @see #CARDINAL_FACES
 	 */
 	public static @NonNull Collection<@NonNull Block> combineFaces(@NonNull Block center, @NonNull Set<@NonNull BlockFace> faces) {
-		return Stream.concat(Stream.of(center), faces.stream().map(center::getRelative)).collect(Collectors.toList());
+		List<Block> blocks = new ArrayList<>(faces.size() + 1);
+		blocks.add(center);
+		for (BlockFace face : faces) {
+			blocks.add(center.getRelative(face));
+		}
+		return blocks;
+	}
+
+	/**
+	 * Checks all blocks that share a {@link BlockFace} with the given block, without collecting them.
+	 * @param center the center block, it is not checked
+	 * @param predicate the predicate to test
+	 * @return true if the predicate is satisfied by at least one adjacent block
+	 * @see #MAIN_FACES
+	 */
+	public static boolean anyAdjacent(@NonNull Block center, @NonNull Predicate<Block> predicate) {
+		for (BlockFace face : MAIN_FACE_ARRAY) {
+			if (predicate.test(center.getRelative(face))) return true;
+		}
+		return false;
 	}
 
 	/**
@@ -169,10 +194,35 @@ public final class BlockMethods {
 	 * @return a collection of blocks representing the ring
 	 */
 	public static @NonNull Collection<Block> createBlockRing(@NonNull Block center, double radius) {
-		Vector3 centerVector = new Vector3(center).add(Vector3.HALF);
-		Rotation rotation = new Rotation(Vector3.PLUS_J, FastMath.PI / (5 * radius), RotationConvention.VECTOR_OPERATOR);
-		return VectorMethods.rotate(Vector3.PLUS_I.scalarMultiply(radius), rotation, NumberConversions.ceil(10 * radius))
-			.stream().map(v -> centerVector.add(v).toBlock(center.getWorld())).distinct().collect(Collectors.toList());
+		int[] offsets = RING_OFFSETS.get(radius, BlockMethods::computeRingOffsets);
+		List<Block> ring = new ArrayList<>(offsets.length / 2);
+		for (int i = 0; i < offsets.length; i += 2) {
+			ring.add(center.getRelative(offsets[i], 0, offsets[i + 1]));
+		}
+		return ring;
+	}
+
+	// Distinct (x, z) block offsets of a ring around the center of a block, in rotation order
+	private static int[] computeRingOffsets(double radius) {
+		Collection<Vector3> points = VectorMethods.rotate(Vector3.PLUS_I.scalarMultiply(radius), Vector3.PLUS_J, FastMath.PI / (5 * radius), NumberConversions.ceil(10 * radius));
+		int[] offsets = new int[2 * points.size()];
+		int size = 0;
+		for (Vector3 v : points) {
+			int x = NumberConversions.floor(0.5 + v.getX());
+			int z = NumberConversions.floor(0.5 + v.getZ());
+			boolean duplicate = false;
+			for (int i = 0; i < size; i += 2) {
+				if (offsets[i] == x && offsets[i + 1] == z) {
+					duplicate = true;
+					break;
+				}
+			}
+			if (!duplicate) {
+				offsets[size++] = x;
+				offsets[size++] = z;
+			}
+		}
+		return Arrays.copyOf(offsets, size);
 	}
 
 	/**
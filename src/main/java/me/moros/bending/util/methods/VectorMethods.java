@@ -20,81 +20,97 @@
 package me.moros.bending.util.methods;
 
 import me.moros.atlas.cf.checker.nullness.qual.NonNull;
+import me.moros.bending.model.math.AngleTable;
+import me.moros.bending.model.math.Rotation;
+import me.moros.bending.model.math.RotationConvention;
 import me.moros.bending.model.math.Vector3;
-import org.apache.commons.math3.geometry.euclidean.threed.Rotation;
-import org.apache.commons.math3.geometry.euclidean.threed.RotationConvention;
 import org.apache.commons.math3.util.FastMath;
+import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
 import org.bukkit.util.NumberConversions;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 
 /**
  * Utility class with useful {@link Vector3} related methods.
  */
 public final class VectorMethods {
 	/**
-	 * Create an arc by combining {@link #rotate(Vector3, Rotation, int)} and {@link #rotateInverse(Vector3, Rotation, int)}.
+	 * Create an arc by combining {@link #rotate(Vector3, Vector3, double, int)} and {@link #rotateInverse(Vector3, Vector3, double, int)}.
 	 * Amount of rays will be rounded up to the nearest odd number. Minimum value is 3.
 	 * @param start the starting point
-	 * @param rotation the rotation to use
+	 * @param axis the axis to rotate around
+	 * @param angle the angle between consecutive rays in radians
 	 * @param rays the amount of vectors to return, must be an odd number, minimum 3
 	 * @return a list comprising of all the directions for this arc
-	 * @see #rotateInverse(Vector3, Rotation, int)
+	 * @throws IllegalArgumentException if the axis norm is zero
+	 * @see #rotateInverse(Vector3, Vector3, double, int)
 	 */
-	public static @NonNull Collection<@NonNull Vector3> createArc(@NonNull Vector3 start, @NonNull Rotation rotation, int rays) {
+	public static @NonNull Collection<@NonNull Vector3> createArc(@NonNull Vector3 start, @NonNull Vector3 axis, double angle, int rays) {
 		rays = FastMath.max(3, rays);
 		if (rays % 2 == 0) rays++;
 		int half = (rays - 1) / 2;
 		Collection<Vector3> arc = new ArrayList<>(rays);
 		arc.add(start);
-		arc.addAll(rotate(start, rotation, half));
-		arc.addAll(rotateInverse(start, rotation, half));
+		rotate(arc, start, axis, angle, half, 1);
+		rotate(arc, start, axis, angle, half, -1);
 		return arc;
 	}
 
 	/**
 	 * Repeat a rotation on a specific vector.
+	 * Angles are looked up from a cached {@link AngleTable} so only the basis of the rotation is computed per call.
 	 * @param start the starting point
-	 * @param rotation the rotation to use
+	 * @param axis the axis to rotate around
+	 * @param angle the angle of each rotation in radians
 	 * @param times the amount of times to repeat the rotation
 	 * @return a list comprising of all the directions for this arc
-	 * @see #rotateInverse(Vector3, Rotation, int)
+	 * @throws IllegalArgumentException if the axis norm is zero
+	 * @see #rotateInverse(Vector3, Vector3, double, int)
 	 */
-	public static @NonNull Collection<@NonNull Vector3> rotate(@NonNull Vector3 start, @NonNull Rotation rotation, int times) {
-		Collection<Vector3> arc = new ArrayList<>();
-		double[] vector = start.toArray();
-		for (int i = 0; i < times; i++) {
-			rotation.applyTo(vector, vector);
-			arc.add(new Vector3(vector));
-		}
+	public static @NonNull Collection<@NonNull Vector3> rotate(@NonNull Vector3 start, @NonNull Vector3 axis, double angle, int times) {
+		Collection<Vector3> arc = new ArrayList<>(times);
+		rotate(arc, start, axis, angle, times, 1);
 		return arc;
 	}
 
 	/**
 	 * Inversely repeat a rotation on a specific vector.
-	 * @see #rotate(Vector3, Rotation, int)
+	 * @see #rotate(Vector3, Vector3, double, int)
 	 */
-	public static @NonNull Collection<@NonNull Vector3> rotateInverse(@NonNull Vector3 start, @NonNull Rotation rotation, int times) {
-		Collection<Vector3> arc = new ArrayList<>();
-		double[] vector = start.toArray();
-		for (int i = 0; i < times; i++) {
-			rotation.applyInverseTo(vector, vector);
-			arc.add(new Vector3(vector));
-		}
+	public static @NonNull Collection<@NonNull Vector3> rotateInverse(@NonNull Vector3 start, @NonNull Vector3 axis, double angle, int times) {
+		Collection<Vector3> arc = new ArrayList<>(times);
+		rotate(arc, start, axis, angle, times, -1);
 		return arc;
 	}
 
+	// Rodrigues' rotation formula in the basis (parallel, start, axis x start) of the starting vector
+	private static void rotate(Collection<Vector3> arc, Vector3 start, Vector3 axis, double angle, int times, int sign) {
+		double norm = axis.getNorm();
+		if (norm == 0) throw new IllegalArgumentException("Zero norm for rotation axis");
+		if (times <= 0) return;
+		AngleTable table = AngleTable.of(angle, times + 1);
+		Vector3 a = axis.scalarMultiply(1 / norm);
+		double dot = a.dotProduct(start);
+		double px = a.getX() * dot, py = a.getY() * dot, pz = a.getZ() * dot;
+		double sx = start.getX() - px, sy = start.getY() - py, sz = start.getZ() - pz;
+		double cx = a.getY() * start.getZ() - a.getZ() * start.getY();
+		double cy = a.getZ() * start.getX() - a.getX() * start.getZ();
+		double cz = a.getX() * start.getY() - a.getY() * start.getX();
+		for (int i = 1; i <= times; i++) {
+			double cos = table.cos(i);
+			double sin = sign * table.sin(i);
+			arc.add(new Vector3(px + sx * cos + cx * sin, py + sy * cos + cy * sin, pz + sz * cos + cz * sin));
+		}
+	}
+
 	/**
 	 * Get an orthogonal vector.
 	 */
 	public static @NonNull Vector3 getOrthogonal(@NonNull Vector3 axis, double radians, double length) {
-		double[] orthogonal = new Vector3(axis.getY(), -axis.getX(), 0).normalize().scalarMultiply(length).toArray();
-		Rotation rotation = new Rotation(axis, radians, RotationConvention.VECTOR_OPERATOR);
-		rotation.applyTo(orthogonal, orthogonal);
-		return new Vector3(orthogonal);
+		Vector3 orthogonal = new Vector3(axis.getY(), -axis.getX(), 0).normalize().scalarMultiply(length);
+		return new Rotation(axis, radians, RotationConvention.VECTOR_OPERATOR).applyTo(orthogonal);
 	}
 
 	/**
@@ -151,22 +167,51 @@ public final class VectorMethods {
 	 * @param origin the point of origin
 	 * @param direction the direction to check
 	 * @return a collection of normalized vectors corresponding to cardinal block faces
+	 * @see #decomposeDiagonals(Vector3, Vector3, int[], int)
 	 */
 	public static @NonNull Collection<Vector3> decomposeDiagonals(@NonNull Vector3 origin, @NonNull Vector3 direction) {
-		double[] o = origin.toArray();
-		double[] d = direction.toArray();
-		Collection<Vector3> possibleCollisions = new ArrayList<>(3);
-		for (int i = 0; i < 3; i++) {
-			int a = NumberConversions.floor(o[i] + d[i]);
-			int b = NumberConversions.floor(o[i]);
-			int delta = FastMath.min(1, FastMath.max(-1, a - b));
-			if (delta != 0) {
-				double[] v = new double[]{0, 0, 0};
-				v[i] = delta;
-				possibleCollisions.add(new Vector3(v));
-			}
+		int[] buffer = new int[9];
+		int count = decomposeDiagonals(origin, direction, buffer, 0);
+		Collection<Vector3> possibleCollisions = new ArrayList<>(count);
+		for (int i = 0; i < 3 * count; i += 3) {
+			possibleCollisions.add(new Vector3(buffer[i], buffer[i + 1], buffer[i + 2]));
 		}
-		if (possibleCollisions.isEmpty()) return Collections.singletonList(Vector3.ZERO);
 		return possibleCollisions;
 	}
+
+	/**
+	 * Allocation free variant of {@link #decomposeDiagonals(Vector3, Vector3)}.
+	 * Block offsets are written as consecutive (x, y, z) triplets so they can be used with {@link Block#getRelative(int, int, int)}.
+	 * @param origin the point of origin
+	 * @param direction the direction to check
+	 * @param buffer the buffer to write into, it must have room for 9 values after the offset
+	 * @param offset the index of the buffer to start writing at
+	 * @return the amount of triplets written, a single zero offset is written if there are no cardinal components
+	 */
+	public static int decomposeDiagonals(@NonNull Vector3 origin, @NonNull Vector3 direction, int @NonNull [] buffer, int offset) {
+		return decomposeDiagonals(origin.getX(), origin.getY(), origin.getZ(), direction, buffer, offset);
+	}
+
+	/**
+	 * Variant of {@link #decomposeDiagonals(Vector3, Vector3, int[], int)} for callers that step a scratch vector.
+	 */
+	public static int decomposeDiagonals(double x, double y, double z, @NonNull Vector3 direction, int @NonNull [] buffer, int offset) {
+		int count = 0;
+		count += writeComponent(x, direction.getX(), 0, buffer, offset + 3 * count);
+		count += writeComponent(y, direction.getY(), 1, buffer, offset + 3 * count);
+		count += writeComponent(z, direction.getZ(), 2, buffer, offset + 3 * count);
+		if (count == 0) {
+			buffer[offset] = buffer[offset + 1] = buffer[offset + 2] = 0;
+			return 1;
+		}
+		return count;
+	}
+
+	private static int writeComponent(double origin, double direction, int axis, int[] buffer, int offset) {
+		int delta = NumberConversions.floor(origin + direction) - NumberConversions.floor(origin);
+		if (delta == 0) return 0;
+		buffer[offset] = buffer[offset + 1] = buffer[offset + 2] = 0;
+		buffer[offset + axis] = delta > 0 ? 1 : -1;
+		return 1;
+	}
 }
@@ -22,21 +22,29 @@ package me.moros.bending.util.methods;
 import me.moros.atlas.cf.checker.nullness.qual.NonNull;
 import me.moros.bending.model.collision.geometry.AABB;
 import me.moros.bending.model.collision.geometry.Ray;
+import me.moros.bending.model.math.OffsetTable;
 import me.moros.bending.model.math.Vector3;
 import me.moros.bending.model.user.User;
+import me.moros.bending.model.user.UserSnapshot;
+import me.moros.bending.util.BendingProperties;
+import me.moros.bending.util.Tasker;
 import me.moros.bending.util.collision.AABBUtils;
 import me.moros.bending.util.material.MaterialUtil;
 import org.apache.commons.math3.util.FastMath;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.FluidCollisionMode;
+import org.bukkit.HeightMap;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.util.BlockIterator;
+import org.bukkit.util.BoundingBox;
 import org.bukkit.util.NumberConversions;
 import org.bukkit.util.RayTraceResult;
 import org.bukkit.util.Vector;
@@ -44,15 +52,35 @@ import org.bukkit.util.Vector;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 /**
  * Utility class with useful {@link World} related methods. Note: This is not thread-safe.
  */
 public final class WorldMethods {
+	private static final double TARGET_EPSILON = 0.01;
+	private static final int SURFACE_MARGIN = 2;
+	private static final Map<BlockData, BoundingBox> SHAPE_CACHE = new ConcurrentHashMap<>();
+
+	/**
+	 * Visitor for block coordinates.
+	 */
+	@FunctionalInterface
+	public interface PositionVisitor {
+		/**
+		 * @return true to keep iterating, false to stop
+		 */
+		boolean visit(int x, int y, int z);
+	}
+
 	/**
 	 * @return {@link #getNearbyBlocks(Location, double, Predicate, int)} with predicate being always true and no block limit.
 	 */
@@ -69,6 +97,7 @@ public final class WorldMethods {
 
 	/**
 	 * Collects all blocks in a sphere that satisfy the given predicate.
+	 * Blocks are visited nearest-first using a cached {@link OffsetTable}.
 	 * <p> Note: Limit is only respected if positive. Otherwise all blocks that satisfy the given predicate are collected.
 	 * @param location the center point
 	 * @param radius the radius of the sphere
@@ -77,28 +106,84 @@ public final class WorldMethods {
 	 * @return all collected blocks
 	 */
 	public static @NonNull Collection<@NonNull Block> getNearbyBlocks(@NonNull Location location, double radius, @NonNull Predicate<Block> predicate, int limit) {
-		int r = NumberConversions.ceil(radius) + 1;
-		double originX = location.getX();
-		double originY = location.getY();
-		double originZ = location.getZ();
-		Vector3 pos = new Vector3(location);
+		World world = location.getWorld();
 		List<Block> blocks = new ArrayList<>();
-		for (double x = originX - r; x <= originX + r; x++) {
-			for (double y = originY - r; y <= originY + r; y++) {
-				for (double z = originZ - r; z <= originZ + r; z++) {
-					Vector3 loc = new Vector3(x, y, z);
-					if (pos.distanceSq(loc) > radius * radius) continue;
-					Block block = loc.toBlock(location.getWorld());
-					if (predicate.test(block)) {
-						blocks.add(block);
-						if (limit > 0 && blocks.size() >= limit) return blocks;
-					}
-				}
+		forEachNearbyPosition(location, radius, (x, y, z) -> {
+			Block block = world.getBlockAt(x, y, z);
+			if (predicate.test(block)) {
+				blocks.add(block);
+				return limit <= 0 || blocks.size() < limit;
 			}
-		}
+			return true;
+		});
 		return blocks;
 	}
 
+	/**
+	 * Visits the coordinates of all blocks in a sphere, nearest-first, without materializing any {@link Block}.
+	 * @param location the center point
+	 * @param radius the radius of the sphere
+	 * @param visitor the visitor for block coordinates, returning false stops the iteration
+	 */
+	public static void forEachNearbyPosition(@NonNull Location location, double radius, @NonNull PositionVisitor visitor) {
+		int cx = location.getBlockX();
+		int cy = location.getBlockY();
+		int cz = location.getBlockZ();
+		OffsetTable table = OffsetTable.sphere(radius);
+		int size = table.size(radius);
+		for (int i = 0; i < size; i++) {
+			if (!visitor.visit(cx + table.getX(i), cy + table.getY(i), cz + table.getZ(i))) return;
+		}
+	}
+
+	/**
+	 * Asynchronously collects the positions of all blocks in a sphere whose data satisfies the given predicate.
+	 * Snapshots of the affected chunks are taken on the calling thread, which must be the main thread, and the
+	 * predicate is then evaluated on an async worker. Unloaded chunks are skipped.
+	 * <p> Note: The results may be stale by the time the future completes. Callers must re-validate every
+	 * position on the main thread before mutating the world.
+	 * @param location the center point
+	 * @param radius the radius of the sphere
+	 * @param predicate the thread-safe predicate that needs to be satisfied for every block
+	 * @return a future with the block positions of all candidates, sorted nearest-first
+	 * @see BendingProperties#getAsyncScanRadius()
+	 */
+	public static @NonNull CompletableFuture<@NonNull List<@NonNull Vector3>> getNearbyPositionsAsync(@NonNull Location location, double radius, @NonNull Predicate<@NonNull BlockData> predicate) {
+		World world = location.getWorld();
+		int cx = location.getBlockX();
+		int cy = location.getBlockY();
+		int cz = location.getBlockZ();
+		int r = NumberConversions.ceil(radius);
+		int maxHeight = world.getMaxHeight();
+		Map<Long, ChunkSnapshot> snapshots = new HashMap<>();
+		for (int chunkX = (cx - r) >> 4; chunkX <= (cx + r) >> 4; chunkX++) {
+			for (int chunkZ = (cz - r) >> 4; chunkZ <= (cz + r) >> 4; chunkZ++) {
+				if (!world.isChunkLoaded(chunkX, chunkZ)) continue;
+				snapshots.put(chunkKey(chunkX, chunkZ), world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false));
+			}
+		}
+		return Tasker.supplyAsync(() -> {
+			List<Vector3> positions = new ArrayList<>();
+			OffsetTable table = OffsetTable.sphere(radius);
+			int size = table.size(radius);
+			for (int i = 0; i < size; i++) {
+				int x = cx + table.getX(i);
+				int y = cy + table.getY(i);
+				int z = cz + table.getZ(i);
+				if (y < 0 || y >= maxHeight) continue;
+				ChunkSnapshot snapshot = snapshots.get(chunkKey(x >> 4, z >> 4));
+				if (snapshot != null && predicate.test(snapshot.getBlockData(x & 15, y, z & 15))) {
+					positions.add(new Vector3(x, y, z));
+				}
+			}
+			return positions;
+		});
+	}
+
+	private static long chunkKey(int chunkX, int chunkZ) {
+		return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+	}
+
 	/**
 	 * @return {@link #getNearbyBlocks(World, AABB, Predicate, int)} with predicate being always true and no block limit.
 	 */
@@ -130,8 +215,7 @@ public final class WorldMethods {
 		for (double x = min.getX(); x <= max.getX(); x++) {
 			for (double y = min.getY(); y <= max.getY(); y++) {
 				for (double z = min.getZ(); z <= max.getZ(); z++) {
-					Vector3 loc = new Vector3(x, y, z);
-					Block block = loc.toBlock(world);
+					Block block = world.getBlockAt(NumberConversions.floor(x), NumberConversions.floor(y), NumberConversions.floor(z));
 					if (predicate.test(block)) {
 						blocks.add(block);
 						if (limit > 0 && blocks.size() >= limit) return blocks;
@@ -142,6 +226,38 @@ public final class WorldMethods {
 		return blocks;
 	}
 
+	/**
+	 * @return {@link #getTarget(User, double, Set, boolean)} with an empty material set and ignoreLiquids = true
+	 */
+	public static @NonNull Vector3 getTarget(@NonNull User user, double range) {
+		return getTarget(user, range, Collections.emptySet(), true);
+	}
+
+	/**
+	 * @return {@link #getTarget(User, double, Set, boolean)} with an empty material set
+	 */
+	public static @NonNull Vector3 getTarget(@NonNull User user, double range, boolean ignoreLiquids) {
+		return getTarget(user, range, Collections.emptySet(), ignoreLiquids);
+	}
+
+	/**
+	 * @return {@link #getTarget(User, double, Set, boolean)} with ignoreLiquids = true
+	 */
+	public static @NonNull Vector3 getTarget(@NonNull User user, double range, @NonNull Set<@NonNull Material> ignored) {
+		return getTarget(user, range, ignored, true);
+	}
+
+	/**
+	 * Gets the location the user is looking at.
+	 * Results are shared through the user's {@link UserSnapshot} so repeated queries in the same tick are only computed once.
+	 * @see #getTarget(World, Ray, Set, boolean)
+	 */
+	public static @NonNull Vector3 getTarget(@NonNull User user, double range, @NonNull Set<@NonNull Material> ignored, boolean ignoreLiquids) {
+		Ray ray = user.getRay(range);
+		TargetQuery query = new TargetQuery(QueryType.BLOCK, ray, range, ignored, ignoreLiquids);
+		return user.getSnapshot().getTarget(query, () -> getTarget(user.getWorld(), ray, ignored, ignoreLiquids));
+	}
+
 	/**
 	 * @return {@link #getTarget(World, Ray, Set)} with an empty material set and ignoreLiquids = true
 	 */
@@ -165,28 +281,124 @@ public final class WorldMethods {
 
 	/**
 	 * Gets the targeted location.
+	 * Cells are visited in order along the ray using a voxel traversal so every block is checked exactly once.
 	 * <p> Note: {@link Ray#direction} is a {@link Vector3} and its length provides the range for the check.
 	 * @param world the world to check in
 	 * @param ray the ray which holds the origin and direction
 	 * @param ignored an extra set of materials that will be ignored (transparent materials are already ignored)
 	 * @param ignoreLiquids whether liquids should be ignored for collisions
-	 * @return the target location
+	 * @return the target location, slightly in front of the first block that was hit
 	 */
 	public static @NonNull Vector3 getTarget(@NonNull World world, @NonNull Ray ray, @NonNull Set<@NonNull Material> ignored, boolean ignoreLiquids) {
-		Vector3 dir = ray.direction.normalize();
-		for (int i = 0; i <= ray.direction.getNorm(); i++) {
-			Vector3 current = ray.origin.add(dir.scalarMultiply(i));
-			for (Block block : BlockMethods.combineFaces(current.toBlock(world))) {
-				if (MaterialUtil.isTransparent(block) || ignored.contains(block.getType())) continue;
-				AABB blockBounds = (block.isLiquid() && !ignoreLiquids) ? AABB.BLOCK_BOUNDS.at(new Vector3(block)) : AABBUtils.getBlockBounds(block);
-				if (blockBounds.intersects(ray)) {
-					return current;
+		double range = ray.direction.getNorm();
+		if (range == 0) return ray.origin;
+		double ox = ray.origin.getX(), oy = ray.origin.getY(), oz = ray.origin.getZ();
+		double dx = ray.direction.getX() / range, dy = ray.direction.getY() / range, dz = ray.direction.getZ() / range;
+		int x = NumberConversions.floor(ox), y = NumberConversions.floor(oy), z = NumberConversions.floor(oz);
+		int stepX = dx > 0 ? 1 : (dx < 0 ? -1 : 0);
+		int stepY = dy > 0 ? 1 : (dy < 0 ? -1 : 0);
+		int stepZ = dz > 0 ? 1 : (dz < 0 ? -1 : 0);
+		double tDeltaX = stepX == 0 ? Double.MAX_VALUE : FastMath.abs(1 / dx);
+		double tDeltaY = stepY == 0 ? Double.MAX_VALUE : FastMath.abs(1 / dy);
+		double tDeltaZ = stepZ == 0 ? Double.MAX_VALUE : FastMath.abs(1 / dz);
+		double tMaxX = stepX == 0 ? Double.MAX_VALUE : (stepX > 0 ? x + 1 - ox : ox - x) * tDeltaX;
+		double tMaxY = stepY == 0 ? Double.MAX_VALUE : (stepY > 0 ? y + 1 - oy : oy - y) * tDeltaY;
+		double tMaxZ = stepZ == 0 ? Double.MAX_VALUE : (stepZ > 0 ? z + 1 - oz : oz - z) * tDeltaZ;
+		double t = 0;
+		while (t <= range) {
+			double hit = intersect(world.getBlockAt(x, y, z), ignored, ignoreLiquids, ox, oy, oz, dx, dy, dz, t, range);
+			if (hit >= 0) {
+				double offset = FastMath.max(0, hit - TARGET_EPSILON);
+				return new Vector3(ox + dx * offset, oy + dy * offset, oz + dz * offset);
+			}
+			if (tMaxX < tMaxY) {
+				if (tMaxX < tMaxZ) {
+					x += stepX;
+					t = tMaxX;
+					tMaxX += tDeltaX;
+				} else {
+					z += stepZ;
+					t = tMaxZ;
+					tMaxZ += tDeltaZ;
+				}
+			} else {
+				if (tMaxY < tMaxZ) {
+					y += stepY;
+					t = tMaxY;
+					tMaxY += tDeltaY;
+				} else {
+					z += stepZ;
+					t = tMaxZ;
+					tMaxZ += tDeltaZ;
 				}
 			}
 		}
 		return ray.origin.add(ray.direction);
 	}
 
+	// Returns the distance at which the ray enters the block's shape or -1 if it's missed or ignored
+	private static double intersect(Block block, Set<Material> ignored, boolean ignoreLiquids, double ox, double oy, double oz,
+									double dx, double dy, double dz, double enter, double range) {
+		Material type = block.getType();
+		if (type.isAir() || ignored.contains(type)) return -1;
+		if (block.isLiquid()) return ignoreLiquids ? -1 : enter;
+		if (MaterialUtil.isTransparent(block)) return -1;
+		if (type.isOccluding()) return enter; // Full cube, the ray enters it along with the cell
+		if (block.isPassable()) return -1;
+		BoundingBox shape = getShape(block);
+		double bx = block.getX(), by = block.getY(), bz = block.getZ();
+		return intersectBox(shape.getMinX() + bx, shape.getMinY() + by, shape.getMinZ() + bz,
+			shape.getMaxX() + bx, shape.getMaxY() + by, shape.getMaxZ() + bz, ox, oy, oz, dx, dy, dz, range);
+	}
+
+	// Slab test over scalars, returns the entry distance along a unit direction or -1 if the box is missed within range
+	static double intersectBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+								double ox, double oy, double oz, double dx, double dy, double dz, double range) {
+		double tMin = 0, tMax = range;
+		// A ray parallel to an axis must start between that axis' planes
+		if (dx == 0) {
+			if (ox < minX || ox > maxX) return -1;
+		} else {
+			double t0 = (minX - ox) / dx, t1 = (maxX - ox) / dx;
+			tMin = FastMath.max(tMin, FastMath.min(t0, t1));
+			tMax = FastMath.min(tMax, FastMath.max(t0, t1));
+			if (tMin > tMax) return -1;
+		}
+		if (dy == 0) {
+			if (oy < minY || oy > maxY) return -1;
+		} else {
+			double t0 = (minY - oy) / dy, t1 = (maxY - oy) / dy;
+			tMin = FastMath.max(tMin, FastMath.min(t0, t1));
+			tMax = FastMath.min(tMax, FastMath.max(t0, t1));
+			if (tMin > tMax) return -1;
+		}
+		if (dz == 0) {
+			if (oz < minZ || oz > maxZ) return -1;
+		} else {
+			double t0 = (minZ - oz) / dz, t1 = (maxZ - oz) / dz;
+			tMin = FastMath.max(tMin, FastMath.min(t0, t1));
+			tMax = FastMath.min(tMax, FastMath.max(t0, t1));
+			if (tMin > tMax) return -1;
+		}
+		return tMin;
+	}
+
+	// Collision shapes only depend on block data, bamboo is the exception as it's offset based on its position
+	private static BoundingBox getShape(Block block) {
+		BlockData data = block.getBlockData();
+		if (block.getType() == Material.BAMBOO) return relativeShape(block);
+		BoundingBox shape = SHAPE_CACHE.get(data);
+		if (shape == null) {
+			shape = relativeShape(block);
+			SHAPE_CACHE.putIfAbsent(data, shape);
+		}
+		return shape;
+	}
+
+	private static BoundingBox relativeShape(Block block) {
+		return block.getBoundingBox().shift(-block.getX(), -block.getY(), -block.getZ());
+	}
+
 	/**
 	 * @see #blockCast(World, Ray, double, Set)
 	 */
@@ -218,34 +430,57 @@ public final class WorldMethods {
 	 * @see World#rayTraceBlocks(Location, Vector, double)
 	 */
 	public static Optional<Block> rayTraceBlocks(@NonNull World world, @NonNull Ray ray) {
+		return rayTraceBlocks(world, ray, false);
+	}
+
+	/**
+	 * Ray trace blocks from the user's eyes.
+	 * Results are shared through the user's {@link UserSnapshot} so repeated queries in the same tick are only computed once.
+	 * @param user the user to trace from
+	 * @param range the max range to check
+	 * @param ignorePassable whether to ignore passable blocks and fluids
+	 * @return Optional of the result block
+	 */
+	public static Optional<Block> rayTraceBlocks(@NonNull User user, double range, boolean ignorePassable) {
+		Ray ray = user.getRay(range);
+		TargetQuery query = new TargetQuery(QueryType.RAY_TRACE, ray, range, null, ignorePassable);
+		return user.getSnapshot().getTarget(query, () -> rayTraceBlocks(user.getWorld(), ray, ignorePassable));
+	}
+
+	private static Optional<Block> rayTraceBlocks(World world, Ray ray, boolean ignorePassable) {
 		Location origin = ray.origin.toLocation(world);
 		Vector direction = ray.direction.normalize().toVector();
 		double range = FastMath.max(1, ray.direction.getNorm());
-		RayTraceResult result = world.rayTraceBlocks(origin, direction, range, FluidCollisionMode.ALWAYS, false);
+		FluidCollisionMode mode = ignorePassable ? FluidCollisionMode.NEVER : FluidCollisionMode.ALWAYS;
+		RayTraceResult result = world.rayTraceBlocks(origin, direction, range, mode, ignorePassable);
 		if (result != null && result.getHitBlock() != null) return Optional.of(result.getHitBlock());
 		return Optional.empty();
 	}
 
 	/**
-	 * Gets the provided user's targeted entity (predicate is used to ignore the user's entity).
-	 * @see World#rayTraceEntities(Location, Vector, double, Predicate)
+	 * @return {@link #getTargetEntity(User, double, int)} with no ray size
 	 */
 	public static Optional<LivingEntity> getTargetEntity(@NonNull User user, double range) {
-		RayTraceResult result = user.getWorld().rayTraceEntities(user.getEntity().getEyeLocation(), user.getEntity().getLocation().getDirection(), range, e -> !e.equals(user.getEntity()));
-		if (result != null && result.getHitEntity() instanceof LivingEntity)
-			return Optional.of((LivingEntity) result.getHitEntity());
-		return Optional.empty();
+		return getTargetEntity(user, range, 0);
 	}
 
 	/**
 	 * Gets the provided user's targeted entity (predicate is used to ignore the user's entity).
+	 * Results are shared through the user's {@link UserSnapshot} so repeated queries in the same tick are only computed once.
 	 * @see World#rayTraceEntities(Location, Vector, double, double, Predicate)
 	 */
 	public static Optional<LivingEntity> getTargetEntity(@NonNull User user, double range, int raySize) {
-		RayTraceResult result = user.getWorld().rayTraceEntities(user.getEntity().getEyeLocation(), user.getEntity().getLocation().getDirection(), range, raySize, e -> !e.equals(user.getEntity()));
-		if (result != null && result.getHitEntity() instanceof LivingEntity)
-			return Optional.of((LivingEntity) result.getHitEntity());
-		return Optional.empty();
+		Ray ray = user.getRay(range);
+		TargetQuery query = new TargetQuery(QueryType.ENTITY, ray, range, raySize, false);
+		return user.getSnapshot().getTarget(query, () -> {
+			Location origin = ray.origin.toLocation(user.getWorld());
+			Vector direction = ray.direction.normalize().toVector();
+			RayTraceResult result = user.getWorld().rayTraceEntities(origin, direction, range, raySize, e -> !e.equals(user.getEntity()));
+			if (result != null && result.getHitEntity() instanceof LivingEntity) {
+				return Optional.of((LivingEntity) result.getHitEntity());
+			}
+			return Optional.empty();
+		});
 	}
 
 	/**
@@ -268,22 +503,38 @@ public final class WorldMethods {
 
 	/**
 	 * Calculates the distance between an entity and the ground using {@link AABB}.
-	 * Uses a {@link BlockIterator} with the max world height as the range.
+	 * The column below the entity is skipped down to the chunk's {@link HeightMap#MOTION_BLOCKING} surface
+	 * and blocks are only checked exactly from a few blocks above it.
 	 * By default it ignores all passable materials except liquids.
 	 * @param entity the entity to check
 	 * @return the distance in blocks between the entity and ground or the max world height.
 	 */
 	public static double distanceAboveGround(@NonNull Entity entity) {
-		int maxHeight = entity.getWorld().getMaxHeight();
-		BlockIterator it = new BlockIterator(entity.getWorld(), entity.getLocation().toVector(), Vector3.MINUS_J.toVector(), 0, 256);
-		AABB entityBounds = AABBUtils.getEntityBounds(entity).grow(new Vector3(0, maxHeight, 0));
-		while (it.hasNext()) {
-			Block block = it.next();
-			if (block.getY() <= 0) break;
-			AABB checkBounds = block.isLiquid() ? AABB.BLOCK_BOUNDS.at(new Vector3(block)) : AABBUtils.getBlockBounds(block);
-			if (checkBounds.intersects(entityBounds)) {
-				return FastMath.max(0, entity.getBoundingBox().getMinY() - checkBounds.max().getY());
+		World world = entity.getWorld();
+		int maxHeight = world.getMaxHeight();
+		BoundingBox entityBounds = entity.getBoundingBox();
+		Location location = entity.getLocation();
+		int x = location.getBlockX();
+		int z = location.getBlockZ();
+		int surface = world.getHighestBlockYAt(x, z, HeightMap.MOTION_BLOCKING);
+		int startY = FastMath.min(location.getBlockY(), surface + SURFACE_MARGIN);
+		for (int y = startY; y > 0; y--) {
+			Block block = world.getBlockAt(x, y, z);
+			double top;
+			if (block.isLiquid()) {
+				top = y + 1;
+			} else if (block.isPassable()) {
+				continue;
+			} else {
+				BoundingBox bounds = block.getBoundingBox();
+				// Only horizontal overlap matters as the entity bounds extend across the whole world height
+				if (bounds.getMaxX() <= entityBounds.getMinX() || bounds.getMinX() >= entityBounds.getMaxX() ||
+					bounds.getMaxZ() <= entityBounds.getMinZ() || bounds.getMinZ() >= entityBounds.getMaxZ()) {
+					continue;
+				}
+				top = bounds.getMaxY();
 			}
+			return FastMath.max(0, entityBounds.getMinY() - top);
 		}
 		return maxHeight;
 	}
@@ -317,4 +568,39 @@ public final class WorldMethods {
 		return !world.isDayTime();
 	}
 
+
+	private enum QueryType {BLOCK, RAY_TRACE, ENTITY}
+
+	// Cache key for targeting queries stored in a UserSnapshot
+	private static final class TargetQuery {
+		private final QueryType type;
+		private final Vector3 origin;
+		private final Vector3 direction;
+		private final double range;
+		private final Object filter;
+		private final boolean flag;
+
+		private TargetQuery(QueryType type, Ray ray, double range, Object filter, boolean flag) {
+			this.type = type;
+			this.origin = ray.origin;
+			this.direction = ray.direction;
+			this.range = range;
+			this.filter = filter;
+			this.flag = flag;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (!(obj instanceof TargetQuery)) return false;
+			TargetQuery other = (TargetQuery) obj;
+			return type == other.type && flag == other.flag && Double.compare(range, other.range) == 0 &&
+				origin.equals(other.origin) && direction.equals(other.direction) && Objects.equals(filter, other.filter);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(type, origin, direction, range, filter, flag);
+		}
+	}
 }
@@ -0,0 +1,145 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.ability.common.basic;
+
+import me.moros.bending.model.math.Vector3;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamPlanTest {
+	private static final Vector3 RAY_ORIGIN = new Vector3(0.5, 64, 0.5);
+
+	// Single phase reference, this is how ParticleStream stepped before plans were computed ahead of update
+	private static final class Step {
+		private final Vector3 position;
+		private final boolean outOfRange;
+		private final List<int[]> diagonals;
+
+		private Step(Vector3 position, boolean outOfRange, List<int[]> diagonals) {
+			this.position = position;
+			this.outOfRange = outOfRange;
+			this.diagonals = diagonals;
+		}
+	}
+
+	private static List<Step> reference(Vector3 origin, Vector3 vector, int start, int steps, double speed, double maxRange) {
+		List<Step> result = new ArrayList<>();
+		Vector3 location = origin;
+		for (int i = start; i < steps; i++) {
+			Vector3 originalVector = location;
+			location = location.add(vector);
+			boolean outOfRange = location.distanceSq(RAY_ORIGIN) > maxRange;
+			List<int[]> diagonals = null;
+			if (i % Math.ceil(speed * steps) == 0) {
+				diagonals = decomposeDiagonals(originalVector, vector);
+			}
+			result.add(new Step(location, outOfRange, diagonals));
+		}
+		return result;
+	}
+
+	private static List<int[]> decomposeDiagonals(Vector3 origin, Vector3 direction) {
+		double[] o = {origin.getX(), origin.getY(), origin.getZ()};
+		double[] d = {direction.getX(), direction.getY(), direction.getZ()};
+		List<int[]> result = new ArrayList<>();
+		for (int axis = 0; axis < 3; axis++) {
+			int delta = (int) (Math.floor(o[axis] + d[axis]) - Math.floor(o[axis]));
+			if (delta != 0) {
+				int[] offset = new int[3];
+				offset[axis] = delta > 0 ? 1 : -1;
+				result.add(offset);
+			}
+		}
+		if (result.isEmpty()) {
+			result.add(new int[3]);
+		}
+		return result;
+	}
+
+	private static void assertPlanMatches(Vector3 origin, Vector3 vector, int start, int steps, double speed, double maxRange) {
+		ParticleStream.StreamPlan plan = new ParticleStream.StreamPlan(origin, vector, start, steps, speed, RAY_ORIGIN, maxRange);
+		List<Step> expected = reference(origin, vector, start, steps, speed, maxRange);
+		for (int i = start; i < steps; i++) {
+			Step step = expected.get(i - start);
+			Vector3 position = plan.getPosition(i);
+			assertEquals(step.position.getX(), position.getX());
+			assertEquals(step.position.getY(), position.getY());
+			assertEquals(step.position.getZ(), position.getZ());
+			assertEquals(step.outOfRange, plan.isOutOfRange(i));
+			assertEquals(step.diagonals != null, plan.shouldCheckCollisions(i));
+			if (step.diagonals == null) continue;
+			assertEquals(step.diagonals.size(), plan.getDiagonalCount(i));
+			int offset = plan.getDiagonalOffset(i);
+			for (int j = 0; j < step.diagonals.size(); j++) {
+				int index = offset + 3 * j;
+				int[] actual = {plan.getDiagonals()[index], plan.getDiagonals()[index + 1], plan.getDiagonals()[index + 2]};
+				assertArrayEquals(step.diagonals.get(j), actual);
+			}
+		}
+	}
+
+	@Test
+	void axisAlignedStepsMatchReference() {
+		Vector3[] directions = {Vector3.PLUS_I, Vector3.MINUS_I, Vector3.PLUS_J, Vector3.MINUS_J, Vector3.PLUS_K, Vector3.MINUS_K};
+		for (Vector3 direction : directions) {
+			for (double speed : new double[]{0.35, 0.5, 1}) {
+				assertPlanMatches(RAY_ORIGIN, direction.scalarMultiply(speed), 0, 5, speed, 400);
+			}
+		}
+	}
+
+	@Test
+	void randomStepsMatchReference() {
+		Random random = new Random(7);
+		for (int n = 0; n < 2000; n++) {
+			Vector3 origin = RAY_ORIGIN.add(new Vector3(random.nextGaussian() * 8, random.nextGaussian() * 8, random.nextGaussian() * 8));
+			Vector3 dir = new Vector3(random.nextGaussian(), random.nextGaussian(), random.nextGaussian()).normalize();
+			double speed = 0.2 + random.nextDouble() * 1.3;
+			int steps = 1 + random.nextInt(6);
+			int start = random.nextInt(steps);
+			double maxRange = 25 + random.nextDouble() * 300;
+			assertPlanMatches(origin, dir.scalarMultiply(speed), start, steps, speed, maxRange);
+		}
+	}
+
+	@Test
+	void planMatchesOnlyUnmovedStreams() {
+		Vector3 vector = new Vector3(0.6, 0.1, -0.3);
+		ParticleStream.StreamPlan plan = new ParticleStream.StreamPlan(RAY_ORIGIN, vector, 0, 3, 0.7, RAY_ORIGIN, 400);
+		assertTrue(plan.matches(RAY_ORIGIN, vector, 0, 3));
+		Vector3 first = plan.getPosition(0);
+		assertSame(first, plan.getPosition(0));
+		assertTrue(plan.matches(first, vector, 1, 3));
+		// Equal but not identical locations or vectors mean something else moved or turned the stream
+		assertFalse(plan.matches(new Vector3(first.getX(), first.getY(), first.getZ()), vector, 1, 3));
+		assertFalse(plan.matches(RAY_ORIGIN, new Vector3(0.6, 0.1, -0.3), 0, 3));
+		assertFalse(plan.matches(RAY_ORIGIN, vector, 0, 4));
+		assertFalse(plan.matches(first, vector, 3, 3));
+	}
+}
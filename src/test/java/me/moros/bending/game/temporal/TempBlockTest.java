@@ -0,0 +1,279 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.game.temporal;
+
+import me.moros.bending.util.collection.BlockKey;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests temporary block writes against a minimal in memory world, including deferred reverts in unloaded chunks
+ * and a restart with reverts that were still deferred at shutdown.
+ */
+class TempBlockTest {
+	private static final Map<Material, BlockData> STATES = new EnumMap<>(Material.class);
+	private static TempBlockTest current;
+
+	private final Map<Long, BlockData> blocks = new HashMap<>();
+	private final Set<Long> unloadedChunks = new HashSet<>();
+	private World world;
+	private Path journal;
+	private int writes;
+
+	@BeforeEach
+	void setup() throws IOException {
+		current = this;
+		if (Bukkit.getServer() == null) {
+			Bukkit.setServer(fake(Server.class, (method, args) -> {
+				switch (method) {
+					case "getLogger":
+						return Logger.getLogger("TempBlockTest");
+					case "getName":
+					case "getVersion":
+					case "getBukkitVersion":
+						return "test";
+					case "getWorld":
+						return current.world.getUID().equals(args[0]) ? current.world : null;
+					case "createBlockData":
+						return state(Material.valueOf(((String) args[0]).substring("minecraft:".length()).toUpperCase()));
+					default:
+						return null;
+				}
+			}));
+		}
+		journal = Files.createTempDirectory("journal");
+		UUID uid = UUID.randomUUID();
+		world = fake(World.class, (method, args) -> {
+			switch (method) {
+				case "getUID":
+					return uid;
+				case "isChunkLoaded":
+					return !unloadedChunks.contains(BlockKey.pack((int) args[0], 0, (int) args[1]));
+				case "getBlockAt":
+					return block((int) args[0], (int) args[1], (int) args[2]);
+				default:
+					return null;
+			}
+		});
+	}
+
+	@AfterEach
+	void cleanup() throws IOException {
+		TempBlock.MANAGER.removeAll();
+		TempBlock.onWorldUnload(world);
+		TempBlock.closeJournal();
+		try (Stream<Path> files = Files.walk(journal)) {
+			files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+		}
+	}
+
+	@Test
+	void boulderMovesWithinOneTick() throws Exception {
+		int[] boulder = {0, 1, 2};
+		for (int x : boulder) {
+			create(block(x, 64, 0), Material.STONE);
+		}
+		// cleanAll
+		for (int x : boulder) {
+			Block block = block(x, 64, 0);
+			if (block.getType() != Material.STONE) continue;
+			TempBlock.MANAGER.get(block).ifPresent(TempBlock::revert);
+		}
+		// isValidBlock and blendSmash read the world right after reverting
+		for (int x : boulder) {
+			Block block = block(x + 1, 64, 0);
+			assertTrue(block.getType().isAir());
+			assertTrue(TempBlock.isBendable(block));
+			assertFalse(TempBlock.isTemp(block));
+		}
+		// render
+		for (int x : boulder) {
+			Block block = block(x + 1, 64, 0);
+			assertTrue(block.getType().isAir());
+			create(block, Material.STONE);
+		}
+		assertEquals(Material.AIR, block(0, 64, 0).getType());
+		for (int x : boulder) {
+			Block block = block(x + 1, 64, 0);
+			assertEquals(Material.STONE, block.getType());
+			assertTrue(TempBlock.isTemp(block));
+		}
+		assertEquals(3, TempBlock.MANAGER.size());
+	}
+
+	@Test
+	void unchangedCreateSkipsRevertWrite() throws Exception {
+		Block block = block(5, 64, 5);
+		block.setBlockData(state(Material.STONE));
+		long saved = TempBlock.getSavedWrites();
+		TempBlock tb = create(block, Material.STONE);
+		tb.revert();
+		assertEquals(Material.STONE, block.getType());
+		assertEquals(saved + 2, TempBlock.getSavedWrites());
+	}
+
+	@Test
+	void deferredRevertRestoresOnChunkLoad() throws Exception {
+		Block block = block(40, 64, 40);
+		TempBlock tb = create(block, Material.STONE);
+		unloadedChunks.add(BlockKey.pack(2, 0, 2));
+		int deferred = TempBlock.getDeferredReverts();
+		tb.revert();
+		assertEquals(Material.STONE, block.getType());
+		assertEquals(deferred + 1, TempBlock.getDeferredReverts());
+		unloadedChunks.clear();
+		TempBlock.onChunkLoad(chunk(2, 2));
+		assertEquals(Material.AIR, block.getType());
+		assertEquals(deferred, TempBlock.getDeferredReverts());
+	}
+
+	@Test
+	void restartWithDeferredRevertsDoesNotLoadChunks() throws Exception {
+		TempBlock.init(journal);
+		Block block = block(40, 64, 40);
+		TempBlock tb = create(block, Material.STONE);
+		unloadedChunks.add(BlockKey.pack(2, 0, 2));
+		tb.revert();
+		// Shutdown keeps the deferred revert journaled
+		TempBlock.revertAll();
+		TempBlock.closeJournal();
+		// Restart while the chunk is still unloaded, nothing may be written
+		writes = 0;
+		TempBlock.init(journal);
+		assertEquals(0, writes);
+		assertEquals(Material.STONE, block.getType());
+		unloadedChunks.clear();
+		TempBlock.onChunkLoad(chunk(2, 2));
+		assertEquals(Material.AIR, block.getType());
+	}
+
+	private TempBlock create(Block block, Material type) throws Exception {
+		Constructor<TempBlock> constructor = TempBlock.class.getDeclaredConstructor(Block.class, BlockData.class, long.class, boolean.class);
+		constructor.setAccessible(true);
+		return constructor.newInstance(block, state(type), 0L, true);
+	}
+
+	private Block block(int x, int y, int z) {
+		long key = BlockKey.pack(x, y, z);
+		return fake(Block.class, (method, args) -> {
+			switch (method) {
+				case "getWorld":
+					return world;
+				case "getX":
+					return x;
+				case "getY":
+					return y;
+				case "getZ":
+					return z;
+				case "getBlockData":
+					return blocks.getOrDefault(key, state(Material.AIR));
+				case "getType":
+					return blocks.getOrDefault(key, state(Material.AIR)).getMaterial();
+				case "setBlockData":
+					writes++;
+					blocks.put(key, (BlockData) args[0]);
+					return null;
+				default:
+					return null;
+			}
+		});
+	}
+
+	private Chunk chunk(int x, int z) {
+		return fake(Chunk.class, (method, args) -> {
+			switch (method) {
+				case "getWorld":
+					return world;
+				case "getX":
+					return x;
+				case "getZ":
+					return z;
+				default:
+					return null;
+			}
+		});
+	}
+
+	private static BlockData state(Material type) {
+		return STATES.computeIfAbsent(type, t -> fake(BlockData.class, (method, args) -> {
+			switch (method) {
+				case "getMaterial":
+					return t;
+				case "clone":
+					return STATES.get(t);
+				case "matches":
+					return args[0] == STATES.get(t);
+				case "getAsString":
+					return "minecraft:" + t.name().toLowerCase();
+				default:
+					return null;
+			}
+		}));
+	}
+
+	@FunctionalInterface
+	private interface Handler {
+		Object handle(String method, Object[] args);
+	}
+
+	private static <T> T fake(Class<T> type, Handler handler) {
+		Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+			switch (method.getName()) {
+				case "equals":
+					return self == args[0];
+				case "hashCode":
+					return System.identityHashCode(self);
+				case "toString":
+					return type.getSimpleName();
+				default:
+					return handler.handle(method.getName(), args);
+			}
+		});
+		return type.cast(proxy);
+	}
+}
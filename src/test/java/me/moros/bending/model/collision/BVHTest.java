@@ -0,0 +1,109 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.collision;
+
+import me.moros.bending.model.collision.geometry.AABB;
+import me.moros.bending.model.math.Vector3;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BVHTest {
+	private static List<AABB> randomBoxes(Random random, int amount, double spread) {
+		List<AABB> boxes = new ArrayList<>(amount);
+		for (int i = 0; i < amount; i++) {
+			Vector3 min = new Vector3(random.nextDouble() * spread, random.nextDouble() * spread, random.nextDouble() * spread);
+			Vector3 size = new Vector3(0.1 + 3 * random.nextDouble(), 0.1 + 3 * random.nextDouble(), 0.1 + 3 * random.nextDouble());
+			boxes.add(new AABB(min, min.add(size)));
+		}
+		return boxes;
+	}
+
+	private static boolean overlaps(AABB a, AABB b) {
+		return a.min().getX() <= b.max().getX() && a.max().getX() >= b.min().getX() &&
+			a.min().getY() <= b.max().getY() && a.max().getY() >= b.min().getY() &&
+			a.min().getZ() <= b.max().getZ() && a.max().getZ() >= b.min().getZ();
+	}
+
+	@Test
+	void overlappingPairsMatchBruteForce() {
+		Random random = new Random(42);
+		for (int amount : new int[]{0, 1, 2, 5, 50, 500}) {
+			List<AABB> boxes = randomBoxes(random, amount, 40);
+			BVH<Integer> tree = new BVH<>(4);
+			for (int i = 0; i < amount; i++) {
+				tree.add(i, boxes.get(i));
+			}
+			tree.build();
+			Set<Long> expected = new HashSet<>();
+			for (int i = 0; i < amount; i++) {
+				for (int j = i + 1; j < amount; j++) {
+					if (overlaps(boxes.get(i), boxes.get(j))) expected.add(((long) i << 32) | j);
+				}
+			}
+			Set<Long> actual = new HashSet<>();
+			tree.forEachOverlappingPair((a, b) -> {
+				assertTrue(a < b, "pairs must be reported in insertion order");
+				assertTrue(actual.add(((long) a << 32) | b), "pair reported twice");
+			});
+			assertEquals(expected, actual);
+		}
+	}
+
+	@Test
+	void queryMatchesBruteForce() {
+		Random random = new Random(7);
+		List<AABB> boxes = randomBoxes(random, 300, 30);
+		BVH<Integer> tree = new BVH<>();
+		for (int i = 0; i < boxes.size(); i++) {
+			tree.add(i, boxes.get(i));
+		}
+		for (AABB query : randomBoxes(random, 50, 30)) {
+			Set<Integer> expected = new HashSet<>();
+			for (int i = 0; i < boxes.size(); i++) {
+				if (overlaps(query, boxes.get(i))) expected.add(i);
+			}
+			Set<Integer> actual = new HashSet<>();
+			tree.query(query, actual::add);
+			assertEquals(expected, actual);
+		}
+	}
+
+	@Test
+	void clearedTreeIsReusable() {
+		BVH<Integer> tree = new BVH<>(1);
+		tree.add(0, new AABB(Vector3.ZERO, Vector3.ONE));
+		tree.add(1, new AABB(Vector3.HALF, Vector3.ONE.add(Vector3.ONE)));
+		tree.clear();
+		assertEquals(0, tree.size());
+		tree.add(2, new AABB(Vector3.ZERO, Vector3.ONE));
+		tree.add(3, new AABB(new Vector3(5, 5, 5), new Vector3(6, 6, 6)));
+		List<Integer> found = new ArrayList<>();
+		tree.forEachOverlappingPair((a, b) -> found.add(a));
+		assertTrue(found.isEmpty());
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.collision;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CollisionMatrixTest {
+	// 0 and 3 collide and only 0 is removed, 1 and 2 collide and both are removed
+	private static final CollisionMatrix MATRIX = CollisionMatrix.compile(new int[]{0, 3, 1, 2}, new boolean[]{true, false, true, true});
+
+	@Test
+	void lookupIsSymmetric() {
+		assertEquals(4, MATRIX.size());
+		for (int first = 0; first < MATRIX.size(); first++) {
+			for (int second = 0; second < MATRIX.size(); second++) {
+				assertEquals(MATRIX.collides(first, second), MATRIX.collides(second, first));
+				assertEquals(MATRIX.shouldRemoveFirst(first, second), MATRIX.shouldRemoveSecond(second, first));
+			}
+		}
+		assertTrue(MATRIX.collides(0, 3));
+		assertTrue(MATRIX.collides(2, 1));
+		assertFalse(MATRIX.collides(0, 1));
+		assertFalse(MATRIX.collides(3, 3));
+	}
+
+	@Test
+	void removalFlagsFollowLookupOrder() {
+		assertTrue(MATRIX.shouldRemoveFirst(0, 3));
+		assertFalse(MATRIX.shouldRemoveSecond(0, 3));
+		assertFalse(MATRIX.shouldRemoveFirst(3, 0));
+		assertTrue(MATRIX.shouldRemoveSecond(3, 0));
+
+		assertTrue(MATRIX.shouldRemoveFirst(1, 2));
+		assertTrue(MATRIX.shouldRemoveSecond(1, 2));
+		assertTrue(MATRIX.shouldRemoveFirst(2, 1));
+		assertTrue(MATRIX.shouldRemoveSecond(2, 1));
+
+		assertFalse(MATRIX.shouldRemoveFirst(0, 1));
+		assertFalse(MATRIX.shouldRemoveSecond(0, 1));
+	}
+
+	@Test
+	void idsOutsideRangeNeverCollide() {
+		for (int id : new int[]{-1, 4, 100, Integer.MAX_VALUE}) {
+			assertFalse(MATRIX.isCollidable(id));
+			assertFalse(MATRIX.collides(0, id));
+			assertFalse(MATRIX.collides(id, 3));
+			assertFalse(MATRIX.shouldRemoveFirst(id, 0));
+			assertFalse(MATRIX.shouldRemoveSecond(0, id));
+		}
+		for (int id = 0; id < MATRIX.size(); id++) {
+			assertTrue(MATRIX.isCollidable(id));
+		}
+	}
+
+	@Test
+	void emptyMatrixIsShared() {
+		CollisionMatrix matrix = CollisionMatrix.compile(new int[0], new boolean[0]);
+		assertSame(CollisionMatrix.EMPTY, matrix);
+		assertEquals(0, matrix.size());
+		assertFalse(matrix.isCollidable(0));
+		assertFalse(matrix.collides(0, 0));
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.math;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Vector3Test {
+	private static void assertVector(double x, double y, double z, Vector3 actual) {
+		assertEquals(x, actual.getX(), 1e-9);
+		assertEquals(y, actual.getY(), 1e-9);
+		assertEquals(z, actual.getZ(), 1e-9);
+	}
+
+	@Test
+	void signedZeroesAreEqual() {
+		Vector3 positive = new Vector3(0.0, 1, 0.0);
+		Vector3 negative = new Vector3(-0.0, 1, -0.0);
+		assertEquals(positive, negative);
+		assertEquals(positive.hashCode(), negative.hashCode());
+		assertEquals(Vector3.ZERO, Vector3.ZERO.scalarMultiply(-1));
+		assertEquals(Vector3.ZERO.hashCode(), Vector3.ZERO.scalarMultiply(-1).hashCode());
+	}
+
+	@Test
+	void differentComponentsAreNotEqual() {
+		assertNotEquals(new Vector3(1, 2, 3), new Vector3(1, 2, 3.0000001));
+		assertNotEquals(new Vector3(1, 2, 3), new Vector3(3, 2, 1));
+	}
+
+	@Test
+	void rotationConventions() {
+		Vector3 rotated = new Rotation(Vector3.PLUS_K, Math.PI / 2, RotationConvention.VECTOR_OPERATOR).applyTo(Vector3.PLUS_I);
+		assertVector(0, 1, 0, rotated);
+		rotated = new Rotation(Vector3.PLUS_K, Math.PI / 2, RotationConvention.FRAME_TRANSFORM).applyTo(Vector3.PLUS_I);
+		assertVector(0, -1, 0, rotated);
+		MutableVector3 scratch = new MutableVector3(Vector3.PLUS_I);
+		new Rotation(Vector3.PLUS_K, Math.PI / 2, RotationConvention.VECTOR_OPERATOR).applyTo(scratch);
+		assertVector(0, 1, 0, scratch.toImmutable());
+	}
+
+	@Test
+	void rotationRejectsZeroAxis() {
+		assertThrows(IllegalArgumentException.class, () -> new Rotation(Vector3.ZERO, 1, RotationConvention.VECTOR_OPERATOR));
+	}
+}